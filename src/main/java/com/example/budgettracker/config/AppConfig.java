@@ -1,6 +1,7 @@
 package com.example.budgettracker.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * General application configuration class.
@@ -8,8 +9,12 @@ import org.springframework.context.annotation.Configuration;
  * This class is annotated with @Configuration, indicating that it can be used
  * to define beans or other Spring-related settings. Currently empty, but serves
  * as a central place to add custom configurations in the future.
+ *
+ * Scheduling is enabled here for background jobs such as the periodic
+ * rebuild of the JWT denylist.
  */
 @Configuration
+@EnableScheduling
 public class AppConfig {
     // Add custom @Bean definitions or other configuration logic here if needed
 }
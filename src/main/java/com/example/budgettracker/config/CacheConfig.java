@@ -0,0 +1,22 @@
+package com.example.budgettracker.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring's cache abstraction.
+ *
+ * The caches themselves are declared and sized in application.properties
+ * ({@code spring.cache.*}); with {@code recordStats} in the Caffeine spec, Spring Boot
+ * publishes their hit/miss counters as the {@code cache.gets} metric in Actuator.
+ * Setting {@code spring.cache.type=none} turns all caching off.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Cache of {@code UserDetails} keyed by username, used by {@code CustomUserDetailsService}.
+     */
+    public static final String USER_DETAILS_CACHE = "userDetails";
+}
@@ -0,0 +1,45 @@
+package com.example.budgettracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Dedicated executor for password verification during login.
+ *
+ * BCrypt is deliberately slow, so logins run here instead of on Tomcat request threads.
+ * The pool and its queue are bounded; once both are full new logins are rejected
+ * (and answered with 503) rather than piling up and starving other requests.
+ */
+@Configuration
+public class LoginExecutorConfig {
+
+    /**
+     * Bean name of the login executor.
+     */
+    public static final String LOGIN_EXECUTOR = "loginExecutor";
+
+    /**
+     * Bounded thread pool for login password checks.
+     *
+     * @param threads       number of worker threads (0 = number of CPUs)
+     * @param queueCapacity maximum number of logins waiting for a thread
+     */
+    @Bean(name = LOGIN_EXECUTOR)
+    public ThreadPoolTaskExecutor loginExecutor(@Value("${login.executor.threads:0}") int threads,
+                                                @Value("${login.executor.queueCapacity:100}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
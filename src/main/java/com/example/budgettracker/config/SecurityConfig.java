@@ -1,8 +1,12 @@
 package com.example.budgettracker.config;
 
+import com.example.budgettracker.security.CalibratedPasswordEncoder;
 import com.example.budgettracker.security.JwtAuthFilter;
+import com.example.budgettracker.security.RateLimitFilter;
 import com.example.budgettracker.service.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,7 +16,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -27,6 +30,7 @@ import java.util.List;
  * 
  * - Enables JWT-based stateless authentication.
  * - Defines public endpoints like login/register and Swagger docs.
+ * - Restricts admin endpoints and Actuator (except health) to the ADMIN role.
  * - Applies CORS settings for local frontend integration.
  */
 @Configuration
@@ -36,11 +40,15 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService customUserDetailsService;
     private final JwtAuthFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     @Autowired
-    public SecurityConfig(CustomUserDetailsService customUserDetailsService, JwtAuthFilter jwtAuthFilter) {
+    public SecurityConfig(CustomUserDetailsService customUserDetailsService,
+                          JwtAuthFilter jwtAuthFilter,
+                          RateLimitFilter rateLimitFilter) {
         this.customUserDetailsService = customUserDetailsService;
         this.jwtAuthFilter = jwtAuthFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     /**
@@ -52,6 +60,7 @@ public class SecurityConfig {
      * - Whitelists public endpoints (auth + Swagger UI)
      * - Secures all other endpoints
      * - Adds JWT filter before default Spring Auth filter
+     * - Adds the login/register rate limiter in front of the JWT filter
      */
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -61,35 +70,51 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // Needed for CORS preflight
+                .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll() // Keep 401s from the JWT filter as 401
                 .requestMatchers(
                     "/", "/favicon.ico", "/api/register", "/api/login",
                     "/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**"
                 ).permitAll()
-                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/api/admin/**", "/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(rateLimitFilter, JwtAuthFilter.class);
 
         return http.build();
     }
 
     /**
      * Configures the authentication manager with custom user service and password encoder.
+     *
+     * Because {@link CustomUserDetailsService} also implements {@code UserDetailsPasswordService},
+     * passwords stored with an outdated BCrypt cost are rehashed after a successful login.
      */
     @Bean
-    public AuthenticationManager authenticationManager(HttpSecurity http) throws Exception {
+    public AuthenticationManager authenticationManager(HttpSecurity http, PasswordEncoder passwordEncoder) throws Exception {
         AuthenticationManagerBuilder auth = http.getSharedObject(AuthenticationManagerBuilder.class);
         auth.userDetailsService(customUserDetailsService)
-            .passwordEncoder(passwordEncoder());
+            .passwordEncoder(passwordEncoder);
         return auth.build();
     }
 
     /**
      * Bean for encoding passwords using BCrypt.
+     *
+     * With {@code security.bcrypt.calibrate} enabled, the cost is measured at startup
+     * to land near {@code security.bcrypt.targetMs} per hash; otherwise
+     * {@code security.bcrypt.strength} is used as is.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.calibrate:false}") boolean calibrate,
+                                           @Value("${security.bcrypt.strength:10}") int strength,
+                                           @Value("${security.bcrypt.targetMs:250}") long targetMs,
+                                           @Value("${security.bcrypt.minStrength:10}") int minStrength,
+                                           @Value("${security.bcrypt.maxStrength:14}") int maxStrength) {
+        return calibrate
+                ? CalibratedPasswordEncoder.calibrate(targetMs, minStrength, maxStrength)
+                : new CalibratedPasswordEncoder(strength);
     }
 
     /**
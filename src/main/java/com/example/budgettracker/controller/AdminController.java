@@ -1,9 +1,15 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.dto.request.RoleUpdateRequest;
+import com.example.budgettracker.service.TransactionRollupService;
+import com.example.budgettracker.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,6 +28,14 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/admin")
 public class AdminController {
 
+    private final UserService userService;
+    private final TransactionRollupService transactionRollupService;
+
+    public AdminController(UserService userService, TransactionRollupService transactionRollupService) {
+        this.userService = userService;
+        this.transactionRollupService = transactionRollupService;
+    }
+
     /**
      * Test endpoint to verify admin access.
      *
@@ -41,5 +55,73 @@ public class AdminController {
         return "You are an admin!";
     }
 
+    /**
+     * Replaces the roles of a user. The user's cached details are evicted.
+     *
+     * @param username the user to update
+     * @param request  the new set of roles
+     * @return 204 No Content on success
+     */
+    @Operation(
+            summary = "Update a user's roles",
+            description = "Replaces the roles of the specified user."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Roles updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - not an admin")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/users/{username}/roles")
+    public ResponseEntity<Void> updateUserRoles(
+            @Parameter(description = "The username", example = "john_doe") @PathVariable String username,
+            @Valid @RequestBody RoleUpdateRequest request
+    ) {
+        userService.updateRoles(username, request.roles());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Deletes a user and all of their budgets and transactions. The user's cached details are evicted.
+     *
+     * @param username the user to delete
+     * @return 204 No Content on success
+     */
+    @Operation(
+            summary = "Delete a user",
+            description = "Deletes the specified user together with their budgets and transactions."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "User deleted successfully"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - not an admin")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/users/{username}")
+    public ResponseEntity<Void> deleteUser(
+            @Parameter(description = "The username", example = "john_doe") @PathVariable String username
+    ) {
+        userService.deleteUser(username);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Repopulates the analytics rollups of every budget from the raw transactions.
+     *
+     * @return the number of rollup buckets written
+     */
+    @Operation(
+            summary = "Rebuild analytics rollups",
+            description = "Recomputes the monthly/category rollups of every budget from its transactions."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Rollups rebuilt; returns the number of buckets written"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - not an admin")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Integer> rebuildRollups() {
+        return ResponseEntity.ok(transactionRollupService.rebuildAll());
+    }
+
     // TODO: Add more admin-only endpoints here in the future
 }
@@ -1,7 +1,11 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.dto.request.Granularity;
+import com.example.budgettracker.dto.response.AnalyticsPivotResponse;
 import com.example.budgettracker.dto.response.CategorySummary;
 import com.example.budgettracker.dto.response.MonthlySummary;
+import com.example.budgettracker.dto.response.TimeSeriesResponse;
+import com.example.budgettracker.exception.InvalidRequestException;
 import com.example.budgettracker.model.Transaction;
 import com.example.budgettracker.service.AnalyticsService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,11 +13,14 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -63,15 +70,19 @@ public class AnalyticsController {
      *
      * @param budgetId    ID of the budget
      * @param type        Transaction type (INCOME or EXPENSE)
+     * @param from        First month to include (optional)
+     * @param to          Last month to include (optional)
      * @param userDetails Authenticated user details
      * @return List of MonthlySummary objects
      */
     @Operation(
             summary = "Get analytics by month",
-            description = "Returns total amounts grouped by year and month for the specified budget and transaction type."
+            description = "Returns total amounts grouped by year and month for the specified budget and transaction type, "
+                    + "optionally limited to an inclusive range of months."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Analytics by month returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid range (to before from)"),
             @ApiResponse(responseCode = "403", description = "Forbidden - user does not have access to this budget"),
             @ApiResponse(responseCode = "404", description = "Budget not found")
     })
@@ -79,10 +90,92 @@ public class AnalyticsController {
     public ResponseEntity<List<MonthlySummary>> getMonthlyAnalytics(
             @Parameter(description = "The budget ID", example = "1") @PathVariable Long budgetId,
             @Parameter(description = "Transaction type (INCOME or EXPENSE)", example = "EXPENSE") @RequestParam Transaction.Type type,
+            @Parameter(description = "First month to include (yyyy-MM)", example = "2025-01")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @Parameter(description = "Last month to include (yyyy-MM)", example = "2025-12")
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
             @AuthenticationPrincipal UserDetails userDetails
     ) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new InvalidRequestException("to must not be before from");
+        }
+
         String username = userDetails.getUsername();
-        List<MonthlySummary> summaries = analyticsService.sumByMonth(budgetId, type, username);
+        List<MonthlySummary> summaries = analyticsService.sumByMonth(budgetId, type, from, to, username);
         return ResponseEntity.ok(summaries);
     }
+
+    /**
+     * Get category totals, monthly totals and grand totals for income and expenses in one call.
+     *
+     * @param budgetId    ID of the budget
+     * @param userDetails Authenticated user details
+     * @return AnalyticsPivotResponse with one section per transaction type
+     */
+    @Operation(
+            summary = "Get all analytics of a budget",
+            description = "Returns totals by category, totals by month and grand totals for both INCOME and EXPENSE, "
+                    + "computed in a single query."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Analytics returned successfully"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have access to this budget"),
+            @ApiResponse(responseCode = "404", description = "Budget not found")
+    })
+    @GetMapping("/pivot")
+    public ResponseEntity<AnalyticsPivotResponse> getPivotAnalytics(
+            @Parameter(description = "The budget ID", example = "1") @PathVariable Long budgetId,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        String username = userDetails.getUsername();
+        return ResponseEntity.ok(analyticsService.pivot(budgetId, username));
+    }
+
+    /**
+     * Get transaction totals over consecutive day, week, month, quarter or year buckets,
+     * with empty buckets filled in.
+     *
+     * @param budgetId    ID of the budget
+     * @param type        Transaction type (INCOME or EXPENSE)
+     * @param granularity Bucket width (defaults to MONTH)
+     * @param from        First day of the range
+     * @param to          Last day of the range
+     * @param userDetails Authenticated user details
+     * @return TimeSeriesResponse with parallel arrays of bucket starts and totals
+     */
+    @Operation(
+            summary = "Get analytics as a time series",
+            description = "Returns totals per day, week, month, quarter or year for the specified budget and transaction type "
+                    + "as parallel arrays of bucket start dates and totals. Buckets without transactions have a total of 0."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Time series returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid range (to before from, or too many buckets)"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - user does not have access to this budget"),
+            @ApiResponse(responseCode = "404", description = "Budget not found")
+    })
+    @GetMapping("/series")
+    public ResponseEntity<TimeSeriesResponse> getTimeSeries(
+            @Parameter(description = "The budget ID", example = "1") @PathVariable Long budgetId,
+            @Parameter(description = "Transaction type (INCOME or EXPENSE)", example = "EXPENSE") @RequestParam Transaction.Type type,
+            @Parameter(description = "Bucket width (DAY, WEEK, MONTH, QUARTER or YEAR)", example = "MONTH")
+            @RequestParam(defaultValue = "MONTH") Granularity granularity,
+            @Parameter(description = "First day of the range (yyyy-MM-dd)", example = "2025-01-01")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the range (yyyy-MM-dd)", example = "2025-12-31")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        if (to.isBefore(from)) {
+            throw new InvalidRequestException("to must not be before from");
+        }
+        if (granularity.bucketsBetween(from, to) > AnalyticsService.MAX_SERIES_BUCKETS) {
+            throw new InvalidRequestException("Range has more than " + AnalyticsService.MAX_SERIES_BUCKETS
+                    + " buckets; use a coarser granularity");
+        }
+
+        String username = userDetails.getUsername();
+        TimeSeriesResponse series = analyticsService.timeSeries(budgetId, type, granularity, from, to, username);
+        return ResponseEntity.ok(series);
+    }
 }
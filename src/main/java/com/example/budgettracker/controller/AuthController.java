@@ -1,13 +1,21 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.config.LoginExecutorConfig;
 import com.example.budgettracker.dto.request.LoginRequest;
+import com.example.budgettracker.model.CustomUserDetails;
+import com.example.budgettracker.security.JwtAuthFilter;
 import com.example.budgettracker.security.JwtUtil;
+import com.example.budgettracker.security.TokenRevocationList;
+import com.example.budgettracker.security.VerifiedToken;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,29 +24,43 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
- * Handles authentication-related endpoints, such as login.
+ * Handles authentication-related endpoints, such as login and logout.
  */
-@Tag(name = "Authentication", description = "Endpoints for user authentication (login)")
+@Tag(name = "Authentication", description = "Endpoints for user authentication (login, logout)")
 @RestController
 @RequestMapping("/api")
 public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationList tokenRevocationList;
+    private final Executor loginExecutor;
 
     @Autowired
-    public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil) {
+    public AuthController(AuthenticationManager authenticationManager,
+                          JwtUtil jwtUtil,
+                          TokenRevocationList tokenRevocationList,
+                          @Qualifier(LoginExecutorConfig.LOGIN_EXECUTOR) Executor loginExecutor) {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
+        this.tokenRevocationList = tokenRevocationList;
+        this.loginExecutor = loginExecutor;
     }
 
     /**
      * Authenticates a user and returns a JWT token.
      *
+     * Password verification (BCrypt) runs on the bounded login executor, not on the
+     * request thread. When that executor is saturated the login is rejected with 503.
+     *
      * @param loginRequest The user's login credentials.
-     * @return A JWT token if authentication is successful, or a 401 response if not.
+     * @return A JWT token if authentication is successful, a 401 response if not,
+     *         or a 503 response if too many logins are in progress.
      */
     @Operation(
             summary = "User login",
@@ -46,10 +68,25 @@ public class AuthController {
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Login successful, JWT token returned"),
-            @ApiResponse(responseCode = "401", description = "Unauthorized - invalid credentials")
+            @ApiResponse(responseCode = "401", description = "Unauthorized - invalid credentials"),
+            @ApiResponse(responseCode = "503", description = "Too many logins in progress, retry later")
     })
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest loginRequest) {
+        try {
+            return CompletableFuture.supplyAsync(() -> authenticate(loginRequest), loginExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity
+                    .status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("message", "Too many login attempts in progress, please retry")));
+        }
+    }
+
+    /**
+     * Verifies the credentials and issues a token. Runs on the login executor.
+     */
+    private ResponseEntity<?> authenticate(LoginRequest loginRequest) {
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -58,7 +95,12 @@ public class AuthController {
                     )
             );
 
+            Long userId = (authentication.getPrincipal() instanceof CustomUserDetails details)
+                    ? details.getUserId()
+                    : null;
+
             String token = jwtUtil.generateToken(
+                    userId,
                     authentication.getName(),
                     authentication.getAuthorities()
             );
@@ -70,4 +112,33 @@ public class AuthController {
                     .body(Map.of("message", "Invalid credentials"));
         }
     }
+
+    /**
+     * Revokes the token used to authenticate this request, so it can no longer be used.
+     *
+     * @param token the verified token of the current request, set by {@link JwtAuthFilter}.
+     * @return 204 No Content once the token is revoked.
+     */
+    @Operation(
+            summary = "User logout",
+            description = "Revokes the bearer token used for this request until it expires."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Token revoked"),
+            @ApiResponse(responseCode = "400", description = "Token cannot be revoked (issued without an id)"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - missing or invalid token")
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(
+            @RequestAttribute(name = JwtAuthFilter.VERIFIED_TOKEN_ATTRIBUTE, required = false) VerifiedToken token) {
+        if (token == null) {
+            return ResponseEntity.status(401).body(Map.of("message", "Not authenticated with a bearer token"));
+        }
+        if (token.tokenId() == null) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Token cannot be revoked"));
+        }
+
+        tokenRevocationList.revoke(token);
+        return ResponseEntity.noContent().build();
+    }
 }
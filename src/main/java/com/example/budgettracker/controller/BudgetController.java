@@ -1,6 +1,8 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.dto.response.BudgetResponse;
 import com.example.budgettracker.model.Budget;
+import com.example.budgettracker.model.Money;
 import com.example.budgettracker.service.BudgetService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -9,6 +11,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.http.HttpStatus;
@@ -17,6 +20,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -40,13 +44,14 @@ public class BudgetController {
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @PostMapping
-    public ResponseEntity<Budget> createBudget(
+    public ResponseEntity<BudgetResponse> createBudget(
             @Valid @RequestBody BudgetRequest budgetRequest,
             @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails
     ) {
         String username = userDetails.getUsername();
-        Budget created = budgetService.createBudget(username, budgetRequest.name(), budgetRequest.amount());
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        Budget created = budgetService.createBudget(username, budgetRequest.name(),
+                Money.toCents(budgetRequest.amount()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(BudgetResponse.from(created));
     }
 
     @Operation(summary = "Get all budgets", description = "Returns all budgets for the authenticated user.")
@@ -55,11 +60,11 @@ public class BudgetController {
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     @GetMapping
-    public ResponseEntity<List<Budget>> getBudgets(
+    public ResponseEntity<List<BudgetResponse>> getBudgets(
             @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails
     ) {
         String username = userDetails.getUsername();
-        List<Budget> budgets = budgetService.getBudgetsForUser(username);
+        List<BudgetResponse> budgets = budgetService.getBudgetsForUser(username);
         return ResponseEntity.ok(budgets);
     }
 
@@ -70,14 +75,15 @@ public class BudgetController {
             @ApiResponse(responseCode = "404", description = "Budget not found")
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Budget> updateBudget(
+    public ResponseEntity<BudgetResponse> updateBudget(
             @Parameter(description = "The budget ID", example = "1") @PathVariable Long id,
             @Valid @RequestBody BudgetRequest budgetRequest,
             @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails
     ) {
         String username = userDetails.getUsername();
-        Budget updated = budgetService.updateBudget(id, username, budgetRequest.name(), budgetRequest.amount());
-        return ResponseEntity.ok(updated);
+        Budget updated = budgetService.updateBudget(id, username, budgetRequest.name(),
+                Money.toCents(budgetRequest.amount()));
+        return ResponseEntity.ok(BudgetResponse.from(updated));
     }
 
     @Operation(summary = "Delete a budget", description = "Deletes the specified budget for the authenticated user.")
@@ -100,14 +106,14 @@ public class BudgetController {
      * DTO for creating or updating a budget.
      *
      * @param name   The name of the budget.
-     * @param amount The initial or updated budget amount.
+     * @param amount The initial or updated budget amount, with at most 2 decimal places.
      */
     @Schema(description = "Request body for creating or updating a budget")
     public record BudgetRequest(
             @Schema(description = "Name of the budget", example = "Vacation Fund")
             @NotBlank String name,
 
-            @Schema(description = "Initial amount of the budget", example = "1500.0")
-            @NotNull Double amount
+            @Schema(description = "Initial amount of the budget", example = "1500.00")
+            @NotNull @Digits(integer = 15, fraction = 2) BigDecimal amount
     ) {}
 }
@@ -0,0 +1,63 @@
+package com.example.budgettracker.controller;
+
+import com.example.budgettracker.dto.response.DashboardBudgetSummary;
+import com.example.budgettracker.exception.InvalidRequestException;
+import com.example.budgettracker.service.BudgetSummaryService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "Dashboard", description = "Endpoint for retrieving the summaries of all budgets of the user")
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final BudgetSummaryService budgetSummaryService;
+
+    public DashboardController(BudgetSummaryService budgetSummaryService) {
+        this.budgetSummaryService = budgetSummaryService;
+    }
+
+    /**
+     * Retrieves the summary (income, expenses, balance) of every budget of the user
+     * in one call, optionally limited to some budgets.
+     *
+     * @param ids           IDs of the budgets to include (optional, defaults to all, at most
+     *                      {@link BudgetSummaryService#MAX_DASHBOARD_BUDGETS})
+     * @param userDetails   Authenticated user (automatically injected by Spring Security)
+     * @return              The budget summaries, ordered by budget ID
+     */
+    @Operation(
+            summary = "Get dashboard",
+            description = "Returns name, total income, total expenses, and balance for each budget of the user. "
+                    + "Use ids to summarize only some budgets; budgets of other users are never included."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Dashboard returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Too many budget IDs"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    @GetMapping
+    public ResponseEntity<List<DashboardBudgetSummary>> getDashboard(
+            @Parameter(description = "Budget IDs to include (at most " + BudgetSummaryService.MAX_DASHBOARD_BUDGETS + ")",
+                    example = "1,2")
+            @RequestParam(required = false) List<Long> ids,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        if (ids != null && ids.size() > BudgetSummaryService.MAX_DASHBOARD_BUDGETS) {
+            throw new InvalidRequestException("ids must not list more than "
+                    + BudgetSummaryService.MAX_DASHBOARD_BUDGETS + " budgets");
+        }
+        return ResponseEntity.ok(budgetSummaryService.getDashboard(userDetails.getUsername(), ids));
+    }
+}
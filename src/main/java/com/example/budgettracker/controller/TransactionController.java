@@ -1,9 +1,16 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.model.Money;
 import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.service.TransactionExportService;
 import com.example.budgettracker.service.TransactionService;
+import com.example.budgettracker.dto.request.TransactionCursor;
+import com.example.budgettracker.dto.request.TransactionFilter;
 import com.example.budgettracker.dto.request.TransactionRequest;
+import com.example.budgettracker.dto.response.TransactionPage;
 import com.example.budgettracker.dto.response.TransactionResponse;
+import com.example.budgettracker.dto.response.TransactionSearchPage;
+import com.example.budgettracker.exception.InvalidRequestException;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,14 +18,22 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
 
 @Tag(name = "Transactions", description = "Endpoints for managing transactions within a budget")
 @RestController
@@ -26,10 +41,13 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
 
     // Constructor injection of service layer
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 TransactionExportService transactionExportService) {
         this.transactionService = transactionService;
+        this.transactionExportService = transactionExportService;
     }
 
     /**
@@ -55,7 +73,7 @@ public class TransactionController {
 
         // Construct a transaction object from the incoming request
         Transaction transaction = new Transaction(
-                request.getAmount(),
+                Money.toCents(request.getAmount()),
                 request.getType(),
                 request.getDescription(),
                 request.getDate(),
@@ -71,33 +89,178 @@ public class TransactionController {
     }
 
     /**
-     * Fetches all transactions for the given budget and authenticated user.
+     * Fetches one page of the transactions of the given budget that match the optional filters.
+     *
+     * @param budgetId    ID of the budget
+     * @param from        First day of the date range (inclusive)
+     * @param to          Last day of the date range (inclusive)
+     * @param type        Transaction type
+     * @param category    Category names; a transaction in any of them matches
+     * @param minAmount   Smallest amount (inclusive)
+     * @param maxAmount   Largest amount (inclusive)
+     * @param sort        ASC for oldest first (default), DESC for newest first
+     * @param cursor      Cursor returned with the previous page; omitted for the first page
+     * @param limit       Maximum number of transactions in the page
+     * @param userDetails Authenticated user details
+     * @return TransactionPage with the transactions and the cursor of the next page
      */
     @Operation(
-            summary = "Get all transactions for a budget",
-            description = "Returns all transactions for the specified budget."
+            summary = "Get the transactions of a budget, filtered, one page at a time",
+            description = "Returns transactions of the specified budget ordered by date, then ID, restricted to the "
+                    + "given date range, type, categories and amount range (all optional). "
+                    + "Pass the nextCursor of a page as cursor, with the same filters, to get the following page; "
+                    + "it is null on the last page."
     )
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "List of transactions returned successfully"),
+            @ApiResponse(responseCode = "200", description = "Page of transactions returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, limit or filter, or a cursor of a different sort or filters"),
             @ApiResponse(responseCode = "401", description = "Unauthorized"),
             @ApiResponse(responseCode = "404", description = "Budget not found")
     })
     @GetMapping
-    public ResponseEntity<List<TransactionResponse>> getTransactions(
+    public ResponseEntity<TransactionPage> getTransactions(
             @Parameter(description = "The budget ID", example = "1") @PathVariable Long budgetId,
+            @Parameter(description = "First day of the date range (yyyy-MM-dd)", example = "2025-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of the date range (yyyy-MM-dd)", example = "2025-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Transaction type (INCOME or EXPENSE)", example = "EXPENSE")
+            @RequestParam(required = false) Transaction.Type type,
+            @Parameter(description = "Category names (repeat the parameter or separate with commas)", example = "Food")
+            @RequestParam(required = false) Set<String> category,
+            @Parameter(description = "Smallest amount, inclusive", example = "10.00")
+            @RequestParam(required = false) BigDecimal minAmount,
+            @Parameter(description = "Largest amount, inclusive", example = "500.00")
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @Parameter(description = "Order by date, then ID: ASC (oldest first) or DESC (newest first)", example = "DESC")
+            @RequestParam(defaultValue = "ASC") Sort.Direction sort,
+            @Parameter(description = "Opaque cursor of the page to return (nextCursor of the previous page)")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1 to " + TransactionService.MAX_PAGE_SIZE + ")", example = "50")
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int limit,
             @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails
     ) {
+        if (limit < 1 || limit > TransactionService.MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("limit must be between 1 and " + TransactionService.MAX_PAGE_SIZE);
+        }
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new InvalidRequestException("to must not be before from");
+        }
+        Long minAmountCents;
+        Long maxAmountCents;
+        try {
+            minAmountCents = minAmount == null ? null : Money.toCents(minAmount);
+            maxAmountCents = maxAmount == null ? null : Money.toCents(maxAmount);
+        } catch (ArithmeticException e) {
+            throw new InvalidRequestException("Amounts must have at most 2 decimal places");
+        }
+        if (minAmountCents != null && maxAmountCents != null && maxAmountCents < minAmountCents) {
+            throw new InvalidRequestException("maxAmount must not be less than minAmount");
+        }
+        TransactionFilter filter = new TransactionFilter(from, to, type, category, minAmountCents, maxAmountCents, sort);
+        TransactionCursor after;
+        try {
+            after = cursor == null ? null : TransactionCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+        if (after != null && !after.matches(filter)) {
+            throw new InvalidRequestException("cursor was issued for a different sort or filters");
+        }
+
+        String username = userDetails.getUsername();
+        TransactionPage page = transactionService.getTransactionPage(budgetId, filter, after, limit, username);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Searches the transactions of the given budget by description, best match first.
+     *
+     * @param budgetId    ID of the budget
+     * @param q           Text to search for in the descriptions
+     * @param offset      Number of matches to skip (nextOffset of the previous page)
+     * @param limit       Maximum number of transactions in the page
+     * @param userDetails Authenticated user details
+     * @return TransactionSearchPage with the matches and the offset of the next page
+     */
+    @Operation(
+            summary = "Search the transactions of a budget by description",
+            description = "Case-insensitive substring and fuzzy search of transaction descriptions "
+                    + "(e.g. \"uber\" or \"amazn\"). Descriptions containing the text rank first, then similar ones; "
+                    + "ties are newest first. Pass the nextOffset of a page as offset to get the following page. "
+                    + "Only the best " + TransactionService.MAX_SEARCH_RESULTS + " matches are returned."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of matching transactions returned successfully"),
+            @ApiResponse(responseCode = "400", description = "Search text too short or too long, or invalid offset or limit"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Budget not found")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<TransactionSearchPage> searchTransactions(
+            @Parameter(description = "The budget ID", example = "1") @PathVariable Long budgetId,
+            @Parameter(description = "Search text (" + TransactionService.MIN_SEARCH_LENGTH + " to "
+                    + TransactionService.MAX_SEARCH_LENGTH + " characters)", example = "uber")
+            @RequestParam String q,
+            @Parameter(description = "Number of matches to skip", example = "0")
+            @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "Page size (1 to " + TransactionService.MAX_PAGE_SIZE + ")", example = "50")
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int limit,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        int length = q.trim().length();
+        if (length < TransactionService.MIN_SEARCH_LENGTH || length > TransactionService.MAX_SEARCH_LENGTH) {
+            throw new InvalidRequestException("q must be between "
+                    + TransactionService.MIN_SEARCH_LENGTH + " and " + TransactionService.MAX_SEARCH_LENGTH
+                    + " characters");
+        }
+        if (limit < 1 || limit > TransactionService.MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("limit must be between 1 and " + TransactionService.MAX_PAGE_SIZE);
+        }
+        if (offset < 0) {
+            throw new InvalidRequestException("offset must not be negative");
+        }
+
+        String username = userDetails.getUsername();
+        TransactionSearchPage page = transactionService.searchTransactions(budgetId, q, offset, limit, username);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Streams all transactions of the given budget as one JSON array, oldest first.
+     * The response is written while the rows are read, so its size is not limited by memory.
+     *
+     * @param budgetId    ID of the budget
+     * @param userDetails Authenticated user details
+     * @param response    The response the array is written to
+     */
+    @Operation(
+            summary = "Export all transactions of a budget",
+            description = "Streams every transaction of the specified budget as a JSON array ordered by date, then ID. "
+                    + "Intended for backups and synchronization; use the paginated list for browsing."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Transactions streamed successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Budget not found")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void exportTransactions(
+            @Parameter(description = "The budget ID", example = "1") @PathVariable Long budgetId,
+            @Parameter(hidden = true) @AuthenticationPrincipal UserDetails userDetails,
+            HttpServletResponse response
+    ) throws IOException {
         String username = userDetails.getUsername();
 
-        // Get raw transactions from service
-        List<Transaction> transactions = transactionService.getTransactions(budgetId, username);
+        // Checked before any header is set, so a denied request gets a plain error response
+        transactionExportService.checkAccess(budgetId, username);
 
-        // Map to response DTOs
-        List<TransactionResponse> responses = transactions.stream()
-                .map(TransactionResponse::new)
-                .toList();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"transactions-" + budgetId + ".json\"");
 
-        return ResponseEntity.ok(responses);
+        // Written synchronously: the export runs in one read-only transaction on the request thread
+        transactionExportService.exportTransactions(budgetId, response.getOutputStream());
     }
 
     /**
@@ -123,7 +286,7 @@ public class TransactionController {
 
         // Construct updated transaction (budget will be reassigned in service)
         Transaction transaction = new Transaction(
-                request.getAmount(),
+                Money.toCents(request.getAmount()),
                 request.getType(),
                 request.getDescription(),
                 request.getDate(),
@@ -0,0 +1,15 @@
+package com.example.budgettracker.dto.projection;
+
+/**
+ * Read-only projection of a budget's name, amount and running totals,
+ * one row per budget of the dashboard query. All amounts are in cents.
+ *
+ * @param budgetId          the budget ID
+ * @param name              the budget name
+ * @param budgetAmountCents the budget's target amount
+ * @param totalIncomeCents  sum of all INCOME transactions (0 if none)
+ * @param totalExpenseCents sum of all EXPENSE transactions (0 if none)
+ */
+public record BudgetOverview(Long budgetId, String name, long budgetAmountCents,
+                             long totalIncomeCents, long totalExpenseCents) {
+}
@@ -0,0 +1,12 @@
+package com.example.budgettracker.dto.projection;
+
+/**
+ * Read-only projection of a budget's amount and its transaction totals,
+ * produced by a single aggregate query. All amounts are in cents.
+ *
+ * @param budgetAmountCents the budget's target amount
+ * @param totalIncomeCents  sum of all INCOME transactions (0 if none)
+ * @param totalExpenseCents sum of all EXPENSE transactions (0 if none)
+ */
+public record BudgetTotals(long budgetAmountCents, long totalIncomeCents, long totalExpenseCents) {
+}
@@ -0,0 +1,83 @@
+package com.example.budgettracker.dto.request;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Width of the buckets of a time series.
+ * Buckets start where Postgres {@code date_trunc} puts them: weeks start on Monday,
+ * quarters in January, April, July and October.
+ */
+public enum Granularity {
+
+    DAY("day", "1 day"),
+    WEEK("week", "1 week"),
+    MONTH("month", "1 month"),
+    QUARTER("quarter", "3 months"),
+    YEAR("year", "1 year");
+
+    private final String truncUnit;
+    private final String interval;
+
+    Granularity(String truncUnit, String interval) {
+        this.truncUnit = truncUnit;
+        this.interval = interval;
+    }
+
+    /**
+     * @return the {@code date_trunc} field name, e.g. {@code "quarter"}
+     */
+    public String truncUnit() {
+        return truncUnit;
+    }
+
+    /**
+     * @return the bucket width as a Postgres interval literal, e.g. {@code "3 months"}
+     */
+    public String interval() {
+        return interval;
+    }
+
+    /**
+     * Returns the start of the bucket containing the given date.
+     */
+    public LocalDate truncate(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case QUARTER -> LocalDate.of(date.getYear(), (date.getMonthValue() - 1) / 3 * 3 + 1, 1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    /**
+     * Returns the start of the bucket {@code buckets} buckets after the one starting at {@code bucketStart}.
+     */
+    public LocalDate plusBuckets(LocalDate bucketStart, long buckets) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(buckets);
+            case WEEK -> bucketStart.plusWeeks(buckets);
+            case MONTH -> bucketStart.plusMonths(buckets);
+            case QUARTER -> bucketStart.plusMonths(3 * buckets);
+            case YEAR -> bucketStart.plusYears(buckets);
+        };
+    }
+
+    /**
+     * Returns the number of buckets covering the inclusive range {@code from..to}.
+     */
+    public long bucketsBetween(LocalDate from, LocalDate to) {
+        LocalDate first = truncate(from);
+        LocalDate last = truncate(to);
+        return switch (this) {
+            case DAY -> ChronoUnit.DAYS.between(first, last) + 1;
+            case WEEK -> ChronoUnit.WEEKS.between(first, last) + 1;
+            case MONTH -> ChronoUnit.MONTHS.between(first, last) + 1;
+            case QUARTER -> ChronoUnit.MONTHS.between(first, last) / 3 + 1;
+            case YEAR -> ChronoUnit.YEARS.between(first, last) + 1;
+        };
+    }
+}
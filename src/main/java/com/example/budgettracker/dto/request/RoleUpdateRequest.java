@@ -0,0 +1,20 @@
+package com.example.budgettracker.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.Set;
+
+/**
+ * DTO representing the request payload for replacing a user's roles.
+ * Used by the admin endpoints.
+ */
+@Schema(description = "Request body for updating a user's roles.")
+public record RoleUpdateRequest(
+
+        // Complete set of roles the user should have after the update
+        @Schema(description = "Roles to assign to the user", example = "[\"USER\", \"ADMIN\"]")
+        @NotEmpty(message = "At least one role is required")
+        Set<String> roles
+
+) {}
@@ -0,0 +1,80 @@
+package com.example.budgettracker.dto.request;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position in a budget's transactions, which are listed in (date, id) order: the next page
+ * starts after the transaction with this date and ID.
+ * <p>
+ * The cursor also records the order and a fingerprint of the filter of the list it was
+ * issued for ({@link TransactionFilter#fingerprint()}), so a cursor sent back with another
+ * order or other filters can be rejected instead of silently returning a wrong page.
+ * <p>
+ * Clients receive it as an opaque URL-safe string ({@link #encode()}) and send it back unchanged.
+ *
+ * @param date              the date of the last transaction of the previous page
+ * @param id                the ID of the last transaction of the previous page
+ * @param direction         the order of the list
+ * @param filterFingerprint the fingerprint of the list's filter
+ */
+public record TransactionCursor(LocalDate date, long id, Sort.Direction direction, int filterFingerprint) {
+
+    private static final int ENCODED_BYTES = Integer.BYTES + Long.BYTES + Byte.BYTES + Integer.BYTES;
+
+    /**
+     * Creates the cursor of a page of the list selected by a filter.
+     *
+     * @param date   the date of the last transaction of the page
+     * @param id     the ID of the last transaction of the page
+     * @param filter the filter (and order) of the list
+     */
+    public TransactionCursor(LocalDate date, long id, TransactionFilter filter) {
+        this(date, id, filter.direction(), filter.fingerprint());
+    }
+
+    /**
+     * @param filter the filter of the requested page
+     * @return true if the cursor was issued for a list with the same order and filter
+     */
+    public boolean matches(TransactionFilter filter) {
+        return direction == filter.direction() && filterFingerprint == filter.fingerprint();
+    }
+
+    /**
+     * @return the cursor as an opaque URL-safe string
+     */
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+                .putInt((int) date.toEpochDay())
+                .putLong(id)
+                .put((byte) direction.ordinal())
+                .putInt(filterFingerprint);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Parses a cursor produced by {@link #encode()}.
+     *
+     * @param cursor the opaque cursor string
+     * @return the cursor
+     * @throws IllegalArgumentException if the string is not a valid cursor
+     */
+    public static TransactionCursor decode(String cursor) {
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        if (bytes.length != ENCODED_BYTES) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        LocalDate date = LocalDate.ofEpochDay(buffer.getInt());
+        long id = buffer.getLong();
+        int direction = buffer.get();
+        if (direction < 0 || direction >= Sort.Direction.values().length) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new TransactionCursor(date, id, Sort.Direction.values()[direction], buffer.getInt());
+    }
+}
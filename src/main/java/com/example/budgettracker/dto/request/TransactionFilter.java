@@ -0,0 +1,67 @@
+package com.example.budgettracker.dto.request;
+
+import com.example.budgettracker.model.Transaction;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.CRC32;
+
+/**
+ * Conditions and order of a transaction list. Every condition is optional (null for none);
+ * the ones given must all hold.
+ *
+ * @param from           first day of the date range, inclusive
+ * @param to             last day of the date range, inclusive
+ * @param type           transaction type
+ * @param categories     category names, any of which matches; transactions without a category never match
+ * @param minAmountCents smallest amount in cents, inclusive
+ * @param maxAmountCents largest amount in cents, inclusive
+ * @param direction      order by date, then ID: ascending (oldest first, the default) or descending
+ */
+public record TransactionFilter(LocalDate from,
+                                LocalDate to,
+                                Transaction.Type type,
+                                Set<String> categories,
+                                Long minAmountCents,
+                                Long maxAmountCents,
+                                Sort.Direction direction) {
+
+    /** All transactions, oldest first. */
+    public static final TransactionFilter NONE =
+            new TransactionFilter(null, null, null, null, null, null, Sort.Direction.ASC);
+
+    public TransactionFilter {
+        categories = categories == null ? Set.of() : Set.copyOf(categories);
+        direction = direction == null ? Sort.Direction.ASC : direction;
+    }
+
+    /**
+     * @return true if the list is restricted to some categories
+     */
+    public boolean hasCategories() {
+        return !categories.isEmpty();
+    }
+
+    /**
+     * A short hash of the conditions (not the order), stable across instances and restarts.
+     * Category names are compared as they are matched: trimmed, in any order.
+     *
+     * @return the fingerprint stored in the cursors of this list ({@link TransactionCursor})
+     */
+    public int fingerprint() {
+        Set<String> names = new TreeSet<>();
+        for (String category : categories) {
+            if (category != null && !category.isBlank()) {
+                names.add(category.strip());
+            }
+        }
+        String conditions = String.join("\n", String.valueOf(from), String.valueOf(to), String.valueOf(type),
+                String.join("\n", names), String.valueOf(minAmountCents), String.valueOf(maxAmountCents));
+        CRC32 crc = new CRC32();
+        crc.update(conditions.getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+}
@@ -2,9 +2,11 @@ package com.example.budgettracker.dto.request;
 
 import com.example.budgettracker.model.Transaction;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
@@ -15,12 +17,13 @@ import java.time.LocalDate;
 public class TransactionRequest {
 
     @Schema(
-        description = "Transaction amount (positive for income, negative for expense)",
+        description = "Transaction amount (positive for income, negative for expense), at most 2 decimal places",
         example = "120.50",
         required = true
     )
     @NotNull
-    private Double amount;
+    @Digits(integer = 15, fraction = 2)
+    private BigDecimal amount;
 
     @Schema(
         description = "Transaction type: INCOME or EXPENSE",
@@ -48,15 +51,16 @@ public class TransactionRequest {
         description = "Category for this transaction",
         example = "Groceries"
     )
+    @Size(max = 64)
     private String category;
 
     // === Getters and Setters ===
 
-    public Double getAmount() {
+    public BigDecimal getAmount() {
         return amount;
     }
 
-    public void setAmount(Double amount) {
+    public void setAmount(BigDecimal amount) {
         this.amount = amount;
     }
 
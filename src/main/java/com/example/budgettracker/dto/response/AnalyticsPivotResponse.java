@@ -0,0 +1,47 @@
+package com.example.budgettracker.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO returning all analytics of a budget in one response: per-category totals, monthly totals
+ * and the grand total, for both income and expenses.
+ *
+ * This is returned from the GET /api/budgets/{budgetId}/analytics/pivot endpoint and replaces
+ * separate /analytics/category and /analytics/month calls per type.
+ */
+@Schema(description = "Category totals, monthly totals and grand totals of a budget for income and expenses.")
+public record AnalyticsPivotResponse(
+
+        @Schema(description = "The unique identifier of the budget", example = "1")
+        Long budgetId,
+
+        @Schema(description = "Analytics of INCOME transactions")
+        TypeAnalytics income,
+
+        @Schema(description = "Analytics of EXPENSE transactions")
+        TypeAnalytics expense
+) {
+
+    /**
+     * Analytics of one transaction type.
+     *
+     * @param byCategory totals per category, ordered by category
+     * @param byMonth    totals per month, in chronological order
+     * @param total      grand total of the type
+     */
+    @Schema(description = "Totals of one transaction type by category, by month and overall.")
+    public record TypeAnalytics(
+
+            @Schema(description = "Totals per category, ordered by category")
+            List<CategorySummary> byCategory,
+
+            @Schema(description = "Totals per month, in chronological order")
+            List<MonthlySummary> byMonth,
+
+            @Schema(description = "Grand total for this type", example = "1200.00")
+            BigDecimal total
+    ) {}
+}
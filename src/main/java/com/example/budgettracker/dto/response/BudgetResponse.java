@@ -0,0 +1,42 @@
+package com.example.budgettracker.dto.response;
+
+import com.example.budgettracker.model.Budget;
+import com.example.budgettracker.model.Money;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO representing a budget as returned by the /api/budgets endpoints.
+ *
+ * The list endpoint selects it straight from the budgets table with a JPQL constructor
+ * expression ({@code SELECT new ...BudgetResponse(b.id, b.name, b.amountCents)}),
+ * without loading {@link Budget} entities.
+ */
+@Schema(description = "Response DTO representing a budget.")
+public record BudgetResponse(
+
+        @Schema(description = "The unique identifier of the budget", example = "1")
+        Long id,
+
+        @Schema(description = "The name of the budget", example = "Groceries")
+        String name,
+
+        @Schema(description = "The budget amount", example = "500.00")
+        BigDecimal amount
+) {
+
+    /**
+     * Constructor used by projection queries; converts the stored cents.
+     */
+    public BudgetResponse(Long id, String name, long amountCents) {
+        this(id, name, Money.fromCents(amountCents));
+    }
+
+    /**
+     * Converts a budget entity, e.g. after it was created or updated.
+     */
+    public static BudgetResponse from(Budget budget) {
+        return new BudgetResponse(budget.getId(), budget.getName(), budget.getAmountCents());
+    }
+}
@@ -2,6 +2,8 @@ package com.example.budgettracker.dto.response;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.math.BigDecimal;
+
 /**
  * DTO used to return a high-level summary of a specific budget.
  * This is returned from the GET /api/budgets/{budgetId}/summary endpoint.
@@ -13,13 +15,13 @@ public class BudgetSummaryResponse {
     private Long budgetId;
 
     @Schema(description = "Total income for this budget", example = "1200.00")
-    private double totalIncome;
+    private BigDecimal totalIncome;
 
     @Schema(description = "Total expenses for this budget", example = "800.00")
-    private double totalExpense;
+    private BigDecimal totalExpense;
 
     @Schema(description = "Remaining balance (income minus expenses)", example = "400.00")
-    private double balance;
+    private BigDecimal balance;
 
     /**
      * Constructor for BudgetSummaryResponse.
@@ -30,7 +32,7 @@ public class BudgetSummaryResponse {
      * @param totalExpense sum of all expense transactions
      * @param balance totalIncome - totalExpense
      */
-    public BudgetSummaryResponse(Long budgetId, double totalIncome, double totalExpense, double balance) {
+    public BudgetSummaryResponse(Long budgetId, BigDecimal totalIncome, BigDecimal totalExpense, BigDecimal balance) {
         this.budgetId = budgetId;
         this.totalIncome = totalIncome;
         this.totalExpense = totalExpense;
@@ -43,15 +45,15 @@ public class BudgetSummaryResponse {
         return budgetId;
     }
 
-    public double getTotalIncome() {
+    public BigDecimal getTotalIncome() {
         return totalIncome;
     }
 
-    public double getTotalExpense() {
+    public BigDecimal getTotalExpense() {
         return totalExpense;
     }
 
-    public double getBalance() {
+    public BigDecimal getBalance() {
         return balance;
     }
 }
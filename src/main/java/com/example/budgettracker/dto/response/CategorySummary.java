@@ -2,6 +2,8 @@ package com.example.budgettracker.dto.response;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.math.BigDecimal;
+
 /**
  * DTO representing the total amount of transactions grouped by category.
  * 
@@ -15,6 +17,6 @@ public record CategorySummary(
         @Schema(description = "The category name (e.g., Groceries, Utilities)", example = "Groceries")
         String category,
 
-        @Schema(description = "Total amount for this category", example = "250.0")
-        double total
+        @Schema(description = "Total amount for this category", example = "250.00")
+        BigDecimal total
 ) {}
@@ -0,0 +1,28 @@
+package com.example.budgettracker.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO representing one budget on the user's dashboard with its totals and balance.
+ * A list of these is returned from the GET /api/dashboard endpoint.
+ */
+@Schema(description = "Summary of one budget on the dashboard: name, total income, expenses, and balance.")
+public record DashboardBudgetSummary(
+
+        @Schema(description = "The unique identifier of the budget", example = "1")
+        Long budgetId,
+
+        @Schema(description = "The budget name", example = "Household")
+        String name,
+
+        @Schema(description = "Total income for this budget", example = "1200.00")
+        BigDecimal totalIncome,
+
+        @Schema(description = "Total expenses for this budget", example = "800.00")
+        BigDecimal totalExpense,
+
+        @Schema(description = "Remaining balance (budget amount plus income minus expenses)", example = "1400.00")
+        BigDecimal balance
+) {}
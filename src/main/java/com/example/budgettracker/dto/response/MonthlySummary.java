@@ -2,6 +2,8 @@ package com.example.budgettracker.dto.response;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.math.BigDecimal;
+
 /**
  * DTO representing the total amount of transactions grouped by year and month.
  *
@@ -19,6 +21,6 @@ public record MonthlySummary(
         @Schema(description = "The month for this summary (1 = January, 12 = December)", example = "5")
         int month,
 
-        @Schema(description = "Total amount for this year and month", example = "300.0")
-        double total
+        @Schema(description = "Total amount for this year and month", example = "300.00")
+        BigDecimal total
 ) {}
@@ -0,0 +1,35 @@
+package com.example.budgettracker.dto.response;
+
+import com.example.budgettracker.dto.request.Granularity;
+import com.example.budgettracker.model.Transaction;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO representing transaction totals over consecutive time buckets as two parallel arrays:
+ * {@code buckets[i]} is the first day of bucket {@code i} and {@code totals[i]} its total.
+ * Buckets without transactions are present with a total of 0.
+ *
+ * This is returned from the GET /api/budgets/{budgetId}/analytics/series endpoint.
+ */
+@Schema(description = "Totals per time bucket as parallel arrays of bucket start dates and totals, without gaps.")
+public record TimeSeriesResponse(
+
+        @Schema(description = "The unique identifier of the budget", example = "1")
+        Long budgetId,
+
+        @Schema(description = "The transaction type", example = "EXPENSE")
+        Transaction.Type type,
+
+        @Schema(description = "The bucket width", example = "MONTH")
+        Granularity granularity,
+
+        @Schema(description = "First day of each bucket, in order", example = "[\"2025-01-01\", \"2025-02-01\"]")
+        List<LocalDate> buckets,
+
+        @Schema(description = "Total of each bucket, parallel to buckets", example = "[120.50, 0.00]")
+        BigDecimal[] totals
+) {}
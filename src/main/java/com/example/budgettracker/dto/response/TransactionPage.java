@@ -0,0 +1,22 @@
+package com.example.budgettracker.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO representing one page of a budget's transactions in (date, id) order.
+ * The next page is requested with {@code cursor=nextCursor}; there is none when
+ * {@code nextCursor} is null.
+ *
+ * This is returned from the GET /api/budgets/{budgetId}/transactions endpoint.
+ */
+@Schema(description = "One page of transactions, oldest first, with the cursor of the next page.")
+public record TransactionPage(
+
+        @Schema(description = "The transactions of this page, ordered by date, then ID")
+        List<TransactionResponse> items,
+
+        @Schema(description = "Opaque cursor of the next page, or null if this is the last page", example = "AABNLAAAAAAAAAAq")
+        String nextCursor
+) {}
@@ -1,8 +1,10 @@
 package com.example.budgettracker.dto.response;
 
+import com.example.budgettracker.model.Money;
 import com.example.budgettracker.model.Transaction;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 /**
@@ -15,8 +17,8 @@ public class TransactionResponse {
     @Schema(description = "Unique identifier of the transaction", example = "42")
     private Long id;
 
-    @Schema(description = "Transaction amount (positive for income, negative for expense)", example = "100.0")
-    private Double amount;
+    @Schema(description = "Transaction amount (positive for income, negative for expense)", example = "100.00")
+    private BigDecimal amount;
 
     @Schema(description = "Transaction type: INCOME or EXPENSE", example = "EXPENSE")
     private Transaction.Type type;
@@ -39,19 +41,38 @@ public class TransactionResponse {
      */
     public TransactionResponse(Transaction transaction) {
         this.id = transaction.getId();
-        this.amount = transaction.getAmount();
+        this.amount = Money.fromCents(transaction.getAmountCents());
         this.type = transaction.getType();
         this.description = transaction.getDescription();
         this.date = transaction.getDate();
     }
 
+    /**
+     * Constructs a TransactionResponse from selected columns, as a JPQL constructor expression
+     * ({@code SELECT new ...TransactionResponse(t.id, t.amountCents, t.type, t.description, t.date)}),
+     * so read endpoints never load the entity.
+     *
+     * @param id          the transaction ID
+     * @param amountCents the amount in cents
+     * @param type        the transaction type
+     * @param description the description, or null
+     * @param date        the transaction date
+     */
+    public TransactionResponse(Long id, long amountCents, Transaction.Type type, String description, LocalDate date) {
+        this.id = id;
+        this.amount = Money.fromCents(amountCents);
+        this.type = type;
+        this.description = description;
+        this.date = date;
+    }
+
     // Getters and setters
 
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
-    public Double getAmount() { return amount; }
-    public void setAmount(Double amount) { this.amount = amount; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
 
     public Transaction.Type getType() { return type; }
     public void setType(Transaction.Type type) { this.type = type; }
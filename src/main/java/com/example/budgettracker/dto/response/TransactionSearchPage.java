@@ -0,0 +1,22 @@
+package com.example.budgettracker.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO representing one page of a description search, best match first.
+ * The next page is requested with {@code offset=nextOffset}; there is none when
+ * {@code nextOffset} is null.
+ *
+ * This is returned from the GET /api/budgets/{budgetId}/transactions/search endpoint.
+ */
+@Schema(description = "One page of search results, best match first, with the offset of the next page.")
+public record TransactionSearchPage(
+
+        @Schema(description = "The matching transactions of this page, ranked by relevance")
+        List<TransactionResponse> items,
+
+        @Schema(description = "Offset of the next page, or null if this is the last page", example = "20")
+        Integer nextOffset
+) {}
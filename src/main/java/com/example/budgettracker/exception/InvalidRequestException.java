@@ -0,0 +1,20 @@
+package com.example.budgettracker.exception;
+
+/**
+ * Exception thrown when request parameters are invalid in a way that bean validation does not cover.
+ * 
+ * Example use cases:
+ * - A date range whose end is before its start
+ * - A page size out of range or a malformed pagination cursor
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    /**
+     * Constructs a new InvalidRequestException with the specified detail message.
+     *
+     * @param message the detail message, returned to the client
+     */
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
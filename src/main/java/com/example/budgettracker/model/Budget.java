@@ -1,10 +1,11 @@
 package com.example.budgettracker.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -13,6 +14,9 @@ import java.util.List;
  * 
  * Each budget has a name, a target amount, an owner (User), and
  * a list of associated transactions.
+ *
+ * The schema, including the owner index idx_budgets_user_id (user_id), is managed by the
+ * Flyway migrations.
  */
 @Entity
 @Table(name = "budgets")
@@ -32,10 +36,11 @@ public class Budget {
     private String name;
 
     /**
-     * Maximum allocated amount for this budget category.
+     * Maximum allocated amount for this budget category, in cents.
+     * Serialized as the decimal {@code amount}.
      */
-    @NotNull
-    private Double amount;
+    @Column(name = "amount_cents", nullable = false)
+    private long amountCents;
 
     /**
      * The user who owns this budget.
@@ -61,9 +66,9 @@ public class Budget {
     public Budget() {
     }
 
-    public Budget(String name, Double amount, User owner) {
+    public Budget(String name, long amountCents, User owner) {
         this.name = name;
-        this.amount = amount;
+        this.amountCents = amountCents;
         this.owner = owner;
     }
 
@@ -85,12 +90,21 @@ public class Budget {
         this.name = name;
     }
 
-    public Double getAmount() {
-        return amount;
+    @JsonIgnore
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public void setAmountCents(long amountCents) {
+        this.amountCents = amountCents;
     }
 
-    public void setAmount(Double amount) {
-        this.amount = amount;
+    /**
+     * The budget amount as a decimal, as exposed in the JSON API.
+     */
+    @JsonProperty("amount")
+    public BigDecimal getAmount() {
+        return Money.fromCents(amountCents);
     }
 
     public User getOwner() {
@@ -0,0 +1,75 @@
+package com.example.budgettracker.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Running totals of a budget's transactions, kept up to date on every transaction write.
+ *
+ * There is one row per budget, keyed by the budget id. Writers never read-modify-write it;
+ * they apply deltas with a single atomic upsert (see {@code BudgetLedgerRepository}), so
+ * concurrent writes to the same budget are serialized by the row lock. The row is removed
+ * together with its budget (ON DELETE CASCADE).
+ */
+@Entity
+@Table(name = "budget_ledgers")
+public class BudgetLedger {
+
+    /**
+     * The budget ID (also the foreign key to the budget).
+     */
+    @Id
+    @Column(name = "budget_id")
+    private Long budgetId;
+
+    /**
+     * The budget these totals belong to.
+     */
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "budget_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Budget budget;
+
+    /**
+     * Sum of all INCOME transaction amounts, in cents.
+     */
+    @Column(name = "total_income_cents", nullable = false)
+    private long totalIncomeCents;
+
+    /**
+     * Sum of all EXPENSE transaction amounts, in cents.
+     */
+    @Column(name = "total_expense_cents", nullable = false)
+    private long totalExpenseCents;
+
+    /**
+     * Number of transactions in the budget.
+     */
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    // === Constructors ===
+
+    public BudgetLedger() {
+    }
+
+    // === Getters ===
+
+    public Long getBudgetId() {
+        return budgetId;
+    }
+
+    public long getTotalIncomeCents() {
+        return totalIncomeCents;
+    }
+
+    public long getTotalExpenseCents() {
+        return totalExpenseCents;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.budgettracker.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * A category name of one user, referenced by transactions through its integer id.
+ *
+ * Each name is stored once per user, so transactions and the rollups group and index on the
+ * id instead of repeating the string. Categories are created on first use and never renamed,
+ * so an id always stands for the same name (see {@code CategoryDictionary}). Rows are removed
+ * together with their user (ON DELETE CASCADE).
+ */
+@Entity
+@Table(name = "categories",
+        uniqueConstraints = @UniqueConstraint(name = "uk_categories_user_name", columnNames = {"user_id", "name"}))
+public class Category {
+
+    /**
+     * Reserved id standing for "no category" where a non-null key is needed (the rollups).
+     * Identity values start at 1.
+     */
+    public static final int NONE = 0;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /**
+     * The user this category belongs to.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User owner;
+
+    /**
+     * The category name (e.g., "Groceries"), trimmed. Limited to 64 characters.
+     */
+    @Column(nullable = false, length = 64)
+    private String name;
+
+    // === Constructors ===
+
+    public Category() {
+    }
+
+    // === Getters ===
+
+    public Integer getId() {
+        return id;
+    }
+
+    public User getOwner() {
+        return owner;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -5,24 +5,54 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Custom implementation of Spring Security's UserDetails interface.
  * 
  * This class adapts the application's User entity to the contract expected
- * by Spring Security for authentication and authorization.
+ * by Spring Security for authentication and authorization. It is an immutable
+ * snapshot taken when the user is loaded: it holds no reference to the managed
+ * entity, so it can be cached and shared between requests.
  */
 public class CustomUserDetails implements UserDetails {
 
-    private final User user;
+    private final Long userId;
+    private final String username;
+    private final String password;
+    private final List<GrantedAuthority> authorities;
+    private final boolean enabled;
 
     /**
-     * Constructor to initialize the wrapper with the application-specific User.
+     * Constructor to take a snapshot of the application-specific User.
      *
      * @param user the domain user entity
      */
     public CustomUserDetails(User user) {
-        this.user = user;
+        this(user.getId(),
+                user.getUsername(),
+                user.getPassword(),
+                user.getRoles().stream()
+                        .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                        .toList(),
+                true);
+    }
+
+    private CustomUserDetails(Long userId, String username, String password,
+                              List<GrantedAuthority> authorities, boolean enabled) {
+        this.userId = userId;
+        this.username = username;
+        this.password = password;
+        this.authorities = List.copyOf(authorities);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns a copy of these details without the password hash, for use once the user
+     * has been authenticated (e.g. by a token).
+     */
+    public CustomUserDetails withoutPassword() {
+        return new CustomUserDetails(userId, username, null, authorities, enabled);
     }
 
     /**
@@ -33,17 +63,16 @@ public class CustomUserDetails implements UserDetails {
      */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                .toList();
+        return authorities;
     }
 
     /**
-     * Returns the hashed password used to authenticate the user.
+     * Returns the hashed password used to authenticate the user,
+     * or null if these details were taken {@link #withoutPassword() without it}.
      */
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     /**
@@ -51,7 +80,7 @@ public class CustomUserDetails implements UserDetails {
      */
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
     }
 
     /**
@@ -83,17 +112,17 @@ public class CustomUserDetails implements UserDetails {
 
     /**
      * Indicates whether the user is enabled or disabled.
-     * Always returns true for simplicity.
+     * Every stored user is currently enabled.
      */
     @Override
     public boolean isEnabled() {
-        return true;
+        return enabled;
     }
 
     /**
-     * Returns the underlying User entity, useful for accessing app-specific fields.
+     * Returns the ID of the underlying User.
      */
-    public User getUser() {
-        return user;
+    public Long getUserId() {
+        return userId;
     }
 }
@@ -0,0 +1,65 @@
+package com.example.budgettracker.model;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lightweight implementation of Spring Security's UserDetails interface
+ * built directly from verified JWT claims.
+ *
+ * Used in stateless principal mode, where the authentication filter does not
+ * load the {@link User} entity from the database. It carries no password.
+ */
+public class JwtUserDetails implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final List<? extends GrantedAuthority> authorities;
+
+    /**
+     * Constructor to initialize the principal from token claims.
+     *
+     * @param id          the user's database id (from the "uid" claim)
+     * @param username    the username (token subject)
+     * @param authorities authorities taken from the "roles" claim
+     */
+    public JwtUserDetails(Long id, String username, List<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.username = username;
+        this.authorities = authorities;
+    }
+
+    /**
+     * Returns the authorities carried by the token.
+     */
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * Tokens do not carry credentials, so there is no password.
+     */
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    /**
+     * Returns the username embedded in the token.
+     */
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Returns the user's database id embedded in the token.
+     */
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.budgettracker.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversions between the API's decimal amounts and the exact integer minor units (cents)
+ * in which money is stored and summed.
+ *
+ * Entities, ledgers and rollups hold amounts as {@code long} cents, so sums are exact and
+ * need no boxing. Requests and responses keep exposing amounts as decimal numbers
+ * (e.g. {@code 120.50}); the conversion happens only at that boundary.
+ */
+public final class Money {
+
+    /** Number of decimal places of the minor unit. */
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    /**
+     * Converts a decimal amount to cents.
+     *
+     * @param amount the amount, with at most {@link #SCALE} decimal places
+     * @return the amount in cents
+     * @throws ArithmeticException if the amount has more decimal places or does not fit a long
+     */
+    public static long toCents(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * Converts cents to a decimal amount with {@link #SCALE} decimal places.
+     *
+     * @param cents the amount in cents
+     * @return the decimal amount (e.g. 12050 becomes 120.50)
+     */
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+}
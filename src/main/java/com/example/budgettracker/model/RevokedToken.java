@@ -0,0 +1,51 @@
+package com.example.budgettracker.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A revoked JWT, identified by its {@code jti} claim.
+ *
+ * Rows are only needed until the token would have expired anyway;
+ * after that they are pruned by {@code TokenRevocationList}.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+public class RevokedToken {
+
+    /**
+     * The token's unique id ({@code jti} claim).
+     */
+    @Id
+    @Column(name = "jti", length = 64)
+    private String jti;
+
+    /**
+     * When the revoked token expires; the row can be removed after this.
+     */
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // === Constructors ===
+
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String jti, Instant expiresAt) {
+        this.jti = jti;
+        this.expiresAt = expiresAt;
+    }
+
+    // === Getters ===
+
+    public String getJti() {
+        return jti;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -8,14 +8,13 @@ import java.time.LocalDate;
 /**
  * Represents a financial transaction linked to a specific budget.
  * Can be of type INCOME or EXPENSE.
+ *
+ * The schema and all indexes, e.g. idx_transactions_budget_type_date
+ * (budget_id, type, date, id) INCLUDE (amount_cents), are managed by the Flyway migrations.
+ * Amounts are exact integer cents (see {@link Money}).
  */
 @Entity
-@Table(name = "transactions",
-            indexes = {
-        @Index(name = "idx_budget_id", columnList = "budget_id"),
-        @Index(name = "idx_transaction_date", columnList = "date"),
-        @Index(name = "idx_budget_category", columnList = "budget_id, category")
-    })
+@Table(name = "transactions")
 public class Transaction {
 
     @Id
@@ -23,10 +22,10 @@ public class Transaction {
     private Long id;
 
     /**
-     * The amount of the transaction (must be non-null).
+     * The amount of the transaction, in cents.
      */
-    @NotNull
-    private Double amount;
+    @Column(name = "amount_cents", nullable = false)
+    private long amountCents;
 
     /**
      * Indicates whether the transaction is income or expense.
@@ -47,10 +46,17 @@ public class Transaction {
     private LocalDate date = LocalDate.now();
 
     /**
-     * Optional category (e.g., "Groceries", "Rent").
-     * Limited to 64 characters.
+     * Optional category, as the ID of one of the owner's {@link Category} rows.
      */
-    @Column(length = 64)
+    @Column(name = "category_id")
+    private Integer categoryId;
+
+    /**
+     * The category name (e.g., "Groceries", "Rent") as supplied on writes, which
+     * {@code TransactionService} resolves to {@link #categoryId}. Not persisted and not
+     * loaded; resolve the ID through {@code CategoryDictionary} to read the name.
+     */
+    @Transient
     private String category;
 
     /**
@@ -77,16 +83,16 @@ public class Transaction {
     /**
      * Full constructor to initialize all fields.
      *
-     * @param amount      the transaction amount
+     * @param amountCents the transaction amount in cents
      * @param type        transaction type (INCOME or EXPENSE)
      * @param description optional description
      * @param date        date of transaction (defaults to today if null)
      * @param category    optional category label
      * @param budget      associated budget
      */
-    public Transaction(Double amount, Type type, String description,
+    public Transaction(long amountCents, Type type, String description,
                        LocalDate date, String category, Budget budget) {
-        this.amount = amount;
+        this.amountCents = amountCents;
         this.type = type;
         this.description = description;
         this.date = date != null ? date : LocalDate.now();
@@ -99,8 +105,8 @@ public class Transaction {
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
-    public Double getAmount() { return amount; }
-    public void setAmount(Double amount) { this.amount = amount; }
+    public long getAmountCents() { return amountCents; }
+    public void setAmountCents(long amountCents) { this.amountCents = amountCents; }
 
     public Type getType() { return type; }
     public void setType(Type type) { this.type = type; }
@@ -111,6 +117,9 @@ public class Transaction {
     public LocalDate getDate() { return date; }
     public void setDate(LocalDate date) { this.date = date; }
 
+    public Integer getCategoryId() { return categoryId; }
+    public void setCategoryId(Integer categoryId) { this.categoryId = categoryId; }
+
     public String getCategory() { return category; }
     public void setCategory(String category) { this.category = category; }
 
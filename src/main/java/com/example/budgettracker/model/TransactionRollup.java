@@ -0,0 +1,65 @@
+package com.example.budgettracker.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Pre-aggregated transaction totals per budget, month, type and category.
+ *
+ * Maintained incrementally by the transaction write paths (see {@code TransactionRollupService})
+ * and read by {@code AnalyticsService}, so analytics never re-aggregate a budget's full history.
+ * Rows are removed together with their budget (ON DELETE CASCADE).
+ */
+@Entity
+@Table(name = "transaction_rollups",
+        indexes = {
+        // Month analytics: range on (year, month) within one budget and type, read in group order.
+        // total_cents is carried in the index so the scan is index-only.
+        @Index(name = "idx_rollups_budget_type_month", columnList = "budget_id, type, period_year, period_month, total_cents")
+    })
+public class TransactionRollup {
+
+    @EmbeddedId
+    private TransactionRollupId id;
+
+    /**
+     * The budget this bucket belongs to.
+     */
+    @MapsId("budgetId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "budget_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Budget budget;
+
+    /**
+     * Sum of the amounts of the transactions in this bucket, in cents.
+     */
+    @Column(name = "total_cents", nullable = false)
+    private long totalCents;
+
+    /**
+     * Number of transactions in this bucket.
+     */
+    @Column(name = "tx_count", nullable = false)
+    private long count;
+
+    // === Constructors ===
+
+    public TransactionRollup() {
+    }
+
+    // === Getters ===
+
+    public TransactionRollupId getId() {
+        return id;
+    }
+
+    public long getTotalCents() {
+        return totalCents;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.budgettracker.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite key of a {@link TransactionRollup}: one bucket per budget, month, type and category.
+ * Transactions without a category are stored under {@link Category#NONE}.
+ */
+@Embeddable
+public class TransactionRollupId implements Serializable {
+
+    @Column(name = "budget_id")
+    private Long budgetId;
+
+    @Column(name = "period_year")
+    private int year;
+
+    @Column(name = "period_month")
+    private int month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", length = 16)
+    private Transaction.Type type;
+
+    @Column(name = "category_id")
+    private int categoryId;
+
+    public TransactionRollupId() {
+    }
+
+    public Long getBudgetId() {
+        return budgetId;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getMonth() {
+        return month;
+    }
+
+    public Transaction.Type getType() {
+        return type;
+    }
+
+    public int getCategoryId() {
+        return categoryId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TransactionRollupId other)) return false;
+        return year == other.year && month == other.month
+                && Objects.equals(budgetId, other.budgetId)
+                && type == other.type
+                && categoryId == other.categoryId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(budgetId, year, month, type, categoryId);
+    }
+}
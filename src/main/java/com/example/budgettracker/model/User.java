@@ -14,6 +14,10 @@ import java.util.Set;
 @Entity
 @Table(
     name = "users",
+    uniqueConstraints = {
+        @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
+    },
     indexes = {
         @Index(name = "idx_username", columnList = "username"),
         @Index(name = "idx_email", columnList = "email")
@@ -21,6 +25,16 @@ import java.util.Set;
 )
 public class User {
 
+    /**
+     * Name of the unique constraint on {@code users.username}.
+     */
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+
+    /**
+     * Name of the unique constraint on {@code users.email}.
+     */
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -29,7 +43,7 @@ public class User {
      * Unique username for login and display purposes.
      */
     @NotBlank(message = "Username is required")
-    @Column(unique = true)
+    @Column(nullable = false)
     private String username;
 
     /**
@@ -37,7 +51,7 @@ public class User {
      */
     @NotBlank(message = "Email is required")
     @Email(message = "Invalid email")
-    @Column(unique = true)
+    @Column(nullable = false)
     private String email;
 
     /**
@@ -0,0 +1,148 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.dto.projection.BudgetOverview;
+import com.example.budgettracker.dto.projection.BudgetTotals;
+import com.example.budgettracker.model.BudgetLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for per-budget running totals ({@link BudgetLedger}).
+ * <p>
+ * All writes are single atomic statements; callers run them in the same database
+ * transaction as the transaction write they account for.
+ */
+public interface BudgetLedgerRepository extends JpaRepository<BudgetLedger, Long> {
+
+    /**
+     * Adds deltas to a budget's totals, creating the row if it does not exist yet.
+     * The increment happens in the database, so concurrent writers never lose updates.
+     *
+     * @param budgetId     the budget ID
+     * @param incomeDelta  cents to add to total income (may be negative)
+     * @param expenseDelta cents to add to total expense (may be negative)
+     * @param countDelta   number to add to the transaction count (may be negative)
+     * @return the number of affected rows (always 1)
+     */
+    @Modifying
+    @Query(value = """
+           INSERT INTO budget_ledgers (budget_id, total_income_cents, total_expense_cents, transaction_count)
+           VALUES (:budgetId, :incomeDelta, :expenseDelta, :countDelta)
+           ON CONFLICT (budget_id) DO UPDATE SET
+               total_income_cents = budget_ledgers.total_income_cents + EXCLUDED.total_income_cents,
+               total_expense_cents = budget_ledgers.total_expense_cents + EXCLUDED.total_expense_cents,
+               transaction_count = budget_ledgers.transaction_count + EXCLUDED.transaction_count
+           """, nativeQuery = true)
+    int applyDelta(@Param("budgetId") Long budgetId,
+                   @Param("incomeDelta") long incomeDelta,
+                   @Param("expenseDelta") long expenseDelta,
+                   @Param("countDelta") long countDelta);
+
+    /**
+     * Recomputes a budget's totals from its transactions and overwrites the row if they differ.
+     * <p>
+     * Must run after {@link #applyDelta} with zero deltas in the same transaction: that upsert
+     * takes the row lock, so writers that already applied their delta have committed and those
+     * that have not will apply it on top of the recomputed totals.
+     *
+     * @param budgetId the budget ID
+     * @return 1 if the row was out of date and repaired, 0 if it was correct
+     */
+    @Modifying
+    @Query(value = """
+           UPDATE budget_ledgers l SET
+               total_income_cents = a.income,
+               total_expense_cents = a.expense,
+               transaction_count = a.cnt
+           FROM (SELECT COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount_cents END), 0) AS income,
+                        COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount_cents END), 0) AS expense,
+                        COUNT(t.id) AS cnt
+                 FROM transactions t
+                 WHERE t.budget_id = :budgetId) a
+           WHERE l.budget_id = :budgetId
+             AND (l.transaction_count <> a.cnt
+                  OR l.total_income_cents <> a.income
+                  OR l.total_expense_cents <> a.expense)
+           """, nativeQuery = true)
+    int reconcile(@Param("budgetId") Long budgetId);
+
+    /**
+     * Creates missing ledger rows for budgets that predate the ledger, computed from their transactions.
+     *
+     * @return the number of rows created
+     */
+    @Modifying
+    @Query(value = """
+           INSERT INTO budget_ledgers (budget_id, total_income_cents, total_expense_cents, transaction_count)
+           SELECT b.id,
+                  COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount_cents END), 0),
+                  COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount_cents END), 0),
+                  COUNT(t.id)
+           FROM budgets b
+           LEFT JOIN transactions t ON t.budget_id = b.id
+           WHERE NOT EXISTS (SELECT 1 FROM budget_ledgers l WHERE l.budget_id = b.id)
+           GROUP BY b.id
+           ON CONFLICT (budget_id) DO NOTHING
+           """, nativeQuery = true)
+    int createMissing();
+
+    /**
+     * Reads a budget's amount and running totals in one query, only if the budget is owned
+     * by the given user. A budget without a ledger row reports zero totals.
+     *
+     * @param budgetId the budget ID
+     * @param username the username of the expected owner
+     * @return the totals, or empty if the budget does not exist or belongs to someone else
+     */
+    @Query("""
+           SELECT new com.example.budgettracker.dto.projection.BudgetTotals(
+               b.amountCents, COALESCE(l.totalIncomeCents, 0L), COALESCE(l.totalExpenseCents, 0L))
+           FROM Budget b
+           LEFT JOIN BudgetLedger l ON l.budgetId = b.id
+           WHERE b.id = :budgetId AND b.owner.username = :username
+           """)
+    Optional<BudgetTotals> findTotalsByBudgetIdAndOwnerUsername(@Param("budgetId") Long budgetId,
+                                                               @Param("username") String username);
+
+    /**
+     * Reads the name, amount and running totals of every budget owned by the given user,
+     * in one query over budgets joined to their ledger rows.
+     *
+     * @param username the username of the owner
+     * @return one overview per budget, ordered by budget ID
+     */
+    @Query("""
+           SELECT new com.example.budgettracker.dto.projection.BudgetOverview(
+               b.id, b.name, b.amountCents, COALESCE(l.totalIncomeCents, 0L), COALESCE(l.totalExpenseCents, 0L))
+           FROM Budget b
+           LEFT JOIN BudgetLedger l ON l.budgetId = b.id
+           WHERE b.owner.username = :username
+           ORDER BY b.id
+           """)
+    List<BudgetOverview> findOverviewsByOwnerUsername(@Param("username") String username);
+
+    /**
+     * Like {@link #findOverviewsByOwnerUsername(String)}, restricted to the given budget IDs.
+     * IDs of budgets owned by someone else are ignored.
+     *
+     * @param username  the username of the owner
+     * @param budgetIds the budget IDs to include
+     * @return one overview per matching budget, ordered by budget ID
+     */
+    @Query("""
+           SELECT new com.example.budgettracker.dto.projection.BudgetOverview(
+               b.id, b.name, b.amountCents, COALESCE(l.totalIncomeCents, 0L), COALESCE(l.totalExpenseCents, 0L))
+           FROM Budget b
+           LEFT JOIN BudgetLedger l ON l.budgetId = b.id
+           WHERE b.owner.username = :username AND b.id IN :budgetIds
+           ORDER BY b.id
+           """)
+    List<BudgetOverview> findOverviewsByOwnerUsernameAndBudgetIdIn(@Param("username") String username,
+                                                                   @Param("budgetIds") Collection<Long> budgetIds);
+}
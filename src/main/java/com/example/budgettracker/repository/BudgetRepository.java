@@ -1,8 +1,15 @@
 package com.example.budgettracker.repository;
 
+import com.example.budgettracker.dto.projection.BudgetTotals;
+import com.example.budgettracker.dto.response.BudgetResponse;
 import com.example.budgettracker.model.Budget;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for accessing and managing {@link Budget} entities.
@@ -18,4 +25,91 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
      * @return a list of {@link Budget} entities associated with the given username
      */
     List<Budget> findByOwnerUsername(String username);
+
+    /**
+     * Retrieves the budgets of a user as response DTOs, selecting only their ID, name and amount.
+     * No entities are loaded, so nothing is tracked for dirty checking or lazily fetched later.
+     *
+     * @param username the username of the user who owns the budgets
+     * @return the user's budgets, ordered by ID
+     */
+    @Query("""
+           SELECT new com.example.budgettracker.dto.response.BudgetResponse(b.id, b.name, b.amountCents)
+           FROM Budget b
+           WHERE b.owner.username = :username
+           ORDER BY b.id
+           """)
+    List<BudgetResponse> findResponsesByOwnerUsername(@Param("username") String username);
+
+    /**
+     * Retrieves the IDs of all budgets, without loading the entities.
+     *
+     * @return all budget IDs
+     */
+    @Query("SELECT b.id FROM Budget b ORDER BY b.id")
+    List<Long> findAllIds();
+
+    /**
+     * Checks in a single query whether a budget exists and is owned by the given user.
+     * Joins budgets to users on the owner id and filters by username, so no entities are loaded.
+     *
+     * @param id       the budget ID
+     * @param username the username of the expected owner
+     * @return true if the budget exists and belongs to the user
+     */
+    boolean existsByIdAndOwnerUsername(Long id, String username);
+
+    /**
+     * Like {@link #existsByIdAndOwnerUsername(Long, String)}, returning the owner's ID.
+     *
+     * @param id       the budget ID
+     * @param username the username of the expected owner
+     * @return the owner's user ID, or empty if the budget does not exist or belongs to someone else
+     */
+    @Query("SELECT b.owner.id FROM Budget b WHERE b.id = :id AND b.owner.username = :username")
+    Optional<Long> findOwnerIdByIdAndOwnerUsername(@Param("id") Long id, @Param("username") String username);
+
+    /**
+     * Retrieves a budget only if it is owned by the given user, in a single query.
+     * The owner itself is not loaded.
+     *
+     * @param id       the budget ID
+     * @param username the username of the expected owner
+     * @return the budget, or empty if it does not exist or belongs to someone else
+     */
+    Optional<Budget> findByIdAndOwnerUsername(Long id, String username);
+
+    /**
+     * Computes a budget's amount, total income and total expense in one aggregate query,
+     * only if the budget is owned by the given user. No transaction entities are loaded.
+     * This is the exact value the running totals in {@code budget_ledgers} must match.
+     *
+     * @param id       the budget ID
+     * @param username the username of the expected owner
+     * @return the totals, or empty if the budget does not exist or belongs to someone else
+     */
+    @Query("""
+           SELECT new com.example.budgettracker.dto.projection.BudgetTotals(
+               b.amountCents,
+               COALESCE(SUM(CASE WHEN t.type = com.example.budgettracker.model.Transaction.Type.INCOME
+                                 THEN t.amountCents ELSE 0L END), 0L),
+               COALESCE(SUM(CASE WHEN t.type = com.example.budgettracker.model.Transaction.Type.EXPENSE
+                                 THEN t.amountCents ELSE 0L END), 0L))
+           FROM Budget b
+           LEFT JOIN b.transactions t
+           WHERE b.id = :id AND b.owner.username = :username
+           GROUP BY b.id, b.amountCents
+           """)
+    Optional<BudgetTotals> findTotalsByIdAndOwnerUsername(@Param("id") Long id, @Param("username") String username);
+
+    /**
+     * Deletes every budget owned by the given user in a single statement.
+     * Transactions must be removed first (see {@link TransactionRepository#deleteByOwnerId(Long)}).
+     *
+     * @param ownerId the ID of the user whose budgets are deleted
+     * @return the number of deleted budgets
+     */
+    @Modifying
+    @Query("DELETE FROM Budget b WHERE b.owner.id = :ownerId")
+    int deleteByOwnerId(@Param("ownerId") Long ownerId);
 }
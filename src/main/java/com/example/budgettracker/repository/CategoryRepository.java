@@ -0,0 +1,65 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.model.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for per-user category names ({@link Category}).
+ * Reads normally go through {@code CategoryDictionary}, which caches both directions.
+ */
+public interface CategoryRepository extends JpaRepository<Category, Integer> {
+
+    /**
+     * Returns the id of a user's category, creating the category if it does not exist yet.
+     * A new name costs one statement; an existing one costs a second, plain read, and neither
+     * rewrites nor locks the existing row. Safe against concurrent creation of the same name:
+     * the loser of the race waits on the unique index, inserts nothing, and then reads the
+     * winner's committed row.
+     *
+     * @param userId the ID of the owner
+     * @param name   the trimmed category name
+     * @return the category ID
+     */
+    default int findOrCreateId(Long userId, String name) {
+        Integer id = insertIfAbsent(userId, name);
+        return id != null ? id : findIdByOwnerIdAndName(userId, name);
+    }
+
+    /**
+     * Retrieves the id of a user's category.
+     *
+     * @param userId the ID of the owner
+     * @param name   the trimmed category name
+     * @return the category ID, or null if the user has no such category
+     */
+    @Query("SELECT c.id FROM Category c WHERE c.owner.id = :userId AND c.name = :name")
+    Integer findIdByOwnerIdAndName(@Param("userId") Long userId, @Param("name") String name);
+
+    /**
+     * Creates a user's category unless it already exists.
+     *
+     * @param userId the ID of the owner
+     * @param name   the trimmed category name
+     * @return the ID of the new category, or null if the name already existed
+     */
+    @Query(value = """
+           INSERT INTO categories (user_id, name) VALUES (:userId, :name)
+           ON CONFLICT (user_id, name) DO NOTHING
+           RETURNING id
+           """, nativeQuery = true)
+    Integer insertIfAbsent(@Param("userId") Long userId, @Param("name") String name);
+
+    /**
+     * Retrieves those of a user's categories that have one of the given names, without creating any.
+     *
+     * @param ownerId the ID of the owner
+     * @param names   the trimmed category names
+     * @return the existing categories among the names
+     */
+    List<Category> findByOwnerIdAndNameIn(Long ownerId, Collection<String> names);
+}
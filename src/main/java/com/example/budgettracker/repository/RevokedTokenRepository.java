@@ -0,0 +1,36 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for the persisted JWT denylist ({@link RevokedToken}).
+ */
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Retrieves all revocations whose token has not expired yet.
+     *
+     * @param now the current time
+     * @return the revocations still in effect
+     */
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    /**
+     * Deletes revocations whose token has already expired, in a single statement.
+     *
+     * @param now the current time
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -1,56 +1,169 @@
 package com.example.budgettracker.repository;
 
 import com.example.budgettracker.model.Transaction;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for accessing and managing {@link Transaction} entities.
  * <p>
  * Extends {@link JpaRepository} to provide standard CRUD operations, and includes
- * custom queries to support budget-based analytics (e.g. totals by category and month).
+ * custom queries to support budget-based analytics (e.g. totals per time bucket).
+ * Filtered, paginated lists are built with the Criteria API ({@link TransactionSearchRepository}).
  */
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionSearchRepository {
 
     /**
-     * Retrieves all transactions linked to a specific budget.
+     * Transactions of a budget whose description contains {@code :pattern} (an ILIKE pattern)
+     * or fuzzily matches a word of {@code :query} ({@code <%}, pg_trgm's word similarity above
+     * {@code pg_trgm.word_similarity_threshold}, 0.6 by default).
+     * Substring matches rank first, then by word similarity, then newest first.
+     * <p>
+     * Each kind of match is read by a nearest-neighbour scan of {@code idx_transactions_budget_description_trgm}
+     * (budget_id, description gist_trgm_ops), which returns rows in word-similarity order
+     * ({@code <<->}) and stops after {@code :candidates} rows. Only those candidates are ranked
+     * and paged, so the cost does not grow with the number of matches; ranks past
+     * {@code :candidates} are never returned.
+     */
+    String SEARCH_SQL = """
+           WITH substring_matches AS (
+               SELECT t.id, :query <<-> t.description AS distance
+               FROM transactions t
+               WHERE t.budget_id = :budgetId AND t.description ILIKE :pattern
+               ORDER BY :query <<-> t.description
+               LIMIT :candidates
+           ), fuzzy_matches AS (
+               SELECT t.id, :query <<-> t.description AS distance
+               FROM transactions t
+               WHERE t.budget_id = :budgetId AND :query <% t.description AND t.description NOT ILIKE :pattern
+               ORDER BY :query <<-> t.description
+               LIMIT :candidates
+           ), candidates AS (
+               SELECT id, distance, 0 AS kind FROM substring_matches
+               UNION ALL
+               SELECT id, distance, 1 AS kind FROM fuzzy_matches
+           )
+           SELECT t.id, t.amount_cents, t.type, t.description, t.date
+           FROM candidates c
+           JOIN transactions t ON t.id = c.id
+           ORDER BY c.kind, c.distance, t.date DESC, t.id DESC
+           LIMIT :limit OFFSET :offset
+           """;
+
+    /**
+     * Searches a budget's transactions by description (see {@link #SEARCH_SQL}).
      *
-     * @param budgetId the ID of the budget
-     * @return list of {@link Transaction} records belonging to the budget
+     * @param budgetId   the ID of the budget
+     * @param query      the search text
+     * @param pattern    the search text as a case-insensitive substring pattern, LIKE wildcards escaped
+     * @param candidates the number of best matches of each kind that are ranked
+     * @param offset     the number of ranked matches to skip
+     * @param limit      the maximum number of matches
+     * @return a list of Object arrays: [id, amountCents, type, description, date], best match first
      */
-    List<Transaction> findByBudgetId(Long budgetId);
+    @Query(value = SEARCH_SQL, nativeQuery = true)
+    List<Object[]> searchByDescription(@Param("budgetId") Long budgetId,
+                                       @Param("query") String query,
+                                       @Param("pattern") String pattern,
+                                       @Param("candidates") int candidates,
+                                       @Param("offset") int offset,
+                                       @Param("limit") int limit);
 
     /**
-     * Calculates the total amount spent/earned grouped by category for a given budget and transaction type.
+     * Rows the database sends per round trip while a budget's transactions are streamed.
+     */
+    int STREAM_FETCH_SIZE = 1000;
+
+    /**
+     * Streams all transactions of a budget in (date, id) order through a forward-only cursor,
+     * {@value #STREAM_FETCH_SIZE} rows per round trip, instead of reading them into a list.
+     * <p>
+     * Must be consumed and closed inside a transaction (Postgres only honours the fetch size
+     * with auto-commit off). Every row read stays in the persistence context until the
+     * caller detaches it.
      *
      * @param budgetId the ID of the budget
-     * @param type     the transaction type (INCOME or EXPENSE)
-     * @return a list of Object arrays, where each entry is [category, totalAmount]
+     * @return the transactions, ordered by date, then ID
      */
-    @Query("""
-           SELECT t.category, SUM(t.amount) 
-           FROM Transaction t 
-           WHERE t.budget.id = :budgetId AND t.type = :type 
-           GROUP BY t.category
-           """)
-    List<Object[]> sumByCategory(@Param("budgetId") Long budgetId, @Param("type") Transaction.Type type);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query("SELECT t FROM Transaction t WHERE t.budget.id = :budgetId ORDER BY t.date, t.id")
+    Stream<Transaction> streamByBudgetId(@Param("budgetId") Long budgetId);
 
     /**
-     * Calculates the total transaction amount per month, grouped by year and month.
+     * Retrieves a transaction only if its budget is owned by the given user, in a single query,
+     * and locks its row ({@code SELECT ... FOR UPDATE}) until the calling transaction ends.
+     * The budget is fetched in the same query (it is joined for the check anyway), so its
+     * owner's ID is available without loading the owner.
+     * <p>
+     * Updates and deletes compute their ledger and rollup deltas from the row read here; the lock
+     * makes a concurrent writer of the same transaction wait and then read the committed values
+     * (or find the row gone), so no delta is computed from a stale copy.
      *
-     * @param budgetId the ID of the budget
-     * @param type     the transaction type (INCOME or EXPENSE)
-     * @return a list of Object arrays: [year, month, totalAmount]
+     * @param id       the transaction ID
+     * @param username the username of the expected owner
+     * @return the transaction, or empty if it does not exist or belongs to someone else
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = "budget")
+    Optional<Transaction> findForUpdateByIdAndBudgetOwnerUsername(Long id, String username);
+
+    /**
+     * Totals per time bucket for a budget and type over an inclusive date range, with a row
+     * for every bucket of the range (0 where there are no transactions).
+     * <p>
+     * The transactions are aggregated per {@code date_trunc} bucket using
+     * {@code idx_transactions_budget_type_date}, then joined onto a {@code generate_series}
+     * of all bucket starts, so gaps are filled in the database.
+     *
+     * @param budgetId  the ID of the budget
+     * @param type      the transaction type name (INCOME or EXPENSE)
+     * @param from      the first day of the range
+     * @param to        the last day of the range
+     * @param truncUnit the {@code date_trunc} field of the buckets (day, week, month, quarter, year)
+     * @param interval  the bucket width as an interval literal (e.g. '1 day', '3 months')
+     * @return a list of Object arrays: [bucketStart (date), totalCents], in chronological order
+     */
+    @Query(value = """
+           WITH totals AS (
+               SELECT date_trunc(:truncUnit, CAST(t.date AS timestamp)) AS bucket, SUM(t.amount_cents) AS total
+               FROM transactions t
+               WHERE t.budget_id = :budgetId AND t.type = :type AND t.date BETWEEN :from AND :to
+               GROUP BY 1
+           )
+           SELECT CAST(s.bucket AS date), COALESCE(totals.total, 0)
+           FROM generate_series(date_trunc(:truncUnit, CAST(:from AS timestamp)),
+                                date_trunc(:truncUnit, CAST(:to AS timestamp)),
+                                CAST(:interval AS interval)) AS s(bucket)
+           LEFT JOIN totals ON totals.bucket = s.bucket
+           ORDER BY s.bucket
+           """, nativeQuery = true)
+    List<Object[]> sumBySeries(@Param("budgetId") Long budgetId,
+                               @Param("type") String type,
+                               @Param("from") LocalDate from,
+                               @Param("to") LocalDate to,
+                               @Param("truncUnit") String truncUnit,
+                               @Param("interval") String interval);
+
+    /**
+     * Deletes every transaction in budgets owned by the given user in a single statement.
+     *
+     * @param ownerId the ID of the user whose transactions are deleted
+     * @return the number of deleted transactions
      */
-    @Query("""
-           SELECT EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date), SUM(t.amount) 
-           FROM Transaction t 
-           WHERE t.budget.id = :budgetId AND t.type = :type 
-           GROUP BY EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date) 
-           ORDER BY EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date)
-           """)
-    List<Object[]> sumByMonth(@Param("budgetId") Long budgetId, @Param("type") Transaction.Type type);
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.budget.id IN (SELECT b.id FROM Budget b WHERE b.owner.id = :ownerId)")
+    int deleteByOwnerId(@Param("ownerId") Long ownerId);
 }
@@ -0,0 +1,192 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.model.TransactionRollup;
+import com.example.budgettracker.model.TransactionRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository for the monthly/category rollup table ({@link TransactionRollup}).
+ * <p>
+ * Writes are single atomic statements run inside the transaction that changes the
+ * underlying transaction rows. Categories are stored by ID, with {@link Category#NONE}
+ * for transactions without a category.
+ */
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, TransactionRollupId> {
+
+    /**
+     * Adds to a bucket's total and count, creating the bucket if needed.
+     *
+     * @param budgetId    the budget ID
+     * @param year        the year of the transaction date
+     * @param month       the month of the transaction date (1-12)
+     * @param type        the transaction type name (INCOME or EXPENSE)
+     * @param categoryId  the category ID, or {@link Category#NONE}
+     * @param amountDelta cents to add (negative to remove)
+     * @param countDelta  number of transactions to add (negative to remove)
+     * @return the number of affected rows (always 1)
+     */
+    @Modifying
+    @Query(value = """
+           INSERT INTO transaction_rollups (budget_id, period_year, period_month, type, category_id, total_cents, tx_count)
+           VALUES (:budgetId, :year, :month, :type, :categoryId, :amountDelta, :countDelta)
+           ON CONFLICT (budget_id, period_year, period_month, type, category_id) DO UPDATE SET
+               total_cents = transaction_rollups.total_cents + EXCLUDED.total_cents,
+               tx_count = transaction_rollups.tx_count + EXCLUDED.tx_count
+           """, nativeQuery = true)
+    int applyDelta(@Param("budgetId") Long budgetId,
+                   @Param("year") int year,
+                   @Param("month") int month,
+                   @Param("type") String type,
+                   @Param("categoryId") int categoryId,
+                   @Param("amountDelta") long amountDelta,
+                   @Param("countDelta") long countDelta);
+
+    /**
+     * Removes a bucket once its last transaction has moved out or been deleted.
+     *
+     * @return the number of deleted rows (0 or 1)
+     */
+    @Modifying
+    @Query(value = """
+           DELETE FROM transaction_rollups
+           WHERE budget_id = :budgetId AND period_year = :year AND period_month = :month
+             AND type = :type AND category_id = :categoryId AND tx_count <= 0
+           """, nativeQuery = true)
+    int deleteIfEmpty(@Param("budgetId") Long budgetId,
+                      @Param("year") int year,
+                      @Param("month") int month,
+                      @Param("type") String type,
+                      @Param("categoryId") int categoryId);
+
+    /**
+     * Deletes all buckets of a budget.
+     *
+     * @param budgetId the budget ID
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Query(value = "DELETE FROM transaction_rollups WHERE budget_id = :budgetId", nativeQuery = true)
+    int deleteByBudgetId(@Param("budgetId") Long budgetId);
+
+    /**
+     * Recomputes all buckets of a budget from its transactions.
+     * Run after {@link #deleteByBudgetId(Long)} in the same transaction.
+     *
+     * @param budgetId the budget ID
+     * @return the number of buckets created
+     */
+    @Modifying
+    @Query(value = """
+           INSERT INTO transaction_rollups (budget_id, period_year, period_month, type, category_id, total_cents, tx_count)
+           SELECT t.budget_id,
+                  EXTRACT(YEAR FROM t.date)::int,
+                  EXTRACT(MONTH FROM t.date)::int,
+                  t.type,
+                  COALESCE(t.category_id, 0),
+                  SUM(t.amount_cents),
+                  COUNT(*)
+           FROM transactions t
+           WHERE t.budget_id = :budgetId
+           GROUP BY t.budget_id, EXTRACT(YEAR FROM t.date), EXTRACT(MONTH FROM t.date), t.type, COALESCE(t.category_id, 0)
+           """, nativeQuery = true)
+    int populateFromTransactions(@Param("budgetId") Long budgetId);
+
+    /**
+     * Retrieves the IDs of budgets that have transactions but no rollup rows yet.
+     *
+     * @return budget IDs whose rollups need to be built
+     */
+    @Query(value = """
+           SELECT b.id FROM budgets b
+           WHERE EXISTS (SELECT 1 FROM transactions t WHERE t.budget_id = b.id)
+             AND NOT EXISTS (SELECT 1 FROM transaction_rollups r WHERE r.budget_id = b.id)
+           """, nativeQuery = true)
+    List<Long> findBudgetIdsMissingRollups();
+
+    /**
+     * Totals per category for a budget and type, read from the rollups.
+     *
+     * @param budgetId the budget ID
+     * @param type     the transaction type
+     * @return a list of Object arrays: [categoryId ({@link Category#NONE} for none), totalCents]
+     */
+    @Query("""
+           SELECT r.id.categoryId, SUM(r.totalCents)
+           FROM TransactionRollup r
+           WHERE r.id.budgetId = :budgetId AND r.id.type = :type
+           GROUP BY r.id.categoryId
+           """)
+    List<Object[]> sumByCategory(@Param("budgetId") Long budgetId, @Param("type") Transaction.Type type);
+
+    /**
+     * Totals per month for a budget and type within an inclusive month range, read from the rollups.
+     * <p>
+     * The filter and ordering match {@code idx_rollups_budget_type_month}, so Postgres reads only
+     * the requested months and aggregates them in index order without a sort.
+     */
+    String SUM_BY_MONTH_SQL = """
+           SELECT r.period_year, r.period_month, SUM(r.total_cents)
+           FROM transaction_rollups r
+           WHERE r.budget_id = :budgetId AND r.type = :type
+             AND (r.period_year, r.period_month) >= (:fromYear, :fromMonth)
+             AND (r.period_year, r.period_month) <= (:toYear, :toMonth)
+           GROUP BY r.period_year, r.period_month
+           ORDER BY r.period_year, r.period_month
+           """;
+
+    /**
+     * Totals per month for a budget and type within an inclusive month range, read from the rollups.
+     *
+     * @param budgetId  the budget ID
+     * @param type      the transaction type name (INCOME or EXPENSE)
+     * @param fromYear  year of the first month
+     * @param fromMonth first month (1-12)
+     * @param toYear    year of the last month
+     * @param toMonth   last month (1-12)
+     * @return a list of Object arrays: [year, month, totalCents], in chronological order
+     */
+    @Query(value = SUM_BY_MONTH_SQL, nativeQuery = true)
+    List<Object[]> sumByMonth(@Param("budgetId") Long budgetId,
+                              @Param("type") String type,
+                              @Param("fromYear") int fromYear,
+                              @Param("fromMonth") int fromMonth,
+                              @Param("toYear") int toYear,
+                              @Param("toMonth") int toMonth);
+
+    /** {@link #pivot} row kind (GROUPING bits of category_id, year, month): a category total. */
+    int PIVOT_BY_CATEGORY = 0b011;
+
+    /** {@link #pivot} row kind: a monthly total. */
+    int PIVOT_BY_MONTH = 0b100;
+
+    /** {@link #pivot} row kind: the grand total of a type. */
+    int PIVOT_TOTAL = 0b111;
+
+    /**
+     * Category totals, monthly totals and grand totals of both types of a budget, in one
+     * {@code GROUPING SETS} aggregate over the budget's rollups.
+     * <p>
+     * The last column is {@code GROUPING(category_id, period_year, period_month)} and tells the row
+     * kinds apart: {@link #PIVOT_BY_CATEGORY}, {@link #PIVOT_BY_MONTH} or {@link #PIVOT_TOTAL}.
+     *
+     * @param budgetId the budget ID
+     * @return a list of Object arrays: [type, categoryId, year, month, totalCents, grouping],
+     *         ordered by type, then month, then category
+     */
+    @Query(value = """
+           SELECT r.type, r.category_id, r.period_year, r.period_month, SUM(r.total_cents),
+                  GROUPING(r.category_id, r.period_year, r.period_month)
+           FROM transaction_rollups r
+           WHERE r.budget_id = :budgetId
+           GROUP BY GROUPING SETS ((r.type, r.category_id), (r.type, r.period_year, r.period_month), (r.type))
+           ORDER BY r.type, r.period_year, r.period_month, r.category_id
+           """, nativeQuery = true)
+    List<Object[]> pivot(@Param("budgetId") Long budgetId);
+}
@@ -0,0 +1,32 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.dto.request.TransactionCursor;
+import com.example.budgettracker.dto.request.TransactionFilter;
+import com.example.budgettracker.dto.response.TransactionResponse;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Filtered transaction queries built at runtime, mixed into {@link TransactionRepository}.
+ */
+public interface TransactionSearchRepository {
+
+    /**
+     * Retrieves one keyset page of a budget's transactions matching a filter, as response DTOs,
+     * in the filter's (date, id) order. Runs as a single query; see
+     * {@code V7__transaction_filter_indexes.sql} for the indexes behind each filter.
+     *
+     * @param budgetId    the ID of the budget
+     * @param filter      the conditions and order
+     * @param categoryIds the IDs of {@link TransactionFilter#categories()}, or null to not filter on category
+     * @param after       the last transaction of the previous page (in the same order), or null for the first page
+     * @param limit       the maximum number of transactions
+     * @return up to {@code limit} matching transactions
+     */
+    List<TransactionResponse> findPage(Long budgetId,
+                                       TransactionFilter filter,
+                                       Collection<Integer> categoryIds,
+                                       TransactionCursor after,
+                                       int limit);
+}
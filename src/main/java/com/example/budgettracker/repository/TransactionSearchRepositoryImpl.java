@@ -0,0 +1,87 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.dto.request.TransactionCursor;
+import com.example.budgettracker.dto.request.TransactionFilter;
+import com.example.budgettracker.dto.response.TransactionResponse;
+import com.example.budgettracker.model.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Criteria implementation of {@link TransactionSearchRepository}: only the conditions that are
+ * set become predicates, so each filter shape is a plain query its index can serve.
+ */
+public class TransactionSearchRepositoryImpl implements TransactionSearchRepository {
+
+    private final EntityManager entityManager;
+
+    public TransactionSearchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<TransactionResponse> findPage(Long budgetId,
+                                              TransactionFilter filter,
+                                              Collection<Integer> categoryIds,
+                                              TransactionCursor after,
+                                              int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionResponse> query = cb.createQuery(TransactionResponse.class);
+        Root<Transaction> t = query.from(Transaction.class);
+        Path<Long> id = t.get("id");
+        Path<LocalDate> date = t.get("date");
+        Path<Long> amountCents = t.get("amountCents");
+        boolean ascending = filter.direction().isAscending();
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(t.get("budget").get("id"), budgetId));
+        if (filter.from() != null) {
+            where.add(cb.greaterThanOrEqualTo(date, filter.from()));
+        }
+        if (filter.to() != null) {
+            where.add(cb.lessThanOrEqualTo(date, filter.to()));
+        }
+        if (filter.type() != null) {
+            where.add(cb.equal(t.get("type"), filter.type()));
+        }
+        if (categoryIds != null) {
+            where.add(t.get("categoryId").in(categoryIds));
+        }
+        if (filter.minAmountCents() != null) {
+            where.add(cb.greaterThanOrEqualTo(amountCents, filter.minAmountCents()));
+        }
+        if (filter.maxAmountCents() != null) {
+            where.add(cb.lessThanOrEqualTo(amountCents, filter.maxAmountCents()));
+        }
+        if (after != null) {
+            // (date, id) beyond the cursor, written so the date bound is an index condition
+            // and only the rows sharing the cursor's date are filtered on id
+            if (ascending) {
+                where.add(cb.greaterThanOrEqualTo(date, after.date()));
+                where.add(cb.or(cb.greaterThan(date, after.date()), cb.greaterThan(id, after.id())));
+            } else {
+                where.add(cb.lessThanOrEqualTo(date, after.date()));
+                where.add(cb.or(cb.lessThan(date, after.date()), cb.lessThan(id, after.id())));
+            }
+        }
+
+        query.select(cb.construct(TransactionResponse.class, id, amountCents, t.get("type"), t.get("description"), date))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(ascending
+                        ? List.of(cb.asc(date), cb.asc(id))
+                        : List.of(cb.desc(date), cb.desc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
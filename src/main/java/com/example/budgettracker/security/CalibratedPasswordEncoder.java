@@ -0,0 +1,95 @@
+package com.example.budgettracker.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt password encoder whose cost factor is chosen at startup to hit a target hashing time.
+ * <p>
+ * Each cost step doubles the work, so one measurement at the minimum cost is enough to
+ * estimate the highest cost that stays within the target on this machine. Hashes stored
+ * with any other cost still verify; {@link #upgradeEncoding(String)} reports those with a
+ * lower cost so Spring Security rehashes the password on the next successful login. Hashes
+ * with a higher cost are kept, so a slower calibration on one machine is never undone.
+ */
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(CalibratedPasswordEncoder.class);
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private final int strength;
+    private final BCryptPasswordEncoder delegate;
+
+    /**
+     * Creates an encoder with a fixed cost, without calibration.
+     *
+     * @param strength the BCrypt cost factor (4-31)
+     */
+    public CalibratedPasswordEncoder(int strength) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Creates an encoder calibrated toward the given hashing time.
+     *
+     * @param targetMs    desired time for one hash, in milliseconds
+     * @param minStrength lowest cost that may be chosen
+     * @param maxStrength highest cost that may be chosen
+     * @return the calibrated encoder
+     */
+    public static CalibratedPasswordEncoder calibrate(long targetMs, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode(CALIBRATION_PASSWORD); // warm-up
+        long start = System.nanoTime();
+        probe.encode(CALIBRATION_PASSWORD);
+        double elapsedMs = Math.max(0.001, (System.nanoTime() - start) / 1_000_000.0);
+
+        int extraSteps = (int) Math.floor(Math.log(targetMs / elapsedMs) / Math.log(2));
+        int strength = Math.min(maxStrength, Math.max(minStrength, minStrength + extraSteps));
+
+        log.info("BCrypt calibrated: cost {} took {} ms, using cost {} for a {} ms target",
+                minStrength, String.format("%.1f", elapsedMs), strength, targetMs);
+        return new CalibratedPasswordEncoder(strength);
+    }
+
+    /**
+     * @return the cost factor used for new hashes
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        // The cost is read from the stored hash, so any cost verifies
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    /**
+     * Reports hashes stored with a lower cost than the current one.
+     *
+     * @param encodedPassword the stored hash
+     * @return true if the password should be rehashed
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) < strength;
+    }
+}
@@ -1,11 +1,13 @@
 package com.example.budgettracker.security;
 
+import com.example.budgettracker.model.JwtUserDetails;
 import com.example.budgettracker.service.CustomUserDetailsService;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,16 +22,34 @@ import java.util.List;
 /**
  * Filter that processes incoming requests to validate JWT tokens.
  * If the token is valid, it sets up the Spring Security context with the authenticated user.
+ *
+ * Tokens are verified through {@link VerifiedTokenCache}, which skips signature
+ * verification for tokens seen before when {@code jwt.tokenCache.enabled} is set.
+ * When {@code jwt.statelessPrincipal} is enabled and the token carries a user id,
+ * the principal is built from the token claims and the database is not queried.
+ * Revoked tokens are rejected using the in-memory {@link TokenRevocationList}.
  */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    /**
+     * Request attribute holding the {@link VerifiedToken} of an authenticated request.
+     */
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = "com.example.budgettracker.security.VerifiedToken";
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList tokenRevocationList;
     private final CustomUserDetailsService customUserDetailsService;
+    private final boolean statelessPrincipal;
 
-    public JwtAuthFilter(JwtUtil jwtUtil, CustomUserDetailsService customUserDetailsService) {
-        this.jwtUtil = jwtUtil;
+    public JwtAuthFilter(VerifiedTokenCache verifiedTokenCache,
+                         TokenRevocationList tokenRevocationList,
+                         CustomUserDetailsService customUserDetailsService,
+                         @Value("${jwt.statelessPrincipal:false}") boolean statelessPrincipal) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationList = tokenRevocationList;
         this.customUserDetailsService = customUserDetailsService;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     /**
@@ -55,33 +75,36 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         final String authHeader = request.getHeader("Authorization");
-        String username = null;
-        String token = null;
 
         try {
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                token = authHeader.substring(7);
-                username = jwtUtil.getUsernameFromToken(token);
+                String token = authHeader.substring(7);
 
-                if (!jwtUtil.validateToken(token)) {
-                    response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid token");
+                // Verify signature and expiry once (or reuse a cached verification)
+                VerifiedToken verified = verifiedTokenCache.verify(token);
+
+                // Reject revoked tokens (in-memory check, no database access)
+                if (tokenRevocationList.isRevoked(verified)) {
+                    response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token revoked");
                     return;
                 }
 
-                // Load user details from DB
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
-
-                // Extract roles from token
-                List<String> roles = jwtUtil.getRolesFromToken(token);
-                List<SimpleGrantedAuthority> authorities = roles.stream()
+                // Take roles from the verified token
+                List<SimpleGrantedAuthority> authorities = verified.roles().stream()
                         .map(SimpleGrantedAuthority::new)
                         .toList();
 
+                // Build the principal from the claims, or load user details from DB
+                UserDetails userDetails = (statelessPrincipal && verified.userId() != null)
+                        ? new JwtUserDetails(verified.userId(), verified.username(), authorities)
+                        : customUserDetailsService.loadAuthenticatedUser(verified.username());
+
                 // Build and set authentication object
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, verified);
             }
         } catch (JwtException e) {
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid token");
@@ -2,6 +2,7 @@ package com.example.budgettracker.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
@@ -11,10 +12,14 @@ import java.util.Base64;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * Utility class for generating and validating JWT tokens.
+ * <p>
+ * The signing key and the parser are built once at startup and shared by all
+ * requests; both are immutable and safe for concurrent use.
  */
 @Component
 public class JwtUtil {
@@ -25,12 +30,19 @@ public class JwtUtil {
     @Value("${jwt.expirationMs}")
     private long jwtExpirationMs;
 
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
     /**
-     * Generates a secret key for signing JWTs using the configured base64-encoded secret.
+     * Decodes the configured base64-encoded secret and prepares the signing key and parser.
      */
-    private SecretKey getSigningKey() {
+    @PostConstruct
+    void init() {
         byte[] decodedKey = Base64.getDecoder().decode(jwtSecret);
-        return Keys.hmacShaKeyFor(decodedKey);
+        this.signingKey = Keys.hmacShaKeyFor(decodedKey);
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     /**
@@ -41,19 +53,53 @@ public class JwtUtil {
      * @return signed JWT token as a string
      */
     public String generateToken(String username, Collection<? extends GrantedAuthority> authorities) {
+        return generateToken(null, username, authorities);
+    }
+
+    /**
+     * Generates a signed JWT token that also carries the user's database id,
+     * so the principal can be rebuilt from the token without a user lookup.
+     *
+     * @param userId      the user's id, or null to omit the "uid" claim
+     * @param username    the username to embed in the token
+     * @param authorities granted authorities (roles) of the user
+     * @return signed JWT token as a string
+     */
+    public String generateToken(Long userId, String username, Collection<? extends GrantedAuthority> authorities) {
         List<String> roles = authorities.stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList());
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(username)
+                .claim("uid", userId)
                 .claim("roles", roles)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry of a JWT token and returns its claims.
+     * This is the single parse used per authenticated request.
+     *
+     * @param token JWT token
+     * @return the verified token id, user id, username, roles and expiry
+     * @throws JwtException if the token is malformed, expired or has an invalid signature
+     */
+    public VerifiedToken parseToken(String token) {
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        return new VerifiedToken(
+                claims.getId(),
+                claims.get("uid", Long.class),
+                claims.getSubject(),
+                extractRoles(claims),
+                claims.getExpiration().toInstant()
+        );
+    }
+
     /**
      * Extracts the username (subject) from a valid JWT token.
      *
@@ -61,12 +107,7 @@ public class JwtUtil {
      * @return username embedded in the token
      */
     public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return parseToken(token).username();
     }
 
     /**
@@ -76,12 +117,7 @@ public class JwtUtil {
      * @return list of roles as strings
      */
     public List<String> getRolesFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("roles", List.class);
+        return parseToken(token).roles();
     }
 
     /**
@@ -92,13 +128,23 @@ public class JwtUtil {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            parseToken(token);
             return true;
         } catch (JwtException e) {
             return false;
         }
     }
+
+    /**
+     * Reads the "roles" claim as a list of strings, tolerating a missing claim.
+     */
+    private static List<String> extractRoles(Claims claims) {
+        List<?> roles = claims.get("roles", List.class);
+        if (roles == null) {
+            return List.of();
+        }
+        return roles.stream()
+                .map(String::valueOf)
+                .toList();
+    }
 }
@@ -0,0 +1,41 @@
+package com.example.budgettracker.security;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+
+/**
+ * A rate limit of {@code capacity} requests per {@code period}, e.g. {@code 10/1m}.
+ *
+ * @param capacity burst size and number of requests allowed per period
+ * @param period   time to refill the full capacity
+ */
+record RateLimit(long capacity, Duration period) {
+
+    /**
+     * Parses a limit written as {@code <capacity>/<duration>}, e.g. {@code 20/1m} or {@code 5/30s}.
+     *
+     * @param spec the limit, or blank / {@code 0} to disable it
+     * @return the limit, or null when disabled
+     * @throws IllegalArgumentException if the spec is malformed
+     */
+    static RateLimit parse(String spec) {
+        if (spec == null || spec.isBlank() || spec.trim().equals("0")) {
+            return null;
+        }
+        String[] parts = spec.trim().split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Rate limit must look like <capacity>/<duration>: " + spec);
+        }
+        long capacity = Long.parseLong(parts[0].trim());
+        Duration period = DurationStyle.detectAndParse(parts[1].trim());
+        if (capacity <= 0 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Rate limit capacity and period must be positive: " + spec);
+        }
+        return new RateLimit(capacity, period);
+    }
+
+    double tokensPerNano() {
+        return (double) capacity / period.toNanos();
+    }
+}
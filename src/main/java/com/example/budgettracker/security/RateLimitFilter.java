@@ -0,0 +1,286 @@
+package com.example.budgettracker.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process token-bucket rate limiter for the credential endpoints ({@code POST /api/login}
+ * and {@code POST /api/register}), which are the most expensive because of BCrypt.
+ * <p>
+ * Each endpoint has its own limits per client IP and per username. The per-IP limit is checked
+ * first, before the body is read; the username is then read from the JSON body, which is replayed
+ * to the controller. At most {@value #MAX_INSPECTED_BODY_BYTES} bytes are read; longer bodies,
+ * declared or chunked, are rejected with 413, so padding the body can neither skip the
+ * per-username limit nor make the filter buffer more than that. Buckets are lock-free ({@link TokenBucket}) and
+ * live in a bounded Caffeine cache, so idle keys are evicted after {@code rateLimit.idleExpiry}
+ * and memory stays bounded at {@code rateLimit.maxKeys} keys per endpoint.
+ * <p>
+ * Limits are written as {@code <capacity>/<duration>} (e.g. {@code 10/1m}); blank or {@code 0}
+ * disables that limit. Rejected requests get 429 with {@code Retry-After} and are counted in the
+ * {@code ratelimit.rejected} metric, tagged by endpoint and key type ({@code ip} or {@code user}).
+ * The client IP is {@code request.getRemoteAddr()}; behind a proxy, enable
+ * {@code server.forward-headers-strategy} so it reflects the real client.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Largest body read for its username; credential requests are well under 1 KB.
+     */
+    static final int MAX_INSPECTED_BODY_BYTES = 4096;
+
+    private final boolean enabled;
+    private final ObjectMapper objectMapper;
+    private final Map<String, EndpointLimiter> limiters;
+
+    public RateLimitFilter(ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${rateLimit.enabled:true}") boolean enabled,
+                           @Value("${rateLimit.maxKeys:100000}") long maxKeys,
+                           @Value("${rateLimit.idleExpiry:10m}") Duration idleExpiry,
+                           @Value("${rateLimit.login.perIp:20/1m}") String loginPerIp,
+                           @Value("${rateLimit.login.perUser:5/1m}") String loginPerUser,
+                           @Value("${rateLimit.register.perIp:5/1m}") String registerPerIp,
+                           @Value("${rateLimit.register.perUser:3/1m}") String registerPerUser) {
+        this.enabled = enabled;
+        this.objectMapper = objectMapper;
+        this.limiters = Map.of(
+                "/api/login", new EndpointLimiter("login", RateLimit.parse(loginPerIp),
+                        RateLimit.parse(loginPerUser), maxKeys, idleExpiry, meterRegistry),
+                "/api/register", new EndpointLimiter("register", RateLimit.parse(registerPerIp),
+                        RateLimit.parse(registerPerUser), maxKeys, idleExpiry, meterRegistry));
+    }
+
+    /**
+     * Applies the endpoint's per-IP and per-username limits, rejecting with 429 when exceeded,
+     * or with 413 when the body is too long to inspect.
+     *
+     * @param request     incoming HTTP request
+     * @param response    HTTP response
+     * @param filterChain chain of filters to continue the request
+     * @throws ServletException in case of servlet errors
+     * @throws IOException      in case of I/O errors
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        EndpointLimiter limiter = limiters.get(request.getRequestURI());
+        long now = System.nanoTime();
+
+        long waitNanos = limiter.tryAcquireIp(request.getRemoteAddr(), now);
+        if (waitNanos > 0) {
+            reject(response, waitNanos);
+            return;
+        }
+
+        if (request.getContentLengthLong() > MAX_INSPECTED_BODY_BYTES) {
+            rejectTooLarge(response);
+            return;
+        }
+        // One byte more than the cap tells a body at the cap from a longer chunked one
+        byte[] body = request.getInputStream().readNBytes(MAX_INSPECTED_BODY_BYTES + 1);
+        if (body.length > MAX_INSPECTED_BODY_BYTES) {
+            rejectTooLarge(response);
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request, body);
+        waitNanos = limiter.tryAcquireUser(usernameFrom(cachedRequest.body), now);
+        if (waitNanos > 0) {
+            reject(response, waitNanos);
+            return;
+        }
+
+        filterChain.doFilter(cachedRequest, response);
+    }
+
+    /**
+     * Only POSTs to the rate-limited endpoints are filtered.
+     *
+     * @param request incoming request
+     * @return true if the filter should be skipped
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || !"POST".equalsIgnoreCase(request.getMethod())
+                || !limiters.containsKey(request.getRequestURI());
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many requests, please retry later\"}");
+    }
+
+    private static void rejectTooLarge(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Request body too large\"}");
+    }
+
+    /**
+     * Reads the "username" field of a JSON body, or null if absent or unparsable.
+     */
+    private String usernameFrom(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            return (username != null && username.isTextual()) ? username.asText() : null;
+        } catch (IOException e) {
+            return null; // Malformed body: still limited per IP, the controller rejects it
+        }
+    }
+
+    /**
+     * Buckets, limits and rejection counters of one endpoint.
+     */
+    private static final class EndpointLimiter {
+
+        private final RateLimit perIp;
+        private final RateLimit perUser;
+        private final Cache<String, TokenBucket> buckets;
+        private final Counter ipRejections;
+        private final Counter userRejections;
+
+        EndpointLimiter(String endpoint, RateLimit perIp, RateLimit perUser,
+                        long maxKeys, Duration idleExpiry, MeterRegistry meterRegistry) {
+            this.perIp = perIp;
+            this.perUser = perUser;
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(idleExpiry)
+                    .build();
+            this.ipRejections = rejections(meterRegistry, endpoint, "ip");
+            this.userRejections = rejections(meterRegistry, endpoint, "user");
+        }
+
+        /**
+         * @return 0 if the request may proceed, otherwise the nanoseconds to wait
+         */
+        long tryAcquireIp(String ip, long now) {
+            return tryAcquire(perIp, "ip:" + ip, ipRejections, now);
+        }
+
+        /**
+         * @return 0 if the request may proceed (always when the username is null),
+         * otherwise the nanoseconds to wait
+         */
+        long tryAcquireUser(String username, long now) {
+            return username == null ? 0 : tryAcquire(perUser, "user:" + username, userRejections, now);
+        }
+
+        private long tryAcquire(RateLimit limit, String key, Counter rejections, long now) {
+            if (limit == null) {
+                return 0;
+            }
+            long wait = buckets.get(key, k -> new TokenBucket(limit, now)).tryConsume(now);
+            if (wait > 0) {
+                rejections.increment();
+            }
+            return wait;
+        }
+
+        private static Counter rejections(MeterRegistry meterRegistry, String endpoint, String key) {
+            return Counter.builder("ratelimit.rejected")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("endpoint", endpoint)
+                    .tag("key", key)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Request wrapper that replays a body already read for inspection.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The body is already in memory, so it is available (and complete) at once.
+                 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
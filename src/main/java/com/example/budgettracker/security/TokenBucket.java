@@ -0,0 +1,43 @@
+package com.example.budgettracker.security;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket.
+ * <p>
+ * The bucket holds up to {@code capacity} tokens and refills continuously at
+ * {@code capacity / period}. Each call to {@link #tryConsume(long)} atomically refills and takes
+ * one token with a CAS loop, so concurrent requests never block each other.
+ */
+final class TokenBucket {
+
+    private final RateLimit limit;
+    private final AtomicReference<State> state;
+
+    TokenBucket(RateLimit limit, long nowNanos) {
+        this.limit = limit;
+        this.state = new AtomicReference<>(new State(limit.capacity(), nowNanos));
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return 0 if a token was taken, otherwise the nanoseconds until one becomes available
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double tokens = Math.min(limit.capacity(),
+                    current.tokens() + (nowNanos - current.updatedAt()) * limit.tokensPerNano());
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / limit.tokensPerNano());
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, nowNanos))) {
+                return 0;
+            }
+        }
+    }
+
+    private record State(double tokens, long updatedAt) {}
+}
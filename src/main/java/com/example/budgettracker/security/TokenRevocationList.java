@@ -0,0 +1,133 @@
+package com.example.budgettracker.security;
+
+import com.example.budgettracker.model.RevokedToken;
+import com.example.budgettracker.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of the JWT denylist, checked by {@link JwtAuthFilter} on every request.
+ * <p>
+ * Revocations are persisted in {@code revoked_tokens} so they survive restarts and are
+ * shared between instances. Requests never touch the database: a {@link BloomFilter}
+ * answers "definitely not revoked" for almost every token, and only possible matches are
+ * confirmed against an exact map of {@code jti -> expiry}.
+ * <p>
+ * Every {@code jwt.revocation.refreshIntervalMs} the filter and map are rebuilt from the
+ * database (picking up revocations made on other instances) and entries whose token has
+ * expired are pruned from both memory and the table. Tokens issued without a {@code jti}
+ * cannot be revoked and expire normally.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile State state;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository,
+                               @Value("${jwt.revocation.expectedRevocations:10000}") long expectedRevocations,
+                               @Value("${jwt.revocation.falsePositiveRate:0.01}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.state = new State(new BloomFilter(expectedRevocations, falsePositiveRate), new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Loads the persisted denylist at startup.
+     */
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    /**
+     * Checks whether a token has been revoked. Never performs I/O.
+     *
+     * @param token the verified token
+     * @return true if the token's {@code jti} is on the denylist
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        String jti = token.tokenId();
+        if (jti == null) {
+            return false;
+        }
+        State current = state;
+        return current.bloom().mightContain(jti) && current.revoked().containsKey(jti);
+    }
+
+    /**
+     * Revokes a token until its expiry. The revocation is persisted first, then applied locally.
+     *
+     * @param token the verified token to revoke
+     * @throws IllegalArgumentException if the token has no {@code jti}
+     */
+    public void revoke(VerifiedToken token) {
+        if (token.tokenId() == null) {
+            throw new IllegalArgumentException("Token has no id and cannot be revoked");
+        }
+        revokedTokenRepository.save(new RevokedToken(token.tokenId(), token.expiresAt()));
+        state.add(token.tokenId(), token.expiresAt());
+    }
+
+    /**
+     * Prunes expired revocations and rebuilds the in-memory filter from the database.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.refreshIntervalMs:60000}",
+            initialDelayString = "${jwt.revocation.refreshIntervalMs:60000}")
+    public void refresh() {
+        Instant now = Instant.now();
+        int pruned = revokedTokenRepository.deleteExpired(now);
+
+        Map<String, Instant> persisted = new ConcurrentHashMap<>();
+        for (RevokedToken revoked : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            persisted.put(revoked.getJti(), revoked.getExpiresAt());
+        }
+
+        State previous = state;
+        State rebuilt = new State(
+                new BloomFilter(Math.max(expectedRevocations, 2L * persisted.size()), falsePositiveRate),
+                new ConcurrentHashMap<>());
+        persisted.forEach(rebuilt::add);
+        // Keep local revocations whose row was not yet visible when the table was read
+        previous.copyUnexpiredTo(rebuilt, now);
+        state = rebuilt;
+        // ...and any that landed on the old state while it was being replaced
+        previous.copyUnexpiredTo(rebuilt, now);
+
+        log.debug("Token denylist rebuilt: {} active, {} pruned", rebuilt.revoked().size(), pruned);
+    }
+
+    /**
+     * Bloom filter and exact set, swapped together on rebuild.
+     */
+    private record State(BloomFilter bloom, Map<String, Instant> revoked) {
+
+        void add(String jti, Instant expiresAt) {
+            // Exact entry first, so a concurrent reader that passes the filter always finds it
+            revoked.put(jti, expiresAt);
+            bloom.put(jti);
+        }
+
+        void copyUnexpiredTo(State target, Instant now) {
+            revoked.forEach((jti, expiresAt) -> {
+                if (expiresAt.isAfter(now)) {
+                    target.add(jti, expiresAt);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.budgettracker.security;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Claims of a JWT whose signature and expiry have already been checked.
+ *
+ * @param tokenId   the token's unique id ("jti"), or null for tokens issued without one
+ * @param userId    the user's database id, or null for tokens issued without a "uid" claim
+ * @param username  the token subject
+ * @param roles     granted authorities carried in the "roles" claim
+ * @param expiresAt the instant after which the token is no longer accepted
+ */
+public record VerifiedToken(
+        String tokenId,
+        Long userId,
+        String username,
+        List<String> roles,
+        Instant expiresAt
+) {}
@@ -0,0 +1,139 @@
+package com.example.budgettracker.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of already-verified JWTs, consulted by {@link JwtAuthFilter}.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token (the raw token is never stored)
+ * and hold the parsed claims. Each entry expires at the token's own {@code exp}, so a
+ * cached token is never accepted for longer than the token itself allows.
+ * <p>
+ * Lookups are lock-free; two concurrent misses for the same token simply both verify it
+ * instead of waiting on each other. Invalid tokens are never cached.
+ * <p>
+ * Metrics published through Actuator:
+ * <ul>
+ *   <li>{@code cache.gets{cache=jwtTokens}} - hits and misses</li>
+ *   <li>{@code jwt.verification} - time spent on actual signature verification</li>
+ *   <li>{@code jwt.verification.saved} - estimated verification time avoided by cache hits
+ *       (hits x mean verification time)</li>
+ * </ul>
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final String CACHE_NAME = "jwtTokens";
+
+    private final JwtUtil jwtUtil;
+    private final boolean enabled;
+    private final Cache<String, VerifiedToken> cache;
+    private final Timer verificationTimer;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              MeterRegistry meterRegistry,
+                              @Value("${jwt.tokenCache.enabled:false}") boolean enabled,
+                              @Value("${jwt.tokenCache.maximumSize:10000}") long maximumSize) {
+        this.jwtUtil = jwtUtil;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .recordStats()
+                .build();
+        this.verificationTimer = Timer.builder("jwt.verification")
+                .description("Time spent verifying JWT signatures")
+                .register(meterRegistry);
+
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+            FunctionCounter.builder("jwt.verification.saved", this, VerifiedTokenCache::estimatedSecondsSaved)
+                    .description("Estimated JWT verification time avoided by cache hits")
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Returns the verified claims of a token, from the cache when possible.
+     *
+     * @param token the raw bearer token
+     * @return the verified claims
+     * @throws io.jsonwebtoken.JwtException if the token is not valid
+     */
+    public VerifiedToken verify(String token) {
+        if (!enabled) {
+            return verifyAndTime(token);
+        }
+
+        String key = digest(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+
+        VerifiedToken verified = verifyAndTime(token);
+        cache.put(key, verified);
+        return verified;
+    }
+
+    private VerifiedToken verifyAndTime(String token) {
+        long start = System.nanoTime();
+        try {
+            return jwtUtil.parseToken(token);
+        } finally {
+            verificationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private double estimatedSecondsSaved() {
+        return cache.stats().hitCount() * verificationTimer.mean(TimeUnit.SECONDS);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Expires every entry at the {@code exp} of the token it holds.
+     */
+    private static final class ExpireAtTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long millisLeft = value.expiresAt().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
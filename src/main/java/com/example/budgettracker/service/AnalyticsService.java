@@ -1,28 +1,66 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.request.Granularity;
+import com.example.budgettracker.dto.response.AnalyticsPivotResponse;
 import com.example.budgettracker.dto.response.CategorySummary;
 import com.example.budgettracker.dto.response.MonthlySummary;
+import com.example.budgettracker.dto.response.TimeSeriesResponse;
+import com.example.budgettracker.model.Money;
 import com.example.budgettracker.model.Transaction;
 import com.example.budgettracker.repository.BudgetRepository;
 import com.example.budgettracker.repository.TransactionRepository;
+import com.example.budgettracker.repository.TransactionRollupRepository;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Service for providing analytical summaries over transactions.
  * Includes methods for aggregating transaction amounts by category and by month.
+ *
+ * Totals are read from the pre-aggregated {@code transaction_rollups} table (maintained by
+ * {@link TransactionRollupService}), so the cost depends on the number of months and
+ * categories, not on the number of transactions. Totals are grouped by category ID and the
+ * names resolved through {@link CategoryDictionary}.
+ *
+ * When {@link ColumnarAnalyticsEngine} holds a budget's transactions in memory, its analytics
+ * are computed from those columns instead and no query beyond the ownership check is made.
  */
 @Service
 public class AnalyticsService {
 
+    /** Bounds used when a month range is open on one side. */
+    private static final YearMonth FIRST_MONTH = YearMonth.of(0, 1);
+    private static final YearMonth LAST_MONTH = YearMonth.of(9999, 12);
+
+    /** Upper bound on the number of buckets of one time series (about 27 years of days). */
+    public static final long MAX_SERIES_BUCKETS = 10_000;
+
+    private final TransactionRollupRepository transactionRollupRepository;
     private final TransactionRepository transactionRepository;
     private final BudgetRepository budgetRepository;
+    private final ColumnarAnalyticsEngine columnarAnalyticsEngine;
+    private final CategoryDictionary categoryDictionary;
 
-    public AnalyticsService(TransactionRepository transactionRepository, BudgetRepository budgetRepository) {
+    public AnalyticsService(TransactionRollupRepository transactionRollupRepository,
+                            TransactionRepository transactionRepository,
+                            BudgetRepository budgetRepository,
+                            ColumnarAnalyticsEngine columnarAnalyticsEngine,
+                            CategoryDictionary categoryDictionary) {
+        this.transactionRollupRepository = transactionRollupRepository;
         this.transactionRepository = transactionRepository;
         this.budgetRepository = budgetRepository;
+        this.columnarAnalyticsEngine = columnarAnalyticsEngine;
+        this.categoryDictionary = categoryDictionary;
     }
 
     /**
@@ -31,17 +69,20 @@ public class AnalyticsService {
      * @param budgetId the ID of the budget
      * @param type     the type of transactions (INCOME or EXPENSE)
      * @param username the username of the budget owner
-     * @return a list of CategorySummary DTOs representing category totals
+     * @return a list of CategorySummary DTOs representing category totals, uncategorized first, then by name
      */
     public List<CategorySummary> sumByCategory(Long budgetId, Transaction.Type type, String username) {
-        budgetRepository.findById(budgetId)
-                .filter(b -> b.getOwner().getUsername().equals(username))
-                .orElseThrow(() -> new IllegalArgumentException("Budget not found or access denied"));
+        checkOwnership(budgetId, username);
+        BudgetColumns columns = columnarAnalyticsEngine.find(budgetId);
+        if (columns != null) {
+            return columns.sumByCategory(type, categoryDictionary);
+        }
 
-        List<Object[]> results = transactionRepository.sumByCategory(budgetId, type);
-        return results.stream()
-                .map(obj -> new CategorySummary((String) obj[0], ((Number) obj[1]).doubleValue()))
-                .collect(Collectors.toList());
+        Map<Integer, Long> totals = new HashMap<>();
+        for (Object[] row : transactionRollupRepository.sumByCategory(budgetId, type)) {
+            totals.put(((Number) row[0]).intValue(), ((Number) row[1]).longValue());
+        }
+        return categoryDictionary.summaries(totals);
     }
 
     /**
@@ -53,17 +94,130 @@ public class AnalyticsService {
      * @return a list of MonthlySummary DTOs representing monthly totals
      */
     public List<MonthlySummary> sumByMonth(Long budgetId, Transaction.Type type, String username) {
-        budgetRepository.findById(budgetId)
-                .filter(b -> b.getOwner().getUsername().equals(username))
-                .orElseThrow(() -> new IllegalArgumentException("Budget not found or access denied"));
+        return sumByMonth(budgetId, type, null, null, username);
+    }
+
+    /**
+     * Returns the total amount of transactions grouped by year and month for a given budget and
+     * transaction type, limited to an inclusive range of months.
+     *
+     * @param budgetId the ID of the budget
+     * @param type     the type of transactions (INCOME or EXPENSE)
+     * @param from     the first month to include, or null for no lower bound
+     * @param to       the last month to include, or null for no upper bound
+     * @param username the username of the budget owner
+     * @return a list of MonthlySummary DTOs representing monthly totals, in chronological order
+     */
+    public List<MonthlySummary> sumByMonth(Long budgetId, Transaction.Type type,
+                                           YearMonth from, YearMonth to, String username) {
+        checkOwnership(budgetId, username);
 
-        List<Object[]> results = transactionRepository.sumByMonth(budgetId, type);
+        YearMonth first = from != null ? from : FIRST_MONTH;
+        YearMonth last = to != null ? to : LAST_MONTH;
+        BudgetColumns columns = columnarAnalyticsEngine.find(budgetId);
+        if (columns != null) {
+            return columns.sumByMonth(type, first, last);
+        }
+        List<Object[]> results = transactionRollupRepository.sumByMonth(budgetId, type.name(),
+                first.getYear(), first.getMonthValue(), last.getYear(), last.getMonthValue());
         return results.stream()
                 .map(obj -> new MonthlySummary(
                         (obj[0] != null) ? ((Number) obj[0]).intValue() : 0, // year
                         (obj[1] != null) ? ((Number) obj[1]).intValue() : 0, // month
-                        (obj[2] != null) ? ((Number) obj[2]).doubleValue() : 0.0 // total
+                        Money.fromCents((obj[2] != null) ? ((Number) obj[2]).longValue() : 0) // total
                 ))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Returns category totals, monthly totals and grand totals for both transaction types of a
+     * budget, computed by a single grouping-sets query.
+     *
+     * @param budgetId the ID of the budget
+     * @param username the username of the budget owner
+     * @return the analytics of the budget's income and expenses
+     */
+    public AnalyticsPivotResponse pivot(Long budgetId, String username) {
+        checkOwnership(budgetId, username);
+        BudgetColumns columns = columnarAnalyticsEngine.find(budgetId);
+        if (columns != null) {
+            return columns.pivot(budgetId, categoryDictionary);
+        }
+
+        Map<Transaction.Type, PivotSection> sections = new EnumMap<>(Transaction.Type.class);
+        for (Transaction.Type type : Transaction.Type.values()) {
+            sections.put(type, new PivotSection());
+        }
+        for (Object[] row : transactionRollupRepository.pivot(budgetId)) {
+            PivotSection section = sections.get(Transaction.Type.valueOf((String) row[0]));
+            long totalCents = ((Number) row[4]).longValue();
+            switch (((Number) row[5]).intValue()) {
+                case TransactionRollupRepository.PIVOT_BY_CATEGORY ->
+                        section.byCategory.put(((Number) row[1]).intValue(), totalCents);
+                case TransactionRollupRepository.PIVOT_BY_MONTH -> section.byMonth.add(new MonthlySummary(
+                        ((Number) row[2]).intValue(), ((Number) row[3]).intValue(), Money.fromCents(totalCents)));
+                case TransactionRollupRepository.PIVOT_TOTAL -> section.totalCents = totalCents;
+                default -> throw new IllegalStateException("Unexpected grouping: " + row[5]);
+            }
+        }
+        return new AnalyticsPivotResponse(budgetId,
+                sections.get(Transaction.Type.INCOME).toAnalytics(categoryDictionary),
+                sections.get(Transaction.Type.EXPENSE).toAnalytics(categoryDictionary));
+    }
+
+    /**
+     * Returns the totals of a budget and transaction type over consecutive time buckets covering
+     * {@code from..to}, including empty buckets. Computed by one query from the raw transactions,
+     * so any granularity and day-precise ranges are supported.
+     *
+     * @param budgetId    the ID of the budget
+     * @param type        the type of transactions (INCOME or EXPENSE)
+     * @param granularity the bucket width
+     * @param from        the first day of the range
+     * @param to          the last day of the range (not before {@code from})
+     * @param username    the username of the budget owner
+     * @return the bucket start dates and totals as parallel arrays
+     */
+    public TimeSeriesResponse timeSeries(Long budgetId, Transaction.Type type, Granularity granularity,
+                                         LocalDate from, LocalDate to, String username) {
+        checkOwnership(budgetId, username);
+        BudgetColumns columns = columnarAnalyticsEngine.find(budgetId);
+        if (columns != null) {
+            return columns.timeSeries(budgetId, type, granularity, from, to);
+        }
+
+        List<Object[]> rows = transactionRepository.sumBySeries(budgetId, type.name(), from, to,
+                granularity.truncUnit(), granularity.interval());
+        List<LocalDate> buckets = new ArrayList<>(rows.size());
+        BigDecimal[] totals = new BigDecimal[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            Object bucket = rows.get(i)[0];
+            buckets.add(bucket instanceof Date date ? date.toLocalDate() : (LocalDate) bucket);
+            totals[i] = Money.fromCents(((Number) rows.get(i)[1]).longValue());
+        }
+        return new TimeSeriesResponse(budgetId, type, granularity, buckets, totals);
+    }
+
+    /**
+     * Collects the rows of one transaction type while reading the pivot query.
+     */
+    private static final class PivotSection {
+        private final Map<Integer, Long> byCategory = new HashMap<>();
+        private final List<MonthlySummary> byMonth = new ArrayList<>();
+        private long totalCents;
+
+        AnalyticsPivotResponse.TypeAnalytics toAnalytics(CategoryDictionary categoryDictionary) {
+            return new AnalyticsPivotResponse.TypeAnalytics(
+                    categoryDictionary.summaries(byCategory), byMonth, Money.fromCents(totalCents));
+        }
+    }
+
+    /**
+     * Verifies with a single query that the budget exists and belongs to the user.
+     */
+    private void checkOwnership(Long budgetId, String username) {
+        if (!budgetRepository.existsByIdAndOwnerUsername(budgetId, username)) {
+            throw new IllegalArgumentException("Budget not found or access denied");
+        }
+    }
 }
@@ -0,0 +1,519 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.request.Granularity;
+import com.example.budgettracker.dto.response.AnalyticsPivotResponse;
+import com.example.budgettracker.dto.response.CategorySummary;
+import com.example.budgettracker.dto.response.MonthlySummary;
+import com.example.budgettracker.dto.response.TimeSeriesResponse;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Money;
+import com.example.budgettracker.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One budget's transactions held in memory as primitive columns, served by
+ * {@link ColumnarAnalyticsEngine}.
+ * <p>
+ * Row {@code i} is the transaction {@code ids[i]} dated {@code days[i]} (epoch day), with
+ * {@code amounts[i]} cents and category code {@code categories[i]}, a dense index into the
+ * category IDs seen so far (code 0 is "uncategorized"). Names are resolved only for the
+ * results, through {@link CategoryDictionary}. Bit {@code i} of {@code income} is set for INCOME and clear for
+ * EXPENSE. Rows are unordered; removing a row moves the last row into its place.
+ * <p>
+ * Queries scan the columns under a read lock and writes take the write lock. Writes are keyed
+ * by transaction ID, found through an ID-to-row hash index ({@link RowIndex}) in constant time,
+ * so a write holds the lock only briefly however large the budget. They are idempotent (an
+ * upsert overwrites the row, removing a missing row does nothing), so replaying a write that a
+ * freshly loaded snapshot already contains is harmless.
+ */
+public final class BudgetColumns {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int UNCATEGORIZED = 0;
+    private static final YearMonth ALL_MONTHS_FROM = YearMonth.of(0, 1);
+    private static final YearMonth ALL_MONTHS_TO = YearMonth.of(9999, 12);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Integer> dictionary = new ArrayList<>();
+    private final Map<Integer, Integer> codes = new HashMap<>();
+    private final BitSet income = new BitSet();
+    private final RowIndex rowsById;
+    private long[] ids;
+    private int[] days;
+    private long[] amounts;
+    private int[] categories;
+    private int size;
+
+    public BudgetColumns() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param capacity the initial number of rows to allocate (e.g. the expected transaction count)
+     */
+    public BudgetColumns(int capacity) {
+        int initial = Math.max(capacity, 1);
+        ids = new long[initial];
+        days = new int[initial];
+        amounts = new long[initial];
+        categories = new int[initial];
+        rowsById = new RowIndex(initial);
+        dictionary.add(Category.NONE); // UNCATEGORIZED
+    }
+
+    // === Writes ===
+
+    /**
+     * Appends a row without checking for an existing row with the same ID.
+     * Only for filling a new instance from the database.
+     */
+    void append(long id, Transaction.Type type, LocalDate date, Integer categoryId, long amountCents) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            ensureCapacity(size + 1);
+            rowsById.put(id, size);
+            set(size++, id, type, date, categoryId, amountCents);
+        } finally {
+            write.unlock();
+        }
+    }
+
+    /**
+     * Adds the transaction or overwrites its row.
+     *
+     * @param id    the transaction ID
+     * @param entry the transaction's current values
+     */
+    public void upsert(long id, TransactionRollupService.Entry entry) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            int row = rowsById.get(id);
+            if (row < 0) {
+                ensureCapacity(size + 1);
+                row = size++;
+                rowsById.put(id, row);
+            }
+            set(row, id, entry.type(), entry.date(), entry.categoryId(), entry.amountCents());
+        } finally {
+            write.unlock();
+        }
+    }
+
+    /**
+     * Removes the transaction's row, if present.
+     *
+     * @param id the transaction ID
+     */
+    public void remove(long id) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            int row = rowsById.remove(id);
+            if (row < 0) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                rowsById.put(ids[last], row);
+            }
+            ids[row] = ids[last];
+            days[row] = days[last];
+            amounts[row] = amounts[last];
+            categories[row] = categories[last];
+            income.set(row, income.get(last));
+            income.clear(last);
+        } finally {
+            write.unlock();
+        }
+    }
+
+    // === Queries ===
+
+    /**
+     * @return the number of transactions held
+     */
+    public int size() {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return size;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Estimates the heap used by this instance, for size-bounded caching.
+     *
+     * @return the approximate footprint in bytes
+     */
+    public long footprintBytes() {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return 256 // object headers, lock, collections
+                    + (long) ids.length * Long.BYTES
+                    + (long) days.length * Integer.BYTES
+                    + (long) amounts.length * Long.BYTES
+                    + (long) categories.length * Integer.BYTES
+                    + income.size() / Byte.SIZE
+                    + rowsById.footprintBytes()
+                    + dictionary.size() * 80L; // boxed ID in the list plus map entry
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Totals per category of one type, uncategorized first and then by name.
+     *
+     * @param type       the transaction type
+     * @param categories resolves the category names
+     * @return one entry per category that has transactions of the type
+     */
+    public List<CategorySummary> sumByCategory(Transaction.Type type, CategoryDictionary categories) {
+        return categories.summaries(totalsByCategory(type));
+    }
+
+    /**
+     * Totals per month of one type within an inclusive month range, in chronological order.
+     *
+     * @param type the transaction type
+     * @param from the first month to include
+     * @param to   the last month to include
+     * @return one entry per month that has transactions of the type
+     */
+    public List<MonthlySummary> sumByMonth(Transaction.Type type, YearMonth from, YearMonth to) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            boolean wantIncome = type == Transaction.Type.INCOME;
+            int lower = from.getYear() * 12 + from.getMonthValue() - 1;
+            int upper = to.getYear() * 12 + to.getMonthValue() - 1;
+
+            // First pass bounds the months actually present, so the buckets stay small
+            int first = Integer.MAX_VALUE;
+            int last = Integer.MIN_VALUE;
+            for (int row = 0; row < size; row++) {
+                if (income.get(row) == wantIncome) {
+                    int month = monthIndex(days[row]);
+                    if (month >= lower && month <= upper) {
+                        first = Math.min(first, month);
+                        last = Math.max(last, month);
+                    }
+                }
+            }
+            if (first > last) {
+                return List.of();
+            }
+
+            long[] sums = new long[last - first + 1];
+            int[] counts = new int[sums.length];
+            for (int row = 0; row < size; row++) {
+                if (income.get(row) == wantIncome) {
+                    int month = monthIndex(days[row]);
+                    if (month >= first && month <= last) {
+                        sums[month - first] += amounts[row];
+                        counts[month - first]++;
+                    }
+                }
+            }
+            List<MonthlySummary> result = new ArrayList<>();
+            for (int i = 0; i < sums.length; i++) {
+                if (counts[i] > 0) {
+                    int month = first + i;
+                    result.add(new MonthlySummary(month / 12, month % 12 + 1, Money.fromCents(sums[i])));
+                }
+            }
+            return result;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Category totals, monthly totals and grand totals for both types.
+     *
+     * @param budgetId   the budget ID to report
+     * @param categories resolves the category names
+     * @return the analytics of the budget's income and expenses
+     */
+    public AnalyticsPivotResponse pivot(Long budgetId, CategoryDictionary categories) {
+        Map<Integer, Long> incomeByCategory;
+        Map<Integer, Long> expenseByCategory;
+        List<MonthlySummary> incomeByMonth;
+        List<MonthlySummary> expenseByMonth;
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            incomeByCategory = totalsByCategory(Transaction.Type.INCOME);
+            expenseByCategory = totalsByCategory(Transaction.Type.EXPENSE);
+            incomeByMonth = sumByMonth(Transaction.Type.INCOME, ALL_MONTHS_FROM, ALL_MONTHS_TO);
+            expenseByMonth = sumByMonth(Transaction.Type.EXPENSE, ALL_MONTHS_FROM, ALL_MONTHS_TO);
+        } finally {
+            read.unlock();
+        }
+        return new AnalyticsPivotResponse(budgetId,
+                typeAnalytics(categories, incomeByCategory, incomeByMonth),
+                typeAnalytics(categories, expenseByCategory, expenseByMonth));
+    }
+
+    /**
+     * Totals of one type over consecutive buckets covering {@code from..to}, including empty buckets.
+     *
+     * @param budgetId    the budget ID to report
+     * @param type        the transaction type
+     * @param granularity the bucket width
+     * @param from        the first day of the range
+     * @param to          the last day of the range (not before {@code from})
+     * @return the bucket start dates and totals as parallel arrays
+     */
+    public TimeSeriesResponse timeSeries(Long budgetId, Transaction.Type type, Granularity granularity,
+                                         LocalDate from, LocalDate to) {
+        LocalDate firstBucket = granularity.truncate(from);
+        int bucketCount = Math.toIntExact(granularity.bucketsBetween(from, to));
+        int firstDay = (int) firstBucket.toEpochDay();
+        int firstMonth = monthIndex(firstDay);
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        long[] sums = new long[bucketCount];
+
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            boolean wantIncome = type == Transaction.Type.INCOME;
+            for (int row = 0; row < size; row++) {
+                int day = days[row];
+                if (income.get(row) == wantIncome && day >= fromDay && day <= toDay) {
+                    sums[bucketIndex(granularity, firstDay, firstMonth, day)] += amounts[row];
+                }
+            }
+        } finally {
+            read.unlock();
+        }
+
+        List<LocalDate> buckets = new ArrayList<>(bucketCount);
+        BigDecimal[] totals = new BigDecimal[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(granularity.plusBuckets(firstBucket, i));
+            totals[i] = Money.fromCents(sums[i]);
+        }
+        return new TimeSeriesResponse(budgetId, type, granularity, buckets, totals);
+    }
+
+    // === Helpers ===
+
+    /**
+     * Totals per category ID of one type, for categories that have transactions of the type.
+     */
+    private Map<Integer, Long> totalsByCategory(Transaction.Type type) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            boolean wantIncome = type == Transaction.Type.INCOME;
+            long[] sums = new long[dictionary.size()];
+            int[] counts = new int[dictionary.size()];
+            for (int row = 0; row < size; row++) {
+                if (income.get(row) == wantIncome) {
+                    sums[categories[row]] += amounts[row];
+                    counts[categories[row]]++;
+                }
+            }
+            Map<Integer, Long> totals = new HashMap<>();
+            for (int code = 0; code < sums.length; code++) {
+                if (counts[code] > 0) {
+                    totals.put(dictionary.get(code), sums[code]);
+                }
+            }
+            return totals;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    private static AnalyticsPivotResponse.TypeAnalytics typeAnalytics(CategoryDictionary categories,
+                                                                      Map<Integer, Long> byCategory,
+                                                                      List<MonthlySummary> byMonth) {
+        long totalCents = byCategory.values().stream().mapToLong(Long::longValue).sum();
+        return new AnalyticsPivotResponse.TypeAnalytics(
+                categories.summaries(byCategory), byMonth, Money.fromCents(totalCents));
+    }
+
+    private void set(int row, long id, Transaction.Type type, LocalDate date, Integer categoryId, long amountCents) {
+        ids[row] = id;
+        days[row] = (int) date.toEpochDay();
+        amounts[row] = amountCents;
+        categories[row] = code(categoryId);
+        income.set(row, type == Transaction.Type.INCOME);
+    }
+
+    private int code(Integer categoryId) {
+        if (categoryId == null) {
+            return UNCATEGORIZED;
+        }
+        Integer code = codes.get(categoryId);
+        if (code == null) {
+            code = dictionary.size();
+            dictionary.add(categoryId);
+            codes.put(categoryId, code);
+        }
+        return code;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int grown = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, grown);
+        days = Arrays.copyOf(days, grown);
+        amounts = Arrays.copyOf(amounts, grown);
+        categories = Arrays.copyOf(categories, grown);
+    }
+
+    private static int bucketIndex(Granularity granularity, int firstDay, int firstMonth, int day) {
+        return switch (granularity) {
+            case DAY -> day - firstDay;
+            case WEEK -> (day - firstDay) / 7;
+            case MONTH -> monthIndex(day) - firstMonth;
+            case QUARTER -> (monthIndex(day) - firstMonth) / 3;
+            case YEAR -> monthIndex(day) / 12 - firstMonth / 12;
+        };
+    }
+
+    /**
+     * Open-addressing hash map from transaction ID to row, with primitive keys and values
+     * (no boxing per row). Linear probing; removal shifts later entries of the probe run back,
+     * so no tombstones accumulate. Not thread-safe: used under the columns' write lock.
+     */
+    static final class RowIndex {
+
+        private static final int EMPTY = -1;
+
+        private long[] keys;
+        private int[] rows;
+        private int mask;
+        private int count;
+
+        RowIndex(int expected) {
+            // Power of two with the expected IDs at most half full
+            allocate(Integer.highestOneBit(Math.min(Math.max(expected, 8), 1 << 28) * 2 - 1) << 1);
+        }
+
+        /**
+         * @return the row of the ID, or -1 if absent
+         */
+        int get(long id) {
+            for (int slot = slot(id); rows[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == id) {
+                    return rows[slot];
+                }
+            }
+            return EMPTY;
+        }
+
+        /**
+         * Maps the ID to the row, replacing any previous row.
+         */
+        void put(long id, int row) {
+            int slot = slot(id);
+            while (rows[slot] != EMPTY) {
+                if (keys[slot] == id) {
+                    rows[slot] = row;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = id;
+            rows[slot] = row;
+            if (++count > (mask + 1) / 4 * 3) {
+                rehash();
+            }
+        }
+
+        /**
+         * @return the row the ID was mapped to, or -1 if absent
+         */
+        int remove(long id) {
+            int slot = slot(id);
+            while (rows[slot] != EMPTY && keys[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            int row = rows[slot];
+            if (row == EMPTY) {
+                return EMPTY;
+            }
+            count--;
+            // Move back entries whose probe run passes through the freed slot
+            int free = slot;
+            for (int next = (free + 1) & mask; rows[next] != EMPTY; next = (next + 1) & mask) {
+                int home = slot(keys[next]);
+                if (((next - home) & mask) >= ((next - free) & mask)) {
+                    keys[free] = keys[next];
+                    rows[free] = rows[next];
+                    free = next;
+                }
+            }
+            rows[free] = EMPTY;
+            return row;
+        }
+
+        long footprintBytes() {
+            return (long) keys.length * Long.BYTES + (long) rows.length * Integer.BYTES;
+        }
+
+        private int slot(long id) {
+            long hash = id * 0x9E37_79B9_7F4A_7C15L; // Fibonacci hashing spreads sequential IDs
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+        private void rehash() {
+            long[] oldKeys = keys;
+            int[] oldRows = rows;
+            allocate(oldKeys.length * 2);
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldRows[slot] != EMPTY) {
+                    put(oldKeys[slot], oldRows[slot]);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            rows = new int[capacity];
+            Arrays.fill(rows, EMPTY);
+            mask = capacity - 1;
+            count = 0;
+        }
+    }
+
+    /**
+     * Returns {@code year * 12 + (month - 1)} of an epoch day without allocating a {@code LocalDate}
+     * (civil-from-days conversion of the proleptic Gregorian calendar).
+     */
+    static int monthIndex(int epochDay) {
+        int z = epochDay + 719_468; // days since 0000-03-01
+        int era = Math.floorDiv(z, 146_097);
+        int dayOfEra = z - era * 146_097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153; // 0 = March
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 12 + month - 1;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.repository.BudgetLedgerRepository;
+import com.example.budgettracker.repository.BudgetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the per-budget running totals ({@code budget_ledgers}).
+ * <p>
+ * {@link TransactionService} reports every write here, inside its own database transaction,
+ * so the ledger commits or rolls back together with the transaction row. Deltas are applied
+ * with an atomic upsert, so parallel writers on one budget never lose an update. The deltas of
+ * an update or delete are computed from the transaction row as locked by the writer, so parallel
+ * writers of the same transaction each start from the values the previous one committed.
+ * <p>
+ * A scheduled reconciliation ({@code ledger.reconcile.cron}) recomputes each budget's totals
+ * from its transactions and repairs any drift, e.g. from rows changed outside the application.
+ * Repairs are counted in the {@code ledger.reconcile.repaired} metric.
+ */
+@Service
+public class BudgetLedgerService {
+
+    private static final Logger log = LoggerFactory.getLogger(BudgetLedgerService.class);
+
+    private final BudgetLedgerRepository budgetLedgerRepository;
+    private final BudgetRepository budgetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter repairedCounter;
+
+    public BudgetLedgerService(BudgetLedgerRepository budgetLedgerRepository,
+                               BudgetRepository budgetRepository,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.budgetLedgerRepository = budgetLedgerRepository;
+        this.budgetRepository = budgetRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.repairedCounter = Counter.builder("ledger.reconcile.repaired")
+                .description("Budget ledgers found out of date and repaired by reconciliation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Accounts for a new transaction. Must be called inside the writing transaction.
+     *
+     * @param budgetId the budget the transaction belongs to
+     * @param type        the transaction type
+     * @param amountCents the transaction amount in cents
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdded(Long budgetId, Transaction.Type type, long amountCents) {
+        apply(budgetId, type, amountCents, 1);
+    }
+
+    /**
+     * Accounts for a removed transaction. Must be called inside the writing transaction.
+     *
+     * @param budgetId the budget the transaction belonged to
+     * @param type        the transaction type
+     * @param amountCents the transaction amount in cents
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(Long budgetId, Transaction.Type type, long amountCents) {
+        apply(budgetId, type, -amountCents, -1);
+    }
+
+    /**
+     * Accounts for a changed amount and/or type in a single statement.
+     * Must be called inside the writing transaction.
+     * <p>
+     * The upsert runs even when the totals do not change (e.g. only the date or category did):
+     * it takes the ledger row lock, which rollup rebuilds rely on to exclude every writer.
+     *
+     * @param budgetId  the budget the transaction belongs to
+     * @param oldType   the type before the change
+     * @param oldAmount the amount before the change, in cents
+     * @param newType   the type after the change
+     * @param newAmount the amount after the change, in cents
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanged(Long budgetId,
+                              Transaction.Type oldType, long oldAmount,
+                              Transaction.Type newType, long newAmount) {
+        long incomeDelta = (newType == Transaction.Type.INCOME ? newAmount : 0)
+                - (oldType == Transaction.Type.INCOME ? oldAmount : 0);
+        long expenseDelta = (newType == Transaction.Type.EXPENSE ? newAmount : 0)
+                - (oldType == Transaction.Type.EXPENSE ? oldAmount : 0);
+        budgetLedgerRepository.applyDelta(budgetId, incomeDelta, expenseDelta, 0);
+    }
+
+    /**
+     * Recomputes one budget's totals and repairs the ledger row if it drifted.
+     * Runs in its own transaction and holds the row lock while recomputing,
+     * so it is safe to run while the budget is being written to.
+     *
+     * @param budgetId the budget ID
+     * @return true if the ledger was repaired
+     */
+    public boolean reconcile(Long budgetId) {
+        Boolean repaired = transactionTemplate.execute(status -> {
+            budgetLedgerRepository.applyDelta(budgetId, 0, 0, 0); // create if missing and lock
+            return budgetLedgerRepository.reconcile(budgetId) > 0;
+        });
+        if (Boolean.TRUE.equals(repaired)) {
+            repairedCounter.increment();
+            log.warn("Budget ledger {} was out of date and has been repaired", budgetId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reconciles every budget, one short transaction per budget. A budget that fails, e.g.
+     * because it was deleted after the IDs were read, is logged and skipped.
+     *
+     * @return the number of repaired ledgers
+     */
+    @Scheduled(cron = "${ledger.reconcile.cron:0 30 3 * * *}")
+    public int reconcileAll() {
+        int repaired = 0;
+        int failed = 0;
+        for (Long budgetId : budgetRepository.findAllIds()) {
+            try {
+                if (reconcile(budgetId)) {
+                    repaired++;
+                }
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("Budget ledger {} could not be reconciled", budgetId, e);
+            }
+        }
+        log.info("Budget ledger reconciliation finished: {} repaired, {} failed", repaired, failed);
+        return repaired;
+    }
+
+    /**
+     * Creates ledger rows for budgets that existed before the ledger was introduced.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createMissingLedgers() {
+        Integer created = transactionTemplate.execute(status -> budgetLedgerRepository.createMissing());
+        if (created != null && created > 0) {
+            log.info("Created {} missing budget ledgers", created);
+        }
+    }
+
+    private void apply(Long budgetId, Transaction.Type type, long amountCents, long countDelta) {
+        budgetLedgerRepository.applyDelta(budgetId,
+                type == Transaction.Type.INCOME ? amountCents : 0,
+                type == Transaction.Type.EXPENSE ? amountCents : 0,
+                countDelta);
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.response.BudgetResponse;
 import com.example.budgettracker.model.Budget;
 import com.example.budgettracker.model.User;
 import com.example.budgettracker.repository.BudgetRepository;
 import com.example.budgettracker.repository.UserRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -29,37 +31,39 @@ public class BudgetService {
      *
      * @param username the username of the budget owner
      * @param name the name of the budget
-     * @param amount the starting budget amount
+     * @param amountCents the starting budget amount in cents
      * @return the saved Budget entity
      */
-    public Budget createBudget(String username, String name, Double amount) {
+    public Budget createBudget(String username, String name, long amountCents) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        Budget budget = new Budget(name, amount, user);
+        Budget budget = new Budget(name, amountCents, user);
         return budgetRepository.save(budget);
     }
 
     /**
-     * Retrieves all budgets for a specific user.
+     * Retrieves all budgets for a specific user, ordered by ID.
+     * Only the response columns are selected; no budget entity is loaded.
      *
      * @param username the username of the owner
      * @return a list of budgets belonging to the user
      */
-    public List<Budget> getBudgetsForUser(String username) {
-        return budgetRepository.findByOwnerUsername(username);
+    @Transactional(readOnly = true)
+    public List<BudgetResponse> getBudgetsForUser(String username) {
+        return budgetRepository.findResponsesByOwnerUsername(username);
     }
 
     /**
      * Retrieves a budget by its ID and checks if it belongs to the given user.
+     * Both happen in one query; the owner is not loaded.
      *
      * @param id the budget ID
      * @param username the username of the requesting user
      * @return an Optional containing the budget if it exists and is owned by the user
      */
     public Optional<Budget> getBudgetByIdAndUser(Long id, String username) {
-        return budgetRepository.findById(id)
-                .filter(budget -> budget.getOwner().getUsername().equals(username));
+        return budgetRepository.findByIdAndOwnerUsername(id, username);
     }
 
     /**
@@ -68,14 +72,14 @@ public class BudgetService {
      * @param id the ID of the budget to update
      * @param username the username of the owner
      * @param name the new name of the budget
-     * @param amount the new amount of the budget
+     * @param amountCents the new amount of the budget in cents
      * @return the updated Budget entity
      */
-    public Budget updateBudget(Long id, String username, String name, Double amount) {
+    public Budget updateBudget(Long id, String username, String name, long amountCents) {
         Budget budget = getBudgetByIdAndUser(id, username)
                 .orElseThrow(() -> new IllegalArgumentException("Budget not found or access denied"));
         budget.setName(name);
-        budget.setAmount(amount);
+        budget.setAmountCents(amountCents);
         return budgetRepository.save(budget);
     }
 
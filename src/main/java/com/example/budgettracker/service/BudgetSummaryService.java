@@ -1,13 +1,14 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.projection.BudgetOverview;
+import com.example.budgettracker.dto.projection.BudgetTotals;
 import com.example.budgettracker.dto.response.BudgetSummaryResponse;
-import com.example.budgettracker.model.Budget;
-import com.example.budgettracker.model.Transaction;
-import com.example.budgettracker.model.Transaction.Type;
-import com.example.budgettracker.repository.BudgetRepository;
-import com.example.budgettracker.repository.TransactionRepository;
+import com.example.budgettracker.dto.response.DashboardBudgetSummary;
+import com.example.budgettracker.model.Money;
+import com.example.budgettracker.repository.BudgetLedgerRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -16,46 +17,54 @@ import java.util.List;
 @Service
 public class BudgetSummaryService {
 
-    private final TransactionRepository transactionRepository;
-    private final BudgetRepository budgetRepository;
+    /** Most budget IDs a dashboard request may select; each is a bind parameter of the query. */
+    public static final int MAX_DASHBOARD_BUDGETS = 500;
 
-    public BudgetSummaryService(TransactionRepository transactionRepository,
-                                 BudgetRepository budgetRepository) {
-        this.transactionRepository = transactionRepository;
-        this.budgetRepository = budgetRepository;
+    private final BudgetLedgerRepository budgetLedgerRepository;
+
+    public BudgetSummaryService(BudgetLedgerRepository budgetLedgerRepository) {
+        this.budgetLedgerRepository = budgetLedgerRepository;
     }
 
     /**
      * Computes the summary of a budget: total income, total expenses, and remaining balance.
+     * The totals are read from the budget's ledger row (maintained on every transaction write)
+     * together with the budget amount, in one query that also enforces ownership,
+     * so the cost does not depend on the number of transactions.
      *
      * @param budgetId ID of the budget to summarize
-     * @param username Username requesting the summary (used for future access control)
+     * @param username Username requesting the summary; must own the budget
      * @return BudgetSummaryResponse containing the financial summary
+     * @throws IllegalArgumentException if the budget doesn't exist or user doesn't own it
      */
     public BudgetSummaryResponse getBudgetSummary(Long budgetId, String username) {
-        // Get all transactions for the given budget
-        List<Transaction> transactions = transactionRepository.findByBudgetId(budgetId);
-
-        // Calculate total income
-        double totalIncome = transactions.stream()
-                .filter(t -> t.getType() == Type.INCOME)
-                .mapToDouble(Transaction::getAmount)
-                .sum();
-
-        // Calculate total expenses
-        double totalExpense = transactions.stream()
-                .filter(t -> t.getType() == Type.EXPENSE)
-                .mapToDouble(Transaction::getAmount)
-                .sum();
-
-        // Retrieve original budget amount (defaults to 0.0 if not found)
-        double budgetAmount = budgetRepository.findById(budgetId)
-                .map(Budget::getAmount)
-                .orElse(0.0);
-
-        // Calculate balance: starting budget + income - expenses
-        double balance = budgetAmount + totalIncome - totalExpense;
-
-        return new BudgetSummaryResponse(budgetId, totalIncome, totalExpense, balance);
+        BudgetTotals totals = budgetLedgerRepository.findTotalsByBudgetIdAndOwnerUsername(budgetId, username)
+                .orElseThrow(() -> new IllegalArgumentException("Budget not found or access denied"));
+
+        // Calculate balance: starting budget + income - expenses, exactly in cents
+        long balanceCents = totals.budgetAmountCents() + totals.totalIncomeCents() - totals.totalExpenseCents();
+
+        return new BudgetSummaryResponse(budgetId, Money.fromCents(totals.totalIncomeCents()),
+                Money.fromCents(totals.totalExpenseCents()), Money.fromCents(balanceCents));
+    }
+
+    /**
+     * Computes the summaries of all budgets of a user (or of the requested subset) for the
+     * dashboard, with one query over the budgets and their ledger rows.
+     *
+     * @param username  Username whose budgets are summarized
+     * @param budgetIds Budget IDs to include, or null/empty for all; IDs the user does not own are ignored
+     * @return one DashboardBudgetSummary per budget, ordered by budget ID
+     */
+    public List<DashboardBudgetSummary> getDashboard(String username, Collection<Long> budgetIds) {
+        List<BudgetOverview> overviews = (budgetIds == null || budgetIds.isEmpty())
+                ? budgetLedgerRepository.findOverviewsByOwnerUsername(username)
+                : budgetLedgerRepository.findOverviewsByOwnerUsernameAndBudgetIdIn(username, budgetIds);
+
+        return overviews.stream()
+                .map(o -> new DashboardBudgetSummary(o.budgetId(), o.name(),
+                        Money.fromCents(o.totalIncomeCents()), Money.fromCents(o.totalExpenseCents()),
+                        Money.fromCents(o.budgetAmountCents() + o.totalIncomeCents() - o.totalExpenseCents())))
+                .toList();
     }
 }
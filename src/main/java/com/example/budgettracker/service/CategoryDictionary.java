@@ -0,0 +1,224 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.response.CategorySummary;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Money;
+import com.example.budgettracker.repository.CategoryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Translates between category names and the integer category ids stored on transactions
+ * and rollups, with both directions cached in memory.
+ * <p>
+ * Categories are created on first use and never renamed, so cached entries never go stale:
+ * an id always stands for the same name, and a user's name always maps to the same id.
+ * A deleted user's categories are deleted with them and evicted here ({@link #evictUser}).
+ * A newly created id is only cached once the creating transaction commits, so a rolled back
+ * write never leaves an id in the cache that does not exist.
+ * <p>
+ * Hits and misses of the name lookup are published as {@code cache.gets{cache=categoryNames}}.
+ */
+@Service
+public class CategoryDictionary {
+
+    private static final String CACHE_NAME = "categoryNames";
+
+    /** Uncategorized first, then by name. */
+    private static final Comparator<CategorySummary> BY_CATEGORY =
+            Comparator.comparing(CategorySummary::category, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final CategoryRepository categoryRepository;
+    private final Cache<Integer, String> names;
+    private final Cache<UserCategory, Integer> ids;
+
+    public CategoryDictionary(CategoryRepository categoryRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${categories.cache.maximumSize:100000}") long maximumSize) {
+        this.categoryRepository = categoryRepository;
+        this.names = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.ids = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, names, CACHE_NAME);
+    }
+
+    /**
+     * Trims a category name as supplied by a client.
+     *
+     * @param name the name, possibly null or blank
+     * @return the trimmed name, or null for no category
+     */
+    public static String normalize(String name) {
+        return name == null || name.isBlank() ? null : name.strip();
+    }
+
+    /**
+     * Returns the id of a user's category, creating the category on first use.
+     * Must be called inside the writing transaction.
+     *
+     * @param userId the ID of the owner
+     * @param name   the category name (trimmed here), or null
+     * @return the category ID, or null if the name is null or blank
+     */
+    public Integer idOf(Long userId, String name) {
+        String normalized = normalize(name);
+        if (normalized == null) {
+            return null;
+        }
+        UserCategory key = new UserCategory(userId, normalized);
+        Integer cached = ids.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        int id = categoryRepository.findOrCreateId(userId, normalized);
+        afterCommit(() -> remember(key, id));
+        return id;
+    }
+
+    /**
+     * Forgets a deleted user's categories once the deleting transaction commits. Scans the
+     * cache, which is fine for an operation as rare as deleting a user.
+     *
+     * @param userId the ID of the deleted user
+     */
+    public void evictUser(Long userId) {
+        afterCommit(() -> ids.asMap().entrySet().removeIf(entry -> {
+            if (!entry.getKey().userId().equals(userId)) {
+                return false;
+            }
+            names.invalidate(entry.getValue());
+            return true;
+        }));
+    }
+
+    /**
+     * Forgets every cached category, for when the tables were reset outside the application
+     * (e.g. truncated with their identities restarted, so IDs are reused).
+     */
+    public void evictAll() {
+        ids.invalidateAll();
+        names.invalidateAll();
+    }
+
+    /**
+     * Returns the ids of those of a user's categories that exist, for filtering.
+     * Unlike {@link #idOf}, never creates a category; names that are not cached are
+     * looked up in a single query.
+     *
+     * @param userId the ID of the owner
+     * @param names  the category names (trimmed here); blank names are skipped
+     * @return the IDs of the existing categories, empty if none exists
+     */
+    public Set<Integer> existingIdsOf(Long userId, Collection<String> names) {
+        Set<Integer> found = new HashSet<>();
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            String normalized = normalize(name);
+            if (normalized == null) {
+                continue;
+            }
+            Integer cached = ids.getIfPresent(new UserCategory(userId, normalized));
+            if (cached != null) {
+                found.add(cached);
+            } else {
+                missing.add(normalized);
+            }
+        }
+        if (!missing.isEmpty()) {
+            // Committed rows only (or the caller's own writes), so safe to cache
+            for (Category category : categoryRepository.findByOwnerIdAndNameIn(userId, missing)) {
+                remember(new UserCategory(userId, category.getName()), category.getId());
+                found.add(category.getId());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Resolves category ids to names, loading the ones not cached in a single query.
+     *
+     * @param categoryIds the category IDs; null and {@link Category#NONE} are skipped
+     * @return the name of every known ID
+     */
+    public Map<Integer, String> namesOf(Collection<Integer> categoryIds) {
+        List<Integer> lookup = categoryIds.stream()
+                .filter(id -> id != null && id != Category.NONE)
+                .distinct()
+                .toList();
+        if (lookup.isEmpty()) {
+            return Map.of();
+        }
+        return names.getAll(lookup, this::loadNames);
+    }
+
+    /**
+     * Builds category summaries from totals keyed by category id, uncategorized first and
+     * then by name.
+     *
+     * @param totalsByCategoryId total cents per category ID ({@link Category#NONE} for uncategorized)
+     * @return one summary per entry
+     */
+    public List<CategorySummary> summaries(Map<Integer, Long> totalsByCategoryId) {
+        Map<Integer, String> resolved = namesOf(totalsByCategoryId.keySet());
+        List<CategorySummary> summaries = new ArrayList<>(totalsByCategoryId.size());
+        totalsByCategoryId.forEach((id, totalCents) ->
+                summaries.add(new CategorySummary(resolved.get(id), Money.fromCents(totalCents))));
+        summaries.sort(BY_CATEGORY);
+        return summaries;
+    }
+
+    /**
+     * Runs an action after the current transaction commits, or now if there is none.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void remember(UserCategory key, int id) {
+        ids.put(key, id);
+        names.put(id, key.name());
+    }
+
+    private Map<Integer, String> loadNames(Set<? extends Integer> categoryIds) {
+        Map<Integer, String> loaded = new HashMap<>();
+        for (Category category : categoryRepository.findAllById(List.copyOf(categoryIds))) {
+            loaded.put(category.getId(), category.getName());
+        }
+        return loaded;
+    }
+
+    /**
+     * Cache key of the name-to-id direction: names are unique per user.
+     */
+    private record UserCategory(Long userId, String name) {
+    }
+}
@@ -0,0 +1,374 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.model.BudgetLedger;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.repository.BudgetLedgerRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Optional in-memory copy of the transactions of large, frequently read budgets, held as
+ * {@link BudgetColumns} and consulted by {@link AnalyticsService} before it queries the database.
+ * <p>
+ * {@link #find} never blocks on the database: on a miss it returns null (the caller falls back
+ * to SQL) and schedules a background load. Only budgets with at least {@code minTransactions}
+ * transactions are loaded; smaller ones are answered well enough by the rollups and indexes.
+ * <p>
+ * Loaded budgets are kept current from {@link TransactionChangedEvent}s, delivered after the
+ * writing transaction commits. Events carry no values: the changed transaction IDs are collected
+ * per budget and re-read, several in one query, on the loader thread, so the writer's request
+ * pays nothing but the bookkeeping. Until they are applied, {@link #find} does not serve the
+ * budget's columns, so a reader never misses a committed write. Re-reading the committed rows
+ * means events delivered out of order (e.g. two quick updates of one transaction committed on
+ * different threads) still leave the latest values. Events that arrive while a budget is being
+ * loaded are queued and replayed on the snapshot; writes are idempotent, so replaying one the
+ * snapshot already contains is harmless. If a refresh cannot be queued or fails, the budget's
+ * columns are dropped and loaded again on a later miss. Columns of a deleted budget are never
+ * served (the caller's ownership check fails first) and simply expire.
+ * <p>
+ * The cache is bounded by the estimated heap footprint of the columns and entries expire when
+ * not read for {@code expireAfterAccess}. Hits and misses are published as
+ * {@code cache.gets{cache=budgetColumns}}.
+ */
+@Service
+public class ColumnarAnalyticsEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ColumnarAnalyticsEngine.class);
+
+    private static final String CACHE_NAME = "budgetColumns";
+    private static final int FETCH_SIZE = 10_000;
+    private static final int LOAD_QUEUE_CAPACITY = 100;
+
+    private static final String LOAD_SQL = """
+            SELECT t.id, t.date, t.amount_cents, t.type, t.category_id
+            FROM transactions t
+            WHERE t.budget_id = ?
+            """;
+
+    private static final String ROWS_SQL = """
+            SELECT t.id, t.type, t.date, t.category_id, t.amount_cents
+            FROM transactions t
+            WHERE t.id = ANY (?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BudgetLedgerRepository budgetLedgerRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate refreshTransaction;
+    private final boolean enabled;
+    private final long minTransactions;
+    private final Cache<Long, BudgetColumns> cache;
+    private final Cache<Long, Boolean> tooSmall;
+    private final ConcurrentMap<Long, PendingLoad> loading = new ConcurrentHashMap<>();
+    /** IDs of committed writes not yet applied to a loaded budget's columns. */
+    private final ConcurrentMap<Long, Set<Long>> pendingWrites = new ConcurrentHashMap<>();
+    private final ThreadPoolTaskExecutor loader;
+
+    public ColumnarAnalyticsEngine(JdbcTemplate jdbcTemplate,
+                                   BudgetLedgerRepository budgetLedgerRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${analytics.columnar.enabled:false}") boolean enabled,
+                                   @Value("${analytics.columnar.maximumSize:256MB}") DataSize maximumSize,
+                                   @Value("${analytics.columnar.minTransactions:10000}") long minTransactions,
+                                   @Value("${analytics.columnar.expireAfterAccess:30m}") Duration expireAfterAccess) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.budgetLedgerRepository = budgetLedgerRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Snapshots replay their events from the caller of load(), which may be inside a transaction
+        this.refreshTransaction = new TransactionTemplate(transactionManager);
+        this.refreshTransaction.setReadOnly(true);
+        this.refreshTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.minTransactions = minTransactions;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((Long budgetId, BudgetColumns columns) ->
+                        (int) Math.min(columns.footprintBytes(), Integer.MAX_VALUE))
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+        // Re-check small budgets now and then, they may have grown
+        this.tooSmall = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(expireAfterAccess)
+                .build();
+
+        // One loader thread: loads are large sequential scans, running them in parallel
+        // would only compete with request traffic for the database. Refreshes run here too.
+        this.loader = new ThreadPoolTaskExecutor();
+        loader.setCorePoolSize(1);
+        loader.setMaxPoolSize(1);
+        loader.setQueueCapacity(LOAD_QUEUE_CAPACITY);
+        loader.setThreadNamePrefix("columnar-load-");
+        loader.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        loader.initialize();
+
+        if (enabled) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        loader.shutdown();
+    }
+
+    /**
+     * @return true if the engine is enabled ({@code analytics.columnar.enabled})
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the in-memory columns of a budget, or null if they are not loaded or committed
+     * writes are still being applied to them. A miss schedules a background load (unless the
+     * budget is too small or already being loaded).
+     * The caller must have checked that the budget may be read.
+     *
+     * @param budgetId the budget ID
+     * @return the columns, or null to fall back to the database
+     */
+    public BudgetColumns find(Long budgetId) {
+        if (!enabled) {
+            return null;
+        }
+        BudgetColumns columns = cache.getIfPresent(budgetId);
+        if (columns == null) {
+            if (tooSmall.getIfPresent(budgetId) == null) {
+                scheduleLoad(budgetId);
+            }
+            return null;
+        }
+        return pendingWrites.containsKey(budgetId) ? null : columns;
+    }
+
+    /**
+     * Loads a budget's transactions into the cache now, regardless of their number.
+     * If the budget is already being loaded, waits for that load instead.
+     *
+     * @param budgetId the budget ID
+     * @return the loaded columns, or null if the engine is disabled
+     */
+    public BudgetColumns load(Long budgetId) {
+        if (!enabled) {
+            return null;
+        }
+        PendingLoad pending = new PendingLoad();
+        PendingLoad existing = loading.putIfAbsent(budgetId, pending);
+        if (existing != null) {
+            return existing.result.join();
+        }
+        return runLoad(budgetId, pending, false);
+    }
+
+    /**
+     * Schedules a committed transaction write to be applied to the budget's columns, if they are
+     * loaded or loading, by re-reading the transaction's row on the loader thread.
+     */
+    @TransactionalEventListener
+    public void onTransactionChanged(TransactionChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        PendingLoad pending = loading.get(event.budgetId());
+        if (pending != null) {
+            synchronized (pending) {
+                if (!pending.done) {
+                    pending.events.add(event);
+                    return;
+                }
+            }
+        }
+        if (!cache.asMap().containsKey(event.budgetId())) {
+            return;
+        }
+        boolean[] first = new boolean[1];
+        pendingWrites.compute(event.budgetId(), (budgetId, ids) -> {
+            if (ids == null) {
+                ids = new HashSet<>();
+                first[0] = true;
+            }
+            ids.add(event.transactionId());
+            return ids;
+        });
+        // A refresh already queued for the budget picks this write up as well
+        if (first[0]) {
+            scheduleRefresh(event.budgetId());
+        }
+    }
+
+    private void scheduleRefresh(Long budgetId) {
+        try {
+            loader.execute(() -> applyPendingWrites(budgetId));
+        } catch (TaskRejectedException e) {
+            // Busy: drop the columns rather than serve them without the writes
+            discard(budgetId);
+        }
+    }
+
+    /**
+     * Re-reads the rows of the budget's pending writes and applies them. Writes committed
+     * meanwhile stay pending and are applied by another run.
+     */
+    private void applyPendingWrites(Long budgetId) {
+        Set<Long> transactionIds = new HashSet<>();
+        pendingWrites.computeIfPresent(budgetId, (id, ids) -> {
+            transactionIds.addAll(ids);
+            ids.clear();
+            return ids;
+        });
+        try {
+            BudgetColumns columns = cache.asMap().get(budgetId);
+            if (columns != null && !transactionIds.isEmpty()) {
+                refresh(columns, transactionIds);
+                // Recomputing through the map re-weighs the entry
+                cache.asMap().computeIfPresent(budgetId, (id, current) -> current);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Refreshing columns of budget {} failed, dropping them", budgetId, e);
+            discard(budgetId);
+            return;
+        }
+        boolean[] more = new boolean[1];
+        pendingWrites.computeIfPresent(budgetId, (id, ids) -> {
+            more[0] = !ids.isEmpty();
+            return more[0] ? ids : null;
+        });
+        if (more[0]) {
+            scheduleRefresh(budgetId);
+        }
+    }
+
+    private void discard(Long budgetId) {
+        cache.invalidate(budgetId);
+        pendingWrites.remove(budgetId);
+    }
+
+    private void scheduleLoad(Long budgetId) {
+        PendingLoad pending = new PendingLoad();
+        if (loading.putIfAbsent(budgetId, pending) != null) {
+            return;
+        }
+        try {
+            loader.execute(() -> runLoad(budgetId, pending, true));
+        } catch (TaskRejectedException e) {
+            // Busy: a later miss will try again
+            loading.remove(budgetId, pending);
+            pending.result.complete(null);
+        }
+    }
+
+    private BudgetColumns runLoad(Long budgetId, PendingLoad pending, boolean checkSize) {
+        BudgetColumns columns = null;
+        try {
+            long transactionCount = budgetLedgerRepository.findById(budgetId)
+                    .map(BudgetLedger::getTransactionCount)
+                    .orElse(0L);
+            if (checkSize && transactionCount < minTransactions) {
+                tooSmall.put(budgetId, Boolean.TRUE);
+                return null;
+            }
+
+            BudgetColumns loaded = new BudgetColumns((int) Math.min(transactionCount, Integer.MAX_VALUE - 8));
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(LOAD_SQL);
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setLong(1, budgetId);
+                return statement;
+            }, (RowCallbackHandler) rs -> loaded.append(
+                    rs.getLong(1),
+                    Transaction.Type.valueOf(rs.getString(4)),
+                    rs.getObject(2, LocalDate.class),
+                    rs.getObject(5, Integer.class),
+                    rs.getLong(3))));
+            columns = loaded;
+            return columns;
+        } catch (RuntimeException e) {
+            log.warn("Loading columns of budget {} failed, analytics fall back to SQL", budgetId, e);
+            return null;
+        } finally {
+            synchronized (pending) {
+                if (columns != null) {
+                    if (!pending.events.isEmpty()) {
+                        Set<Long> transactionIds = new HashSet<>();
+                        for (TransactionChangedEvent event : pending.events) {
+                            transactionIds.add(event.transactionId());
+                        }
+                        refresh(columns, transactionIds);
+                    }
+                    cache.put(budgetId, columns);
+                }
+                pending.done = true;
+            }
+            loading.remove(budgetId, pending);
+            pending.result.complete(columns);
+        }
+    }
+
+    /**
+     * Copies the transactions' committed rows into the columns, and removes those whose row is
+     * gone. Refreshes of one budget run one at a time on its columns, so the last one to run
+     * reads after the last commit, whatever order the events arrived in.
+     */
+    private void refresh(BudgetColumns columns, Set<Long> transactionIds) {
+        synchronized (columns) {
+            Set<Long> missing = new HashSet<>(transactionIds);
+            refreshTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(ROWS_SQL);
+                statement.setArray(1, connection.createArrayOf("bigint", transactionIds.toArray()));
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                long transactionId = rs.getLong(1);
+                missing.remove(transactionId);
+                columns.upsert(transactionId, new TransactionRollupService.Entry(
+                        Transaction.Type.valueOf(rs.getString(2)),
+                        rs.getObject(3, LocalDate.class),
+                        rs.getObject(4, Integer.class),
+                        rs.getLong(5)));
+            }));
+            for (Long transactionId : missing) {
+                columns.remove(transactionId);
+            }
+        }
+    }
+
+    /**
+     * A load in progress and the writes that committed while it was running.
+     */
+    private static final class PendingLoad {
+        private final List<TransactionChangedEvent> events = new ArrayList<>();
+        private final CompletableFuture<BudgetColumns> result = new CompletableFuture<>();
+        private boolean done;
+    }
+}
@@ -1,19 +1,32 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.config.CacheConfig;
 import com.example.budgettracker.model.CustomUserDetails;
 import com.example.budgettracker.model.User;
 import com.example.budgettracker.repository.UserRepository;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Custom implementation of Spring Security's UserDetailsService.
  * Responsible for loading user-specific data for authentication.
+ *
+ * Login ({@link #loadUserByUsername}) always reads the user, password hash included, from the
+ * database. Requests authenticated by a token use {@link #loadAuthenticatedUser}, whose results
+ * are cached per username (see {@link CacheConfig#USER_DETAILS_CACHE}) as immutable snapshots
+ * without the password; {@link UserService} evicts an entry once a change of that user's roles
+ * or the user's deletion commits.
+ *
+ * Also implements {@link UserDetailsPasswordService}, so Spring Security can store a rehashed
+ * password after a successful login when the stored BCrypt cost is outdated.
  */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -31,11 +44,47 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return load(username);
+    }
+
+    /**
+     * Loads the details of a user who is already authenticated (e.g. by a token), without the
+     * password hash. Served from the cache when possible.
+     *
+     * @param username the authenticated username
+     * @return UserDetails object containing the user's roles, but no credentials
+     * @throws UsernameNotFoundException if the user is not found
+     */
+    @Cacheable(cacheNames = CacheConfig.USER_DETAILS_CACHE, key = "#username")
+    public UserDetails loadAuthenticatedUser(String username) throws UsernameNotFoundException {
+        return load(username).withoutPassword();
+    }
+
+    private CustomUserDetails load(String username) {
         // Fetch the user from the database
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        // Wrap the user in a UserDetails implementation (for Spring Security)
+        // Take a snapshot of the user in a UserDetails implementation (for Spring Security)
         return new CustomUserDetails(user);
     }
+
+    /**
+     * Stores a rehashed password for a user.
+     * Called by Spring Security after a successful login when the encoding needs an upgrade.
+     * The cached details hold no password, so they stay valid.
+     *
+     * @param user        the authenticated user
+     * @param newPassword the new password hash
+     * @return the updated user details
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByUsername(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + user.getUsername()));
+
+        entity.setPassword(newPassword);
+        return new CustomUserDetails(userRepository.save(entity));
+    }
 }
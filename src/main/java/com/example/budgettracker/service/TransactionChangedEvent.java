@@ -0,0 +1,15 @@
+package com.example.budgettracker.service;
+
+/**
+ * Published by {@link TransactionService} for every transaction write and delivered to
+ * listeners after the writing database transaction commits.
+ * <p>
+ * Events of different transactions may be delivered in any order, and so may two writes of
+ * one transaction committed on different threads. Listeners therefore read the transaction's
+ * current committed row rather than rely on values carried by the event.
+ *
+ * @param budgetId      the budget the transaction belongs (or belonged) to
+ * @param transactionId the transaction ID
+ */
+public record TransactionChangedEvent(Long budgetId, Long transactionId) {
+}
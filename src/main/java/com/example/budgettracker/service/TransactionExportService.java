@@ -0,0 +1,91 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.response.TransactionResponse;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.repository.BudgetRepository;
+import com.example.budgettracker.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes every transaction of a budget as one JSON array, for clients that need the
+ * complete list (backups, spreadsheet sync) rather than pages.
+ * <p>
+ * Memory use does not depend on the size of the budget: rows are read through a
+ * forward-only cursor ({@link TransactionRepository#streamByBudgetId}), each one is written
+ * to the output as soon as it is read, and the persistence context is cleared every
+ * {@value #DETACH_INTERVAL} rows so the entities already written can be collected.
+ */
+@Service
+public class TransactionExportService {
+
+    /** Number of rows after which the written entities are detached. */
+    static final int DETACH_INTERVAL = TransactionRepository.STREAM_FETCH_SIZE;
+
+    private final TransactionRepository transactionRepository;
+    private final BudgetRepository budgetRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportService(TransactionRepository transactionRepository,
+                                    BudgetRepository budgetRepository,
+                                    EntityManager entityManager,
+                                    ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.budgetRepository = budgetRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Checks that a budget exists and is owned by the user, before anything of an export
+     * (e.g. the response headers) is written.
+     *
+     * @param budgetId the budget's ID
+     * @param username the user requesting the export
+     * @throws IllegalArgumentException if the budget doesn't exist or access is denied
+     */
+    @Transactional(readOnly = true)
+    public void checkAccess(Long budgetId, String username) {
+        if (!budgetRepository.existsByIdAndOwnerUsername(budgetId, username)) {
+            throw new IllegalArgumentException("Budget not found or access denied");
+        }
+    }
+
+    /**
+     * Writes all transactions of a budget to the output as a JSON array of
+     * {@link TransactionResponse} objects, ordered by date, then ID.
+     * The caller must have checked access with {@link #checkAccess}. The output is flushed, not closed.
+     *
+     * @param budgetId the budget's ID
+     * @param out      the stream to write to
+     * @return the number of exported transactions
+     * @throws IOException if writing to the output fails
+     */
+    @Transactional(readOnly = true)
+    public long exportTransactions(Long budgetId, OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<Transaction> transactions = transactionRepository.streamByBudgetId(budgetId);
+             JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.writeStartArray();
+            for (Iterator<Transaction> it = transactions.iterator(); it.hasNext(); ) {
+                json.writeObject(new TransactionResponse(it.next()));
+                if (++count % DETACH_INTERVAL == 0) {
+                    json.flush();
+                    entityManager.clear();
+                }
+            }
+            json.writeEndArray();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.repository.BudgetLedgerRepository;
+import com.example.budgettracker.repository.BudgetRepository;
+import com.example.budgettracker.repository.TransactionRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Maintains the monthly/category rollup table ({@code transaction_rollups}) that backs
+ * {@link AnalyticsService}.
+ * <p>
+ * {@link TransactionService} reports every write here inside its database transaction, after
+ * updating the budget ledger. An update that changes the date, type or category moves the
+ * amount from the old bucket to the new one; buckets left empty are deleted.
+ * <p>
+ * {@link #rebuild(Long)} repopulates a budget's buckets from its raw transactions. It first
+ * locks the budget's ledger row, which every writer also updates before touching the rollups,
+ * so a rebuild can run while the budget is being written to without losing or double-counting
+ * a concurrent write.
+ */
+@Service
+public class TransactionRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionRollupService.class);
+
+    private final TransactionRollupRepository transactionRollupRepository;
+    private final BudgetLedgerRepository budgetLedgerRepository;
+    private final BudgetRepository budgetRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransactionRollupService(TransactionRollupRepository transactionRollupRepository,
+                                    BudgetLedgerRepository budgetLedgerRepository,
+                                    BudgetRepository budgetRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.transactionRollupRepository = transactionRollupRepository;
+        this.budgetLedgerRepository = budgetLedgerRepository;
+        this.budgetRepository = budgetRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * The values of a transaction that determine its rollup bucket and contribution.
+     *
+     * @param type        the transaction type
+     * @param date        the transaction date
+     * @param categoryId  the category ID, or null
+     * @param amountCents the amount in cents
+     */
+    public record Entry(Transaction.Type type, LocalDate date, Integer categoryId, long amountCents) {
+
+        /**
+         * Captures the current values of a transaction (e.g. before it is modified).
+         */
+        public static Entry of(Transaction transaction) {
+            return new Entry(transaction.getType(), transaction.getDate(),
+                    transaction.getCategoryId(), transaction.getAmountCents());
+        }
+
+        boolean sameBucketAs(Entry other) {
+            return type == other.type
+                    && date.getYear() == other.date.getYear()
+                    && date.getMonthValue() == other.date.getMonthValue()
+                    && bucketCategory() == other.bucketCategory();
+        }
+
+        int bucketCategory() {
+            return categoryId == null ? Category.NONE : categoryId;
+        }
+    }
+
+    /**
+     * Accounts for a new transaction. Must be called inside the writing transaction.
+     *
+     * @param budgetId the budget the transaction belongs to
+     * @param entry    the new transaction's values
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAdded(Long budgetId, Entry entry) {
+        apply(budgetId, entry, entry.amountCents(), 1);
+    }
+
+    /**
+     * Accounts for a removed transaction. Must be called inside the writing transaction.
+     *
+     * @param budgetId the budget the transaction belonged to
+     * @param entry    the removed transaction's values
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordRemoved(Long budgetId, Entry entry) {
+        apply(budgetId, entry, -entry.amountCents(), -1);
+        deleteIfEmpty(budgetId, entry);
+    }
+
+    /**
+     * Accounts for an updated transaction, moving it between buckets if its date, type or
+     * category changed. Must be called inside the writing transaction.
+     *
+     * @param budgetId the budget the transaction belongs to
+     * @param before   the values before the update
+     * @param after    the values after the update
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanged(Long budgetId, Entry before, Entry after) {
+        if (before.sameBucketAs(after)) {
+            if (before.amountCents() != after.amountCents()) {
+                apply(budgetId, after, after.amountCents() - before.amountCents(), 0);
+            }
+            return;
+        }
+        recordRemoved(budgetId, before);
+        recordAdded(budgetId, after);
+    }
+
+    /**
+     * Repopulates one budget's rollups from its transactions, in one transaction.
+     *
+     * @param budgetId the budget ID
+     * @return the number of buckets written
+     */
+    public int rebuild(Long budgetId) {
+        Integer buckets = transactionTemplate.execute(status -> {
+            budgetLedgerRepository.applyDelta(budgetId, 0, 0, 0); // lock out concurrent writers
+            transactionRollupRepository.deleteByBudgetId(budgetId);
+            return transactionRollupRepository.populateFromTransactions(budgetId);
+        });
+        return buckets == null ? 0 : buckets;
+    }
+
+    /**
+     * Repopulates the rollups of every budget, one transaction per budget. A budget that fails,
+     * e.g. because it was deleted after the IDs were read, is logged and skipped.
+     *
+     * @return the total number of buckets written
+     */
+    public int rebuildAll() {
+        int buckets = 0;
+        int failed = 0;
+        for (Long budgetId : budgetRepository.findAllIds()) {
+            try {
+                buckets += rebuild(budgetId);
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("Transaction rollups of budget {} could not be rebuilt", budgetId, e);
+            }
+        }
+        log.info("Transaction rollups rebuilt: {} buckets, {} budgets failed", buckets, failed);
+        return buckets;
+    }
+
+    /**
+     * Builds rollups for budgets that have transactions but none yet (e.g. created before the
+     * rollup table existed). A budget that fails is logged and skipped, like in {@link #rebuildAll()}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildMissingRollups() {
+        int failed = 0;
+        for (Long budgetId : transactionRollupRepository.findBudgetIdsMissingRollups()) {
+            try {
+                rebuild(budgetId);
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("Transaction rollups of budget {} could not be built", budgetId, e);
+            }
+        }
+        if (failed > 0) {
+            log.warn("Missing transaction rollups could not be built for {} budgets", failed);
+        }
+    }
+
+    private void apply(Long budgetId, Entry entry, long amountDelta, long countDelta) {
+        transactionRollupRepository.applyDelta(budgetId,
+                entry.date().getYear(), entry.date().getMonthValue(),
+                entry.type().name(), entry.bucketCategory(),
+                amountDelta, countDelta);
+    }
+
+    private void deleteIfEmpty(Long budgetId, Entry entry) {
+        transactionRollupRepository.deleteIfEmpty(budgetId,
+                entry.date().getYear(), entry.date().getMonthValue(),
+                entry.type().name(), entry.bucketCategory());
+    }
+}
@@ -1,26 +1,75 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.request.TransactionCursor;
+import com.example.budgettracker.dto.request.TransactionFilter;
+import com.example.budgettracker.dto.response.TransactionPage;
+import com.example.budgettracker.dto.response.TransactionResponse;
+import com.example.budgettracker.dto.response.TransactionSearchPage;
 import com.example.budgettracker.model.Budget;
 import com.example.budgettracker.model.Transaction;
 import com.example.budgettracker.repository.BudgetRepository;
 import com.example.budgettracker.repository.TransactionRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service class handling all business logic related to transactions.
  * Ensures user-level access control for all operations.
+ *
+ * Ownership is checked with owner-scoped repository queries (budget joined to its owner
+ * by username), so authorization is a single indexed lookup and never loads the owner.
+ * Every write also updates the budget's running totals ({@link BudgetLedgerService}) and then
+ * the analytics rollups ({@link TransactionRollupService}) in the same database transaction.
+ * The ledger must be updated first: its row lock is what rollup rebuilds synchronize on.
+ * Updates and deletes lock the transaction row before reading it, so concurrent writers of one
+ * transaction apply their deltas one after the other, each from the previous committed values.
+ * Each write finally publishes a {@link TransactionChangedEvent}, delivered after commit.
+ * Category names are stored as IDs of the owner's categories ({@link CategoryDictionary}).
  */
 @Service
 public class TransactionService {
 
+    /** Page size of the transaction list when the client does not ask for one. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /** Upper bound on the page size of the transaction list. */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /** Shortest search text: shorter text has no trigram to look up in the index. */
+    public static final int MIN_SEARCH_LENGTH = 3;
+
+    /** Longest search text. */
+    public static final int MAX_SEARCH_LENGTH = 100;
+
+    /** Number of best matches a search ranks and pages through; later ranks are not returned. */
+    public static final int MAX_SEARCH_RESULTS = 1000;
+
     private final TransactionRepository transactionRepository;
     private final BudgetRepository budgetRepository;
-
-    public TransactionService(TransactionRepository transactionRepository, BudgetRepository budgetRepository) {
+    private final BudgetLedgerService budgetLedgerService;
+    private final TransactionRollupService transactionRollupService;
+    private final CategoryDictionary categoryDictionary;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TransactionService(TransactionRepository transactionRepository,
+                              BudgetRepository budgetRepository,
+                              BudgetLedgerService budgetLedgerService,
+                              TransactionRollupService transactionRollupService,
+                              CategoryDictionary categoryDictionary,
+                              ApplicationEventPublisher eventPublisher) {
         this.transactionRepository = transactionRepository;
         this.budgetRepository = budgetRepository;
+        this.budgetLedgerService = budgetLedgerService;
+        this.transactionRollupService = transactionRollupService;
+        this.categoryDictionary = categoryDictionary;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -32,29 +81,113 @@ public class TransactionService {
      * @return the saved transaction
      * @throws IllegalArgumentException if the budget doesn't exist or user doesn't own it
      */
+    @Transactional
     public Transaction addTransaction(Long budgetId, Transaction transaction, String username) {
-        Budget budget = budgetRepository.findById(budgetId)
-                .filter(b -> b.getOwner().getUsername().equals(username))
+        Long ownerId = budgetRepository.findOwnerIdByIdAndOwnerUsername(budgetId, username)
                 .orElseThrow(() -> new IllegalArgumentException("Budget not found or access denied"));
 
+        // Ownership is verified; a reference is enough to set the foreign key
+        Budget budget = budgetRepository.getReferenceById(budgetId);
         transaction.setBudget(budget);
-        return transactionRepository.save(transaction);
+        transaction.setCategory(CategoryDictionary.normalize(transaction.getCategory()));
+        transaction.setCategoryId(categoryDictionary.idOf(ownerId, transaction.getCategory()));
+        Transaction saved = transactionRepository.save(transaction);
+
+        TransactionRollupService.Entry entry = TransactionRollupService.Entry.of(saved);
+        budgetLedgerService.recordAdded(budgetId, saved.getType(), saved.getAmountCents());
+        transactionRollupService.recordAdded(budgetId, entry);
+        eventPublisher.publishEvent(new TransactionChangedEvent(budgetId, saved.getId()));
+        return saved;
     }
 
     /**
-     * Retrieves all transactions for a given budget.
+     * Retrieves one page of a budget's transactions matching a filter, in the filter's
+     * (date, id) order (keyset pagination). The filter must stay the same from page to page;
+     * the cursor records it, so callers can reject a mismatch ({@link TransactionCursor#matches}).
+     * One extra row is read to tell whether another page follows. The page is selected straight
+     * into DTOs; no entity is loaded.
      *
      * @param budgetId the budget's ID
+     * @param filter   the conditions and order ({@link TransactionFilter#NONE} for all, oldest first)
+     * @param after    the cursor returned with the previous page, or null for the first page
+     * @param pageSize the maximum number of transactions (1 to {@link #MAX_PAGE_SIZE})
      * @param username the user requesting the data
-     * @return list of transactions
+     * @return the page, with the cursor of the next page if there is one
      * @throws IllegalArgumentException if the budget doesn't exist or access is denied
      */
-    public List<Transaction> getTransactions(Long budgetId, String username) {
-        budgetRepository.findById(budgetId)
-                .filter(b -> b.getOwner().getUsername().equals(username))
+    @Transactional(readOnly = true)
+    public TransactionPage getTransactionPage(Long budgetId, TransactionFilter filter, TransactionCursor after,
+                                              int pageSize, String username) {
+        Long ownerId = budgetRepository.findOwnerIdByIdAndOwnerUsername(budgetId, username)
                 .orElseThrow(() -> new IllegalArgumentException("Budget not found or access denied"));
 
-        return transactionRepository.findByBudgetId(budgetId);
+        Set<Integer> categoryIds = null;
+        if (filter.hasCategories()) {
+            categoryIds = categoryDictionary.existingIdsOf(ownerId, filter.categories());
+            if (categoryIds.isEmpty()) {
+                // None of the names was ever used by this user
+                return new TransactionPage(List.of(), null);
+            }
+        }
+
+        List<TransactionResponse> transactions =
+                transactionRepository.findPage(budgetId, filter, categoryIds, after, pageSize + 1);
+
+        boolean hasNext = transactions.size() > pageSize;
+        List<TransactionResponse> page = hasNext ? transactions.subList(0, pageSize) : transactions;
+        String nextCursor = null;
+        if (hasNext) {
+            TransactionResponse last = page.get(page.size() - 1);
+            nextCursor = new TransactionCursor(last.getDate(), last.getId(), filter).encode();
+        }
+        return new TransactionPage(page, nextCursor);
+    }
+
+    /**
+     * Searches a budget's transactions by description: case-insensitive substring matches first,
+     * then fuzzy matches of a word (e.g. "amazn" finds "Amazon order"), each ranked by similarity,
+     * then newest first. Pages are requested by offset; one extra row is read to tell whether
+     * another page follows. Only the first {@link #MAX_SEARCH_RESULTS} ranks are returned, so a
+     * broad term costs no more than a selective one.
+     *
+     * @param budgetId the budget's ID
+     * @param query    the search text ({@link #MIN_SEARCH_LENGTH} to {@link #MAX_SEARCH_LENGTH}
+     *                 characters after trimming)
+     * @param offset   the number of ranked matches to skip
+     * @param pageSize the maximum number of transactions (1 to {@link #MAX_PAGE_SIZE})
+     * @param username the user requesting the data
+     * @return the page, with the offset of the next page if there is one
+     * @throws IllegalArgumentException if the budget doesn't exist or access is denied
+     */
+    @Transactional(readOnly = true)
+    public TransactionSearchPage searchTransactions(Long budgetId, String query, int offset, int pageSize,
+                                                    String username) {
+        if (!budgetRepository.existsByIdAndOwnerUsername(budgetId, username)) {
+            throw new IllegalArgumentException("Budget not found or access denied");
+        }
+
+        int limit = Math.min(pageSize + 1, MAX_SEARCH_RESULTS - offset);
+        if (limit <= 0) {
+            return new TransactionSearchPage(List.of(), null);
+        }
+
+        String text = query.trim();
+        String pattern = "%" + text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        List<Object[]> rows = transactionRepository.searchByDescription(budgetId, text, pattern, MAX_SEARCH_RESULTS,
+                offset, limit);
+
+        boolean hasNext = rows.size() > pageSize;
+        int size = hasNext ? pageSize : rows.size();
+        List<TransactionResponse> page = new ArrayList<>(size);
+        for (Object[] row : rows.subList(0, size)) {
+            page.add(new TransactionResponse(
+                    ((Number) row[0]).longValue(),
+                    ((Number) row[1]).longValue(),
+                    Transaction.Type.valueOf((String) row[2]),
+                    (String) row[3],
+                    row[4] instanceof Date date ? date.toLocalDate() : (LocalDate) row[4]));
+        }
+        return new TransactionSearchPage(page, hasNext ? offset + pageSize : null);
     }
 
     /**
@@ -66,19 +199,29 @@ public class TransactionService {
      * @return the updated transaction
      * @throws IllegalArgumentException if transaction not found or user not authorized
      */
+    @Transactional
     public Transaction updateTransaction(Long transactionId, Transaction updatedTransaction, String username) {
-        Transaction existing = transactionRepository.findById(transactionId)
-                .orElseThrow(() -> new IllegalArgumentException("Transaction not found"));
+        Transaction existing = transactionRepository.findForUpdateByIdAndBudgetOwnerUsername(transactionId, username)
+                .orElseThrow(() -> new IllegalArgumentException("Transaction not found or access denied"));
 
-        Budget budget = existing.getBudget();
-        if (!budget.getOwner().getUsername().equals(username)) {
-            throw new IllegalArgumentException("Access denied");
-        }
+        Long budgetId = existing.getBudget().getId();
+        Long ownerId = budgetRepository.findOwnerIdByIdAndOwnerUsername(budgetId, username)
+                .orElseThrow(() -> new IllegalArgumentException("Transaction not found or access denied"));
+        TransactionRollupService.Entry before = TransactionRollupService.Entry.of(existing);
 
-        existing.setAmount(updatedTransaction.getAmount());
+        existing.setAmountCents(updatedTransaction.getAmountCents());
         existing.setType(updatedTransaction.getType());
         existing.setDescription(updatedTransaction.getDescription());
         existing.setDate(updatedTransaction.getDate());
+        existing.setCategory(CategoryDictionary.normalize(updatedTransaction.getCategory()));
+        existing.setCategoryId(categoryDictionary.idOf(ownerId, existing.getCategory()));
+
+        budgetLedgerService.recordChanged(budgetId,
+                before.type(), before.amountCents(),
+                existing.getType(), existing.getAmountCents());
+        TransactionRollupService.Entry after = TransactionRollupService.Entry.of(existing);
+        transactionRollupService.recordChanged(budgetId, before, after);
+        eventPublisher.publishEvent(new TransactionChangedEvent(budgetId, transactionId));
 
         return transactionRepository.save(existing);
     }
@@ -90,15 +233,15 @@ public class TransactionService {
      * @param username      the user requesting deletion
      * @throws IllegalArgumentException if transaction not found or user not authorized
      */
+    @Transactional
     public void deleteTransaction(Long transactionId, String username) {
-        Transaction existing = transactionRepository.findById(transactionId)
-                .orElseThrow(() -> new IllegalArgumentException("Transaction not found"));
-
-        Budget budget = existing.getBudget();
-        if (!budget.getOwner().getUsername().equals(username)) {
-            throw new IllegalArgumentException("Access denied");
-        }
+        Transaction existing = transactionRepository.findForUpdateByIdAndBudgetOwnerUsername(transactionId, username)
+                .orElseThrow(() -> new IllegalArgumentException("Transaction not found or access denied"));
 
+        Long budgetId = existing.getBudget().getId();
+        budgetLedgerService.recordRemoved(budgetId, existing.getType(), existing.getAmountCents());
+        transactionRollupService.recordRemoved(budgetId, TransactionRollupService.Entry.of(existing));
         transactionRepository.delete(existing);
+        eventPublisher.publishEvent(new TransactionChangedEvent(budgetId, transactionId));
     }
 }
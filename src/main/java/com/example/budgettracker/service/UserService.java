@@ -1,11 +1,21 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.config.CacheConfig;
 import com.example.budgettracker.dto.request.RegistrationRequest;
 import com.example.budgettracker.exception.DuplicateResourceException;
 import com.example.budgettracker.model.User;
+import com.example.budgettracker.repository.BudgetRepository;
+import com.example.budgettracker.repository.TransactionRepository;
 import com.example.budgettracker.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -14,35 +24,44 @@ import java.util.Set;
  * Service class for managing user-related operations such as registration.
 
  * Handles validation, role assignment, and secure password encoding.
+ * Operations that change a user's roles or remove the user evict the cached
+ * {@code UserDetails} once their transaction commits, so a lookup that runs before the
+ * commit cannot put the old details back into the cache.
  */
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
+    private final BudgetRepository budgetRepository;
+    private final TransactionRepository transactionRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CategoryDictionary categoryDictionary;
+    private final CacheManager cacheManager;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository,
+                       BudgetRepository budgetRepository,
+                       TransactionRepository transactionRepository,
+                       PasswordEncoder passwordEncoder,
+                       CategoryDictionary categoryDictionary,
+                       CacheManager cacheManager) {
         this.userRepository = userRepository;
+        this.budgetRepository = budgetRepository;
+        this.transactionRepository = transactionRepository;
         this.passwordEncoder = passwordEncoder;
+        this.categoryDictionary = categoryDictionary;
+        this.cacheManager = cacheManager;
     }
 
     /**
      * Registers a new user.
-     * Validates username and email uniqueness, hashes the password,
-     * and saves the new user with a default "USER" role.
+     * Hashes the password and inserts the user with a default "USER" role in a single
+     * statement; uniqueness of username and email is enforced by the database's unique
+     * constraints, so concurrent registrations cannot both succeed.
      *
      * @param request the user registration request data
      * @throws DuplicateResourceException if the username or email is already in use
      */
     public void registerUser(RegistrationRequest request) {
-        if (userRepository.existsByUsername(request.username())) {
-            throw new DuplicateResourceException("Username is already taken.");
-        }
-
-        if (userRepository.existsByEmail(request.email())) {
-            throw new DuplicateResourceException("Email is already registered.");
-        }
-
         Set<String> roles = new HashSet<>();
         roles.add("USER"); // default role
 
@@ -53,6 +72,88 @@ public class UserService {
                 roles
         );
 
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateFor(e, request);
+        }
+    }
+
+    /**
+     * Maps a unique-constraint violation on insert to the matching duplicate error.
+     * Falls back to a lookup when the constraint name is unknown
+     * (e.g. constraints created before they were named).
+     */
+    private DuplicateResourceException duplicateFor(DataIntegrityViolationException e, RegistrationRequest request) {
+        String constraint = (e.getCause() instanceof ConstraintViolationException cve)
+                ? cve.getConstraintName()
+                : null;
+
+        if (User.USERNAME_CONSTRAINT.equalsIgnoreCase(constraint)) {
+            return new DuplicateResourceException("Username is already taken.");
+        }
+        if (User.EMAIL_CONSTRAINT.equalsIgnoreCase(constraint)) {
+            return new DuplicateResourceException("Email is already registered.");
+        }
+        if (userRepository.existsByUsername(request.username())) {
+            return new DuplicateResourceException("Username is already taken.");
+        }
+        if (userRepository.existsByEmail(request.email())) {
+            return new DuplicateResourceException("Email is already registered.");
+        }
+        throw e;
+    }
+
+    /**
+     * Replaces the roles of an existing user.
+     *
+     * @param username the username of the user to update
+     * @param roles    the new set of roles (e.g. USER, ADMIN)
+     * @throws IllegalArgumentException if the user does not exist
+     */
+    @Transactional
+    public void updateRoles(String username, Set<String> roles) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+        user.setRoles(new HashSet<>(roles));
         userRepository.save(user);
+        evictUserDetailsAfterCommit(username);
+    }
+
+    /**
+     * Deletes a user together with all of their budgets, transactions and categories,
+     * and evicts the user's cached details and categories after commit.
+     *
+     * @param username the username of the user to delete
+     * @throws IllegalArgumentException if the user does not exist
+     */
+    @Transactional
+    public void deleteUser(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+        transactionRepository.deleteByOwnerId(user.getId());
+        budgetRepository.deleteByOwnerId(user.getId());
+        userRepository.delete(user);
+        categoryDictionary.evictUser(user.getId());
+        evictUserDetailsAfterCommit(username);
+    }
+
+    private void evictUserDetailsAfterCommit(String username) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_DETAILS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(username);
+                }
+            });
+        } else {
+            cache.evict(username);
+        }
     }
 }
@@ -0,0 +1,90 @@
+-- Baseline schema, as previously created by Hibernate (ddl-auto=update).
+-- Every statement is guarded so this also applies cleanly to databases that
+-- already have the schema (spring.flyway.baseline-version=0).
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+CREATE INDEX IF NOT EXISTS idx_username ON users (username);
+CREATE INDEX IF NOT EXISTS idx_email ON users (email);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL,
+    roles   VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS budgets (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount  FLOAT(53) NOT NULL,
+    user_id BIGINT,
+    name    VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    amount      FLOAT(53) NOT NULL,
+    date        DATE NOT NULL,
+    budget_id   BIGINT NOT NULL,
+    category    VARCHAR(64),
+    description VARCHAR(255),
+    type        VARCHAR(255) NOT NULL CHECK (type IN ('INCOME', 'EXPENSE'))
+);
+CREATE INDEX IF NOT EXISTS idx_budget_id ON transactions (budget_id);
+CREATE INDEX IF NOT EXISTS idx_transaction_date ON transactions (date);
+CREATE INDEX IF NOT EXISTS idx_budget_category ON transactions (budget_id, category);
+
+CREATE TABLE IF NOT EXISTS budget_ledgers (
+    budget_id         BIGINT NOT NULL PRIMARY KEY,
+    total_income      FLOAT(53) NOT NULL,
+    total_expense     FLOAT(53) NOT NULL,
+    transaction_count BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS transaction_rollups (
+    budget_id    BIGINT NOT NULL,
+    period_year  INTEGER NOT NULL,
+    period_month INTEGER NOT NULL,
+    type         VARCHAR(16) NOT NULL CHECK (type IN ('INCOME', 'EXPENSE')),
+    category     VARCHAR(64) NOT NULL,
+    total        FLOAT(53) NOT NULL,
+    tx_count     BIGINT NOT NULL,
+    PRIMARY KEY (period_month, period_year, budget_id, type, category)
+);
+CREATE INDEX IF NOT EXISTS idx_rollups_budget_type_month
+    ON transaction_rollups (budget_id, type, period_year, period_month, total);
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti        VARCHAR(64) NOT NULL PRIMARY KEY,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+-- Foreign keys keep the names Hibernate generated, so existing databases are recognised.
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkhfh9dx7w3ubf1co1vdev94g3f') THEN
+        ALTER TABLE user_roles ADD CONSTRAINT fkhfh9dx7w3ubf1co1vdev94g3f
+            FOREIGN KEY (user_id) REFERENCES users;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkln0tm5tgf3f9q3sp9sa5m8m7b') THEN
+        ALTER TABLE budgets ADD CONSTRAINT fkln0tm5tgf3f9q3sp9sa5m8m7b
+            FOREIGN KEY (user_id) REFERENCES users;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk72hg9l0h9etv2h69eg6mk5dpc') THEN
+        ALTER TABLE transactions ADD CONSTRAINT fk72hg9l0h9etv2h69eg6mk5dpc
+            FOREIGN KEY (budget_id) REFERENCES budgets;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkps4dtyjb9ayneqxv5u0u921w7') THEN
+        ALTER TABLE budget_ledgers ADD CONSTRAINT fkps4dtyjb9ayneqxv5u0u921w7
+            FOREIGN KEY (budget_id) REFERENCES budgets ON DELETE CASCADE;
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fkavtovpdugydcid969lxlenu9') THEN
+        ALTER TABLE transaction_rollups ADD CONSTRAINT fkavtovpdugydcid969lxlenu9
+            FOREIGN KEY (budget_id) REFERENCES budgets ON DELETE CASCADE;
+    END IF;
+END $$;
@@ -0,0 +1,3 @@
+-- Budgets are listed by owner (GET /api/budgets, GET /api/dashboard); without this
+-- index every such query scans the whole budgets table.
+CREATE INDEX IF NOT EXISTS idx_budgets_user_id ON budgets (user_id);
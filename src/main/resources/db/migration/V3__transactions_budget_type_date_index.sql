@@ -0,0 +1,5 @@
+-- Time series (WHERE budget_id = ? AND type = ? AND date BETWEEN ? AND ?, SUM(amount) per bucket)
+-- read only the requested date range, index-only. The trailing id also serves the transaction
+-- list filtered by type, in (date, id) keyset order either way without a sort.
+CREATE INDEX IF NOT EXISTS idx_transactions_budget_type_date
+    ON transactions (budget_id, type, date, id) INCLUDE (amount);
@@ -0,0 +1,43 @@
+-- Store money as exact integer cents (BIGINT) instead of double precision.
+-- Existing amounts are rounded to the nearest cent; the ledger and rollup totals are then
+-- recomputed from the converted transactions, so they carry no accumulated float drift.
+
+ALTER TABLE transactions ALTER COLUMN amount TYPE BIGINT USING round(CAST(amount AS numeric) * 100);
+ALTER TABLE transactions RENAME COLUMN amount TO amount_cents;
+
+ALTER TABLE budgets ALTER COLUMN amount TYPE BIGINT USING round(CAST(amount AS numeric) * 100);
+ALTER TABLE budgets RENAME COLUMN amount TO amount_cents;
+
+ALTER TABLE budget_ledgers
+    ALTER COLUMN total_income TYPE BIGINT USING round(CAST(total_income AS numeric) * 100),
+    ALTER COLUMN total_expense TYPE BIGINT USING round(CAST(total_expense AS numeric) * 100);
+ALTER TABLE budget_ledgers RENAME COLUMN total_income TO total_income_cents;
+ALTER TABLE budget_ledgers RENAME COLUMN total_expense TO total_expense_cents;
+
+ALTER TABLE transaction_rollups ALTER COLUMN total TYPE BIGINT USING round(CAST(total AS numeric) * 100);
+ALTER TABLE transaction_rollups RENAME COLUMN total TO total_cents;
+
+UPDATE budget_ledgers l SET
+    total_income_cents = a.income,
+    total_expense_cents = a.expense,
+    transaction_count = a.cnt
+FROM (SELECT b.id,
+             COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount_cents END), 0) AS income,
+             COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount_cents END), 0) AS expense,
+             COUNT(t.id) AS cnt
+      FROM budgets b
+      LEFT JOIN transactions t ON t.budget_id = b.id
+      GROUP BY b.id) a
+WHERE l.budget_id = a.id;
+
+UPDATE transaction_rollups r SET total_cents = a.total
+FROM (SELECT t.budget_id,
+             EXTRACT(YEAR FROM t.date)::int AS period_year,
+             EXTRACT(MONTH FROM t.date)::int AS period_month,
+             t.type,
+             COALESCE(t.category, '') AS category,
+             SUM(t.amount_cents) AS total
+      FROM transactions t
+      GROUP BY 1, 2, 3, 4, 5) a
+WHERE r.budget_id = a.budget_id AND r.period_year = a.period_year AND r.period_month = a.period_month
+  AND r.type = a.type AND r.category = a.category;
@@ -0,0 +1,62 @@
+-- Dictionary-encode transaction categories: each user's category names are stored once in
+-- categories and transactions reference them by integer id, so grouping and the category
+-- indexes work on 4-byte ints instead of repeated strings.
+-- Existing names are deduplicated per user after trimming; blank names become uncategorized.
+
+-- Categories belong to the budget's owner. A named category on a budget without an owner has
+-- nowhere to go and would be lost with the column, so the migration refuses to run instead:
+-- assign those budgets an owner (or clear the categories) first.
+DO $$
+DECLARE
+    orphaned BIGINT;
+BEGIN
+    SELECT COUNT(*) INTO orphaned
+    FROM transactions t
+    JOIN budgets b ON b.id = t.budget_id
+    WHERE b.user_id IS NULL AND btrim(t.category) <> '';
+    IF orphaned > 0 THEN
+        RAISE EXCEPTION '% transactions have a category on a budget without an owner', orphaned;
+    END IF;
+END $$;
+
+CREATE TABLE categories (
+    id      INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users ON DELETE CASCADE,
+    name    VARCHAR(64) NOT NULL,
+    CONSTRAINT uk_categories_user_name UNIQUE (user_id, name)
+);
+
+INSERT INTO categories (user_id, name)
+SELECT DISTINCT b.user_id, btrim(t.category)
+FROM transactions t
+JOIN budgets b ON b.id = t.budget_id
+WHERE b.user_id IS NOT NULL AND btrim(t.category) <> '';
+
+ALTER TABLE transactions ADD COLUMN category_id INTEGER REFERENCES categories;
+
+UPDATE transactions t SET category_id = c.id
+FROM budgets b, categories c
+WHERE b.id = t.budget_id AND c.user_id = b.user_id AND c.name = btrim(t.category);
+
+-- Replaced by idx_transactions_budget_category_date (V7), which serves the category filter.
+DROP INDEX IF EXISTS idx_budget_category;
+ALTER TABLE transactions DROP COLUMN category;
+
+-- Rollups are keyed by category id, 0 for uncategorized (ids start at 1), and rebuilt
+-- from the re-encoded transactions.
+DELETE FROM transaction_rollups;
+ALTER TABLE transaction_rollups DROP CONSTRAINT transaction_rollups_pkey;
+ALTER TABLE transaction_rollups DROP COLUMN category;
+ALTER TABLE transaction_rollups ADD COLUMN category_id INTEGER NOT NULL;
+ALTER TABLE transaction_rollups ADD PRIMARY KEY (period_month, period_year, budget_id, type, category_id);
+
+INSERT INTO transaction_rollups (budget_id, period_year, period_month, type, category_id, total_cents, tx_count)
+SELECT t.budget_id,
+       EXTRACT(YEAR FROM t.date)::int,
+       EXTRACT(MONTH FROM t.date)::int,
+       t.type,
+       COALESCE(t.category_id, 0),
+       SUM(t.amount_cents),
+       COUNT(*)
+FROM transactions t
+GROUP BY 1, 2, 3, 4, 5;
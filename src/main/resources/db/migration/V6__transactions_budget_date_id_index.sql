@@ -0,0 +1,7 @@
+-- Transactions are listed per budget in (date, id) order, one keyset page at a time
+-- (WHERE budget_id = ? AND (date, id) > (?, ?) ORDER BY date, id LIMIT ?). With this index
+-- every page, however deep, is a range scan that stops after the page size.
+CREATE INDEX IF NOT EXISTS idx_transactions_budget_date_id ON transactions (budget_id, date, id);
+
+-- Superseded: budget_id is the leading column of the index above.
+DROP INDEX IF EXISTS idx_budget_id;
@@ -0,0 +1,15 @@
+-- Indexes for the filtered transaction list (GET /api/budgets/{id}/transactions with
+-- from/to, type, category, minAmount/maxAmount). A date range alone is served by
+-- idx_transactions_budget_date_id (V6), a type filter by idx_transactions_budget_type_date (V3).
+
+-- Category filter: only the rows of the selected categories are read, then sorted by date.
+CREATE INDEX IF NOT EXISTS idx_transactions_budget_category_date
+    ON transactions (budget_id, category_id, date, id);
+
+-- Amount range filter (e.g. every expense over 500.00).
+CREATE INDEX IF NOT EXISTS idx_transactions_budget_amount
+    ON transactions (budget_id, amount_cents);
+
+-- Unused: every query on transactions filters on budget_id first. Dropping it offsets
+-- part of the write cost of the indexes above.
+DROP INDEX IF EXISTS idx_transaction_date;
@@ -0,0 +1,13 @@
+-- Description search (GET /api/budgets/{id}/transactions/search): case-insensitive substring
+-- (ILIKE '%...%') and fuzzy word matching (<%) within one budget, ranked by word similarity.
+-- A GiST trigram index answers both and also supports the word-similarity distance operator
+-- (<<->) as an index order: a nearest-neighbour scan returns the best matches first and stops
+-- after the ranked candidates, instead of scoring and sorting every match. pg_trgm provides
+-- the trigram operator class; btree_gist lets budget_id be a GiST column, so a search in one
+-- budget only reads that budget's entries.
+-- Both extensions are trusted (PG 13+): the database owner can create them.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE INDEX IF NOT EXISTS idx_transactions_budget_description_trgm
+    ON transactions USING gist (budget_id, description gist_trgm_ops);
@@ -4,6 +4,7 @@ import com.example.budgettracker.dto.request.LoginRequest;
 import com.example.budgettracker.dto.request.RegistrationRequest;
 import com.example.budgettracker.dto.request.TransactionRequest;
 import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.dto.response.AnalyticsPivotResponse;
 import com.example.budgettracker.dto.response.CategorySummary;
 import com.example.budgettracker.dto.response.MonthlySummary;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,13 +15,14 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.*;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
- * Integration tests for analytics endpoints (category and monthly summaries).
+ * Integration tests for analytics endpoints (category, monthly and pivot summaries).
  * Covers the full flow: registration → login → budget creation → transaction submission → analytics retrieval.
  */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -71,21 +73,21 @@ public class AnalyticsIntegrationTest {
 
         // Add transactions in different categories and months
         TransactionRequest t1 = new TransactionRequest();
-        t1.setAmount(200.0);
+        t1.setAmount(new BigDecimal("200.00"));
         t1.setType(Transaction.Type.EXPENSE);
         t1.setDescription("Groceries");
         t1.setCategory("Groceries");
         t1.setDate(LocalDate.of(2025, 5, 1));
 
         TransactionRequest t2 = new TransactionRequest();
-        t2.setAmount(100.0);
+        t2.setAmount(new BigDecimal("100.00"));
         t2.setType(Transaction.Type.EXPENSE);
         t2.setDescription("Utilities");
         t2.setCategory("Utilities");
         t2.setDate(LocalDate.of(2025, 5, 15));
 
         TransactionRequest t3 = new TransactionRequest();
-        t3.setAmount(1200.0);
+        t3.setAmount(new BigDecimal("1200.00"));
         t3.setType(Transaction.Type.INCOME);
         t3.setDescription("Salary");
         t3.setCategory("Salary");
@@ -139,11 +141,11 @@ public class AnalyticsIntegrationTest {
         boolean foundGroceries = false, foundUtilities = false;
         for (CategorySummary cs : response.getBody()) {
             if (cs.category().equals("Groceries")) {
-                assertThat(cs.total()).isEqualTo(200.0);
+                assertThat(cs.total()).isEqualByComparingTo("200");
                 foundGroceries = true;
             }
             if (cs.category().equals("Utilities")) {
-                assertThat(cs.total()).isEqualTo(100.0);
+                assertThat(cs.total()).isEqualByComparingTo("100");
                 foundUtilities = true;
             }
         }
@@ -185,13 +187,45 @@ public class AnalyticsIntegrationTest {
         boolean foundMay = false;
         for (MonthlySummary ms : response.getBody()) {
             if (ms.year() == 2025 && ms.month() == 5) {
-                assertThat(ms.total()).isEqualTo(300.0); // 200 + 100 from two expenses
+                assertThat(ms.total()).isEqualByComparingTo("300"); // 200 + 100 from two expenses
                 foundMay = true;
             }
         }
         assertThat(foundMay).isTrue();
     }
 
+    /**
+     * Verifies that the pivot endpoint returns category, monthly and grand totals
+     * for both types in one response.
+     */
+    @Test
+    public void getPivotAnalytics_success() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtToken);
+
+        ResponseEntity<AnalyticsPivotResponse> response = restTemplate.exchange(
+                "/api/budgets/" + budgetId + "/analytics/pivot",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                AnalyticsPivotResponse.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        AnalyticsPivotResponse pivot = response.getBody();
+        assertThat(pivot).isNotNull();
+        assertThat(pivot.budgetId()).isEqualTo(budgetId);
+
+        assertThat(pivot.expense().byCategory()).containsExactly(
+                new CategorySummary("Groceries", new BigDecimal("200.00")),
+                new CategorySummary("Utilities", new BigDecimal("100.00")));
+        assertThat(pivot.expense().byMonth()).containsExactly(new MonthlySummary(2025, 5, new BigDecimal("300.00")));
+        assertThat(pivot.expense().total()).isEqualByComparingTo("300");
+
+        assertThat(pivot.income().byCategory()).containsExactly(new CategorySummary("Salary", new BigDecimal("1200.00")));
+        assertThat(pivot.income().byMonth()).containsExactly(new MonthlySummary(2025, 6, new BigDecimal("1200.00")));
+        assertThat(pivot.income().total()).isEqualByComparingTo("1200");
+    }
+
     // --- Helper record for deserializing login response ---
     public static record TokenResponse(String token) {}
 
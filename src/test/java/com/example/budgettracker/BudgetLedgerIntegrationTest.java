@@ -0,0 +1,259 @@
+package com.example.budgettracker;
+
+import com.example.budgettracker.dto.projection.BudgetTotals;
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.dto.response.BudgetSummaryResponse;
+import com.example.budgettracker.model.BudgetLedger;
+import com.example.budgettracker.model.Money;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.repository.BudgetLedgerRepository;
+import com.example.budgettracker.repository.BudgetRepository;
+import com.example.budgettracker.service.BudgetLedgerService;
+import com.example.budgettracker.service.BudgetService;
+import com.example.budgettracker.service.BudgetSummaryService;
+import com.example.budgettracker.service.TransactionService;
+import com.example.budgettracker.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for the per-budget running totals ({@code budget_ledgers}).
+ * Verifies that parallel writers on one budget, including writers of the same transactions,
+ * keep the ledger exact, that the summary
+ * is served from it, and that reconciliation repairs drift, skipping budgets deleted mid-run.
+ */
+@SpringBootTest
+@ActiveProfiles("local") // Use the local test profile with a separate database
+public class BudgetLedgerIntegrationTest {
+
+    private static final int WRITERS = 8;
+    private static final int TRANSACTIONS_PER_WRITER = 25;
+    private static final int SHARED_TRANSACTIONS = 20;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetSummaryService budgetSummaryService;
+
+    @Autowired
+    private BudgetLedgerService budgetLedgerService;
+
+    @Autowired
+    private BudgetLedgerRepository budgetLedgerRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String username;
+    private Long budgetId;
+
+    /**
+     * Registers a unique user with one budget.
+     */
+    @BeforeEach
+    public void setup() {
+        username = "ledgeruser" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(new RegistrationRequest(username, username + "@example.com", "password123"));
+        budgetId = budgetService.createBudget(username, "Household", 100_000).getId();
+    }
+
+    /**
+     * Parallel adds, updates and deletes on one budget leave the ledger equal to the raw totals.
+     */
+    @Test
+    public void parallelWriters_keepLedgerExact() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    List<Long> ids = new ArrayList<>();
+                    for (int i = 0; i < TRANSACTIONS_PER_WRITER; i++) {
+                        Transaction.Type type = (i % 3 == 0) ? Transaction.Type.INCOME : Transaction.Type.EXPENSE;
+                        ids.add(transactionService.addTransaction(budgetId, transaction(type, 1050 + 100L * writer), username).getId());
+                    }
+                    // Flip the type and amount of some, delete others
+                    for (int i = 0; i < ids.size(); i += 4) {
+                        transactionService.updateTransaction(ids.get(i), transaction(Transaction.Type.INCOME, 225), username);
+                    }
+                    for (int i = 1; i < ids.size(); i += 5) {
+                        transactionService.deleteTransaction(ids.get(i), username);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        BudgetTotals exact = budgetRepository.findTotalsByIdAndOwnerUsername(budgetId, username).orElseThrow();
+        BudgetSummaryResponse summary = budgetSummaryService.getBudgetSummary(budgetId, username);
+        BudgetLedger ledger = budgetLedgerRepository.findById(budgetId).orElseThrow();
+
+        assertThat(summary.getTotalIncome()).isEqualTo(Money.fromCents(exact.totalIncomeCents()));
+        assertThat(summary.getTotalExpense()).isEqualTo(Money.fromCents(exact.totalExpenseCents()));
+        assertThat(ledger.getTransactionCount())
+                .isEqualTo(jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM transactions WHERE budget_id = ?", Long.class, budgetId));
+        assertThat(budgetLedgerService.reconcile(budgetId)).isFalse();
+    }
+
+    /**
+     * Parallel updates and deletes of the same transactions each start from the values the previous
+     * writer committed, so the ledger still matches the raw totals (and reconciliation finds no drift)
+     * and the rollups match an aggregate over the remaining transactions.
+     */
+    @Test
+    public void parallelWritersOfSameTransactions_keepLedgerExact() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < SHARED_TRANSACTIONS; i++) {
+            ids.add(transactionService.addTransaction(budgetId, transaction(Transaction.Type.EXPENSE, 1_000), username).getId());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < 5; round++) {
+                        for (int i = 0; i < ids.size(); i++) {
+                            try {
+                                if (writer == 0 && round == 2 && i % 3 == 0) {
+                                    transactionService.deleteTransaction(ids.get(i), username);
+                                } else {
+                                    // Each writer moves the transaction to its own type, amount and month
+                                    Transaction.Type type = writer % 2 == 0 ? Transaction.Type.INCOME : Transaction.Type.EXPENSE;
+                                    Transaction changed = transaction(type, 500 + 100L * writer + round);
+                                    changed.setDate(LocalDate.now().withDayOfMonth(1).minusMonths(writer));
+                                    transactionService.updateTransaction(ids.get(i), changed, username);
+                                }
+                            } catch (IllegalArgumentException e) {
+                                // Deleted by another writer
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(120, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        BudgetTotals exact = budgetRepository.findTotalsByIdAndOwnerUsername(budgetId, username).orElseThrow();
+        BudgetLedger ledger = budgetLedgerRepository.findById(budgetId).orElseThrow();
+
+        assertThat(ledger.getTotalIncomeCents()).isEqualTo(exact.totalIncomeCents());
+        assertThat(ledger.getTotalExpenseCents()).isEqualTo(exact.totalExpenseCents());
+        assertThat(ledger.getTransactionCount()).isEqualTo(SHARED_TRANSACTIONS - (SHARED_TRANSACTIONS + 2) / 3);
+        assertThat(budgetLedgerService.reconcile(budgetId)).isFalse();
+
+        // Each move subtracted the transaction from the bucket it was really in, so no bucket went negative
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transaction_rollups WHERE budget_id = ? AND (tx_count <= 0 OR total_cents < 0)",
+                Long.class, budgetId)).isZero();
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT period_year, period_month, type, category_id, total_cents, tx_count
+                FROM transaction_rollups WHERE budget_id = ?""", budgetId))
+                .containsExactlyInAnyOrderElementsOf(jdbcTemplate.queryForList("""
+                        SELECT EXTRACT(YEAR FROM t.date)::int AS period_year, EXTRACT(MONTH FROM t.date)::int AS period_month,
+                               t.type, COALESCE(t.category_id, 0) AS category_id,
+                               SUM(t.amount_cents)::bigint AS total_cents, COUNT(*) AS tx_count
+                        FROM transactions t WHERE t.budget_id = ?
+                        GROUP BY 1, 2, 3, 4""", budgetId));
+    }
+
+    /**
+     * Reconciliation detects a ledger that drifted from the transactions and repairs it.
+     */
+    @Test
+    public void reconcile_repairsDrift() {
+        transactionService.addTransaction(budgetId, transaction(Transaction.Type.INCOME, 10_000), username);
+        transactionService.addTransaction(budgetId, transaction(Transaction.Type.EXPENSE, 4_000), username);
+
+        // Simulate a write that bypassed the service
+        jdbcTemplate.update("UPDATE budget_ledgers SET total_expense_cents = 99_900, transaction_count = 7 WHERE budget_id = ?",
+                budgetId);
+
+        assertThat(budgetLedgerService.reconcile(budgetId)).isTrue();
+
+        BudgetSummaryResponse summary = budgetSummaryService.getBudgetSummary(budgetId, username);
+        assertThat(summary.getTotalIncome()).isEqualByComparingTo("100");
+        assertThat(summary.getTotalExpense()).isEqualByComparingTo("40");
+        assertThat(summary.getBalance()).isEqualByComparingTo("1060");
+        assertThat(budgetLedgerRepository.findById(budgetId).orElseThrow().getTransactionCount()).isEqualTo(2);
+        assertThat(budgetLedgerService.reconcile(budgetId)).isFalse();
+    }
+
+    /**
+     * A budget deleted between the ID scan and its turn is skipped; later budgets are still repaired.
+     */
+    @Test
+    public void reconcileAll_skipsBudgetDeletedMidRun() {
+        Long deletedId = budgetService.createBudget(username, "Old", 100_000).getId();
+        transactionService.addTransaction(budgetId, transaction(Transaction.Type.EXPENSE, 4_000), username);
+        jdbcTemplate.update("UPDATE budget_ledgers SET total_expense_cents = 0 WHERE budget_id = ?", budgetId);
+
+        // The scan saw both budgets; the first is deleted before its turn
+        BudgetRepository scanned = mock(BudgetRepository.class);
+        when(scanned.findAllIds()).thenReturn(List.of(deletedId, budgetId));
+        BudgetLedgerService service = new BudgetLedgerService(budgetLedgerRepository, scanned, transactionManager,
+                new SimpleMeterRegistry());
+        budgetService.deleteBudget(deletedId, username);
+
+        assertThat(service.reconcileAll()).isEqualTo(1);
+        assertThat(budgetLedgerRepository.findById(budgetId).orElseThrow().getTotalExpenseCents()).isEqualTo(4_000);
+        assertThat(budgetLedgerRepository.findById(deletedId)).isEmpty();
+    }
+
+    private static Transaction transaction(Transaction.Type type, long amountCents) {
+        Transaction transaction = new Transaction();
+        transaction.setAmountCents(amountCents);
+        transaction.setType(type);
+        transaction.setCategory("General");
+        transaction.setDate(LocalDate.now());
+        return transaction;
+    }
+}
@@ -95,6 +95,62 @@ public class BudgetSummaryIntegrationTest {
         // No transactions were added, so income/expense/balance should be 0.0
     }
 
+    /**
+     * Tests that the summary totals income and expenses and computes the balance
+     * from the budget amount (1000 + 300 - 120.5).
+     */
+    @Test
+    public void getBudgetSummary_withTransactions() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtToken);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        for (String json : new String[] {
+                "{\"amount\": 200.0, \"type\": \"INCOME\"}",
+                "{\"amount\": 100.0, \"type\": \"INCOME\"}",
+                "{\"amount\": 120.5, \"type\": \"EXPENSE\"}"}) {
+            restTemplate.exchange("/api/budgets/" + budgetId + "/transactions",
+                    HttpMethod.POST, new HttpEntity<>(json, headers), String.class);
+        }
+
+        ResponseEntity<BudgetSummaryResponse> response = restTemplate.exchange(
+                "/api/budgets/" + budgetId + "/summary",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                BudgetSummaryResponse.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getTotalIncome()).isEqualByComparingTo("300");
+        assertThat(response.getBody().getTotalExpense()).isEqualByComparingTo("120.5");
+        assertThat(response.getBody().getBalance()).isEqualByComparingTo("1179.5");
+    }
+
+    /**
+     * Tests that another user cannot read the summary of a budget they do not own.
+     */
+    @Test
+    public void getBudgetSummary_otherUser_isRejected() {
+        String other = "otheruser" + UUID.randomUUID().toString().substring(0, 8);
+        restTemplate.postForEntity("/api/register",
+                new RegistrationRequest(other, other + "@example.com", "password123"), String.class);
+        String otherToken = restTemplate.postForEntity("/api/login",
+                new LoginRequest(other, "password123"), TokenResponse.class).getBody().token();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(otherToken);
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/budgets/" + budgetId + "/summary",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                String.class
+        );
+
+        assertThat(response.getStatusCode().is2xxSuccessful()).isFalse();
+        assertThat(response.getBody()).doesNotContain("totalIncome");
+    }
+
     // --- Helper classes for response deserialization ---
 
     /**
@@ -0,0 +1,178 @@
+package com.example.budgettracker;
+
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.dto.response.CategorySummary;
+import com.example.budgettracker.model.Money;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.repository.CategoryRepository;
+import com.example.budgettracker.service.AnalyticsService;
+import com.example.budgettracker.service.BudgetService;
+import com.example.budgettracker.service.CategoryDictionary;
+import com.example.budgettracker.service.TransactionService;
+import com.example.budgettracker.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for dictionary-encoded categories ({@code categories} table).
+ * Verifies that each user's names are stored once, that transactions reference them by ID,
+ * that analytics still report names, that looking up an existing name writes nothing, and
+ * that a deleted user's categories leave the cache.
+ */
+@SpringBootTest
+@ActiveProfiles("local") // Use the local test profile with a separate database
+public class CategoryDictionaryIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String username;
+    private String otherUsername;
+
+    /**
+     * Registers two unique users.
+     */
+    @BeforeEach
+    public void setup() {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        username = "dictuser" + unique;
+        otherUsername = "dictother" + unique;
+        userService.registerUser(new RegistrationRequest(username, username + "@example.com", "password123"));
+        userService.registerUser(new RegistrationRequest(otherUsername, otherUsername + "@example.com", "password123"));
+    }
+
+    /**
+     * A name used in several budgets of one user, with surrounding whitespace, is one category;
+     * another user's identical name is a category of its own.
+     */
+    @Test
+    public void names_areStoredOncePerUser() {
+        Long first = budgetService.createBudget(username, "Household", 100_000).getId();
+        Long second = budgetService.createBudget(username, "Holiday", 100_000).getId();
+        Long foreign = budgetService.createBudget(otherUsername, "Household", 100_000).getId();
+
+        add(first, "Food", username);
+        add(first, " Food ", username);
+        add(second, "Food", username);
+        add(foreign, "Food", otherUsername);
+        add(first, "  ", username);
+
+        assertThat(categoryCount(username)).isEqualTo(1);
+        assertThat(categoryCount(otherUsername)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(DISTINCT t.category_id) FROM transactions t
+                JOIN budgets b ON b.id = t.budget_id
+                JOIN users u ON u.id = b.user_id
+                WHERE u.username IN (?, ?)""", Long.class, username, otherUsername))
+                .isEqualTo(2);
+
+        assertThat(analyticsService.sumByCategory(first, Transaction.Type.EXPENSE, username)).containsExactly(
+                new CategorySummary(null, Money.fromCents(100)),
+                new CategorySummary("Food", Money.fromCents(200)));
+    }
+
+    /**
+     * Changing a transaction's category moves it to the other category's ID.
+     */
+    @Test
+    public void update_changesCategory() {
+        Long budgetId = budgetService.createBudget(username, "Household", 100_000).getId();
+        Long transactionId = add(budgetId, "Food", username);
+
+        transactionService.updateTransaction(transactionId, expense("Rent"), username);
+
+        assertThat(analyticsService.sumByCategory(budgetId, Transaction.Type.EXPENSE, username)).containsExactly(
+                new CategorySummary("Rent", Money.fromCents(100)));
+        assertThat(categoryCount(username)).isEqualTo(2);
+    }
+
+    /**
+     * Finding an existing category neither inserts nor updates: the row keeps its version (xmin).
+     */
+    @Test
+    public void findOrCreateId_existingNameWritesNothing() {
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, username);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Integer id = transactionTemplate.execute(status -> categoryRepository.findOrCreateId(userId, "Food"));
+        String version = rowVersion(id);
+
+        Integer again = transactionTemplate.execute(status -> categoryRepository.findOrCreateId(userId, "Food"));
+
+        assertThat(again).isEqualTo(id);
+        assertThat(rowVersion(id)).isEqualTo(version);
+        assertThat(categoryCount(username)).isEqualTo(1);
+    }
+
+    /**
+     * Deleting a user evicts their cached categories; other users' entries stay.
+     */
+    @Test
+    public void deleteUser_evictsCategories() {
+        add(budgetService.createBudget(username, "Household", 100_000).getId(), "Food", username);
+        add(budgetService.createBudget(otherUsername, "Household", 100_000).getId(), "Food", otherUsername);
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, username);
+        Long otherUserId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class,
+                otherUsername);
+
+        userService.deleteUser(username);
+
+        assertThat(categoryDictionary.existingIdsOf(userId, List.of("Food"))).isEmpty();
+        assertThat(categoryDictionary.existingIdsOf(otherUserId, List.of("Food"))).hasSize(1);
+    }
+
+    private String rowVersion(Integer categoryId) {
+        return jdbcTemplate.queryForObject("SELECT xmin::text FROM categories WHERE id = ?", String.class, categoryId);
+    }
+
+    private long categoryCount(String user) {
+        return jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM categories c JOIN users u ON u.id = c.user_id
+                WHERE u.username = ?""", Long.class, user);
+    }
+
+    private Long add(Long budgetId, String category, String user) {
+        return transactionService.addTransaction(budgetId, expense(category), user).getId();
+    }
+
+    private static Transaction expense(String category) {
+        Transaction transaction = new Transaction();
+        transaction.setAmountCents(100);
+        transaction.setType(Transaction.Type.EXPENSE);
+        transaction.setCategory(category);
+        transaction.setDate(LocalDate.of(2024, 1, 1));
+        return transaction;
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.budgettracker;
+
+import com.example.budgettracker.dto.request.Granularity;
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.dto.response.AnalyticsPivotResponse;
+import com.example.budgettracker.dto.response.CategorySummary;
+import com.example.budgettracker.dto.response.MonthlySummary;
+import com.example.budgettracker.dto.response.TimeSeriesResponse;
+import com.example.budgettracker.model.Money;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.service.AnalyticsService;
+import com.example.budgettracker.service.BudgetService;
+import com.example.budgettracker.service.ColumnarAnalyticsEngine;
+import com.example.budgettracker.service.TransactionChangedEvent;
+import com.example.budgettracker.service.TransactionService;
+import com.example.budgettracker.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for analytics served from the in-memory columns ({@link ColumnarAnalyticsEngine}).
+ * Verifies that a loaded budget is answered without queries beyond the ownership check,
+ * with the same results as the database, and that committed writes reach the columns in the
+ * background, even when their events arrive late.
+ */
+@SpringBootTest(properties = {
+        "analytics.columnar.enabled=true",
+        "analytics.columnar.minTransactions=0"
+})
+@ActiveProfiles("local") // Use the local test profile with a separate database
+public class ColumnarAnalyticsIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private ColumnarAnalyticsEngine columnarAnalyticsEngine;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String username;
+    private Long budgetId;
+    private Long rentId;
+
+    /**
+     * Registers a unique user with one budget holding expenses in January and March 2024
+     * and one income in February.
+     */
+    @BeforeEach
+    public void setup() {
+        username = "columnaruser" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(new RegistrationRequest(username, username + "@example.com", "password123"));
+        budgetId = budgetService.createBudget(username, "Household", 100_000).getId();
+
+        add(Transaction.Type.EXPENSE, 1_000, LocalDate.of(2024, 1, 3), "Food");
+        add(Transaction.Type.EXPENSE, 250, LocalDate.of(2024, 1, 31), null);
+        rentId = add(Transaction.Type.EXPENSE, 70_000, LocalDate.of(2024, 3, 1), "Rent");
+        add(Transaction.Type.INCOME, 99_900, LocalDate.of(2024, 2, 10), "Salary");
+    }
+
+    /**
+     * The columns give the same answers as the database, without querying it.
+     */
+    @Test
+    public void loadedBudget_matchesDatabaseWithoutQueries() {
+        AnalyticsPivotResponse fromDatabase = analyticsService.pivot(budgetId, username);
+        TimeSeriesResponse seriesFromDatabase = series();
+
+        assertThat(columnarAnalyticsEngine.load(budgetId)).isNotNull();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        AnalyticsPivotResponse fromColumns = analyticsService.pivot(budgetId, username);
+        TimeSeriesResponse seriesFromColumns = series();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2); // the two ownership checks
+        assertSamePivot(fromColumns, fromDatabase);
+        assertThat(seriesFromColumns.buckets()).isEqualTo(seriesFromDatabase.buckets());
+        assertThat(seriesFromColumns.totals()).isEqualTo(seriesFromDatabase.totals());
+    }
+
+    /**
+     * Adding, changing and deleting transactions after the load is reflected in the columns.
+     * Until the writes are applied, the columns are not served.
+     */
+    @Test
+    public void writesAfterLoad_reachColumns() {
+        columnarAnalyticsEngine.load(budgetId);
+
+        add(Transaction.Type.EXPENSE, 500, LocalDate.of(2024, 3, 15), "Food");
+        Long bonusId = add(Transaction.Type.INCOME, 10_000, LocalDate.of(2024, 4, 1), "Bonus");
+        transactionService.updateTransaction(rentId,
+                transaction(Transaction.Type.EXPENSE, 75_000, LocalDate.of(2024, 2, 1), "Rent"), username);
+        transactionService.deleteTransaction(bonusId, username);
+
+        awaitColumns();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        analyticsService.sumByCategory(budgetId, Transaction.Type.EXPENSE, username);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1); // the ownership check
+
+        assertThat(analyticsService.sumByCategory(budgetId, Transaction.Type.EXPENSE, username)).containsExactly(
+                new CategorySummary(null, Money.fromCents(250)),
+                new CategorySummary("Food", Money.fromCents(1_500)),
+                new CategorySummary("Rent", Money.fromCents(75_000)));
+        assertThat(analyticsService.sumByMonth(budgetId, Transaction.Type.EXPENSE,
+                YearMonth.of(2024, 2), null, username)).containsExactly(
+                new MonthlySummary(2024, 2, Money.fromCents(75_000)),
+                new MonthlySummary(2024, 3, Money.fromCents(500)));
+        assertThat(analyticsService.sumByCategory(budgetId, Transaction.Type.INCOME, username)).containsExactly(
+                new CategorySummary("Salary", Money.fromCents(99_900)));
+    }
+
+    /**
+     * An event delivered late, after newer writes to its transaction were applied,
+     * leaves the latest committed values in the columns.
+     */
+    @Test
+    public void lateEvents_keepLatestValues() {
+        columnarAnalyticsEngine.load(budgetId);
+
+        Long bonusId = add(Transaction.Type.INCOME, 10_000, LocalDate.of(2024, 4, 1), "Bonus");
+        transactionService.updateTransaction(rentId,
+                transaction(Transaction.Type.EXPENSE, 75_000, LocalDate.of(2024, 3, 1), "Rent"), username);
+        transactionService.updateTransaction(rentId,
+                transaction(Transaction.Type.EXPENSE, 80_000, LocalDate.of(2024, 3, 1), "Rent"), username);
+        transactionService.deleteTransaction(bonusId, username);
+
+        // The first update's and the insert's events arrive again, out of order
+        columnarAnalyticsEngine.onTransactionChanged(new TransactionChangedEvent(budgetId, rentId));
+        columnarAnalyticsEngine.onTransactionChanged(new TransactionChangedEvent(budgetId, bonusId));
+        awaitColumns();
+
+        assertThat(analyticsService.sumByCategory(budgetId, Transaction.Type.EXPENSE, username)).containsExactly(
+                new CategorySummary(null, Money.fromCents(250)),
+                new CategorySummary("Food", Money.fromCents(1_000)),
+                new CategorySummary("Rent", Money.fromCents(80_000)));
+        assertThat(analyticsService.sumByCategory(budgetId, Transaction.Type.INCOME, username)).containsExactly(
+                new CategorySummary("Salary", Money.fromCents(99_900)));
+    }
+
+    /**
+     * Waits until the pending writes have been applied and the columns are served again.
+     */
+    private void awaitColumns() {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (columnarAnalyticsEngine.find(budgetId) == null) {
+            assertThat(System.nanoTime()).as("columns served again").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static void assertSamePivot(AnalyticsPivotResponse actual, AnalyticsPivotResponse expected) {
+        assertThat(actual.budgetId()).isEqualTo(expected.budgetId());
+        for (boolean income : new boolean[] {true, false}) {
+            AnalyticsPivotResponse.TypeAnalytics a = income ? actual.income() : actual.expense();
+            AnalyticsPivotResponse.TypeAnalytics e = income ? expected.income() : expected.expense();
+            // Category order follows the database collation, so only the content is compared
+            assertThat(a.byCategory()).containsExactlyInAnyOrderElementsOf(e.byCategory());
+            assertThat(a.byMonth()).containsExactlyElementsOf(e.byMonth());
+            assertThat(a.total()).isEqualTo(e.total());
+        }
+    }
+
+    private TimeSeriesResponse series() {
+        return analyticsService.timeSeries(budgetId, Transaction.Type.EXPENSE, Granularity.WEEK,
+                LocalDate.of(2023, 12, 20), LocalDate.of(2024, 3, 31), username);
+    }
+
+    private Long add(Transaction.Type type, long amountCents, LocalDate date, String category) {
+        return transactionService.addTransaction(budgetId, transaction(type, amountCents, date, category), username)
+                .getId();
+    }
+
+    private static Transaction transaction(Transaction.Type type, long amountCents, LocalDate date, String category) {
+        Transaction transaction = new Transaction();
+        transaction.setAmountCents(amountCents);
+        transaction.setType(type);
+        transaction.setCategory(category);
+        transaction.setDate(date);
+        return transaction;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.budgettracker;
+
+import com.example.budgettracker.dto.request.LoginRequest;
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.dto.response.DashboardBudgetSummary;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for the dashboard endpoint.
+ * Validates that /api/dashboard summarizes every budget of the user, honours the ids filter,
+ * never includes other users' budgets, and costs a single query.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("local") // Use test-specific profile and database
+public class DashboardIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String jwtToken;
+    private Long householdId;
+    private Long travelId;
+    private Long otherUsersBudgetId;
+
+    /**
+     * Registers a user with two budgets and transactions, and a second user with one budget.
+     */
+    @BeforeEach
+    public void setup() {
+        jwtToken = registerAndLogin("dashuser");
+        householdId = createBudget(jwtToken, "Household", 1000.0);
+        travelId = createBudget(jwtToken, "Travel", 500.0);
+        addTransaction(jwtToken, householdId, 300.0, "INCOME");
+        addTransaction(jwtToken, householdId, 120.5, "EXPENSE");
+        addTransaction(jwtToken, travelId, 80.0, "EXPENSE");
+
+        otherUsersBudgetId = createBudget(registerAndLogin("otheruser"), "Not mine", 50.0);
+    }
+
+    /**
+     * Without a filter every budget of the user is returned with its totals, ordered by ID.
+     */
+    @Test
+    public void getDashboard_allBudgets() {
+        DashboardBudgetSummary[] dashboard = getDashboard("/api/dashboard");
+
+        assertThat(dashboard).containsExactly(
+                new DashboardBudgetSummary(householdId, "Household",
+                        new BigDecimal("300.00"), new BigDecimal("120.50"), new BigDecimal("1179.50")),
+                new DashboardBudgetSummary(travelId, "Travel",
+                        new BigDecimal("0.00"), new BigDecimal("80.00"), new BigDecimal("420.00")));
+    }
+
+    /**
+     * The ids filter selects budgets; IDs of other users' budgets are ignored.
+     */
+    @Test
+    public void getDashboard_withIds() {
+        DashboardBudgetSummary[] dashboard =
+                getDashboard("/api/dashboard?ids=" + travelId + "," + otherUsersBudgetId);
+
+        assertThat(dashboard).extracting(DashboardBudgetSummary::budgetId).containsExactly(travelId);
+    }
+
+    /**
+     * The whole dashboard is one query, whatever the number of budgets.
+     */
+    @Test
+    public void getDashboard_isOneQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        getDashboard("/api/dashboard");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private DashboardBudgetSummary[] getDashboard(String url) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtToken);
+        ResponseEntity<DashboardBudgetSummary[]> response = restTemplate.exchange(
+                url, HttpMethod.GET, new HttpEntity<>(headers), DashboardBudgetSummary[].class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    private String registerAndLogin(String prefix) {
+        String username = prefix + UUID.randomUUID().toString().substring(0, 8);
+        restTemplate.postForEntity("/api/register",
+                new RegistrationRequest(username, username + "@example.com", "password123"), String.class);
+        return restTemplate.postForEntity("/api/login",
+                new LoginRequest(username, "password123"), TokenResponse.class).getBody().token();
+    }
+
+    private Long createBudget(String token, String name, double amount) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String json = "{\"name\":\"" + name + "\", \"amount\": " + amount + "}";
+        return restTemplate.exchange("/api/budgets", HttpMethod.POST, new HttpEntity<>(json, headers),
+                BudgetResponse.class).getBody().getId();
+    }
+
+    private void addTransaction(String token, Long budgetId, double amount, String type) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String json = "{\"amount\": " + amount + ", \"type\": \"" + type + "\"}";
+        restTemplate.exchange("/api/budgets/" + budgetId + "/transactions",
+                HttpMethod.POST, new HttpEntity<>(json, headers), String.class);
+    }
+
+    // --- Helper classes for response deserialization ---
+
+    /**
+     * Used to deserialize the login token response from /api/login.
+     */
+    public static record TokenResponse(String token) {}
+
+    /**
+     * Used to extract the budget ID from the response when creating a budget.
+     */
+    public static class BudgetResponse {
+        private Long id;
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.budgettracker;
+
+import com.example.budgettracker.dto.request.LoginRequest;
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.model.User;
+import com.example.budgettracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for login on the login executor.
+ * Validates that a password stored with an outdated BCrypt cost still logs in
+ * and is rehashed with the configured cost (raised here to 5, one above the other tests).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "security.bcrypt.strength=5")
+@ActiveProfiles("local") // Use test-specific profile and database
+public class LoginRehashIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * A login with an old-cost hash succeeds and upgrades the stored hash.
+     */
+    @Test
+    public void login_outdatedCost_rehashesPassword() {
+        String username = "rehashuser" + UUID.randomUUID().toString().substring(0, 8);
+        restTemplate.postForEntity("/api/register",
+                new RegistrationRequest(username, username + "@example.com", "password123"), String.class);
+
+        // Simulate a hash created before the cost changed
+        User user = userRepository.findByUsername(username).orElseThrow();
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        userRepository.save(user);
+
+        ResponseEntity<String> login = restTemplate.postForEntity(
+                "/api/login", new LoginRequest(username, "password123"), String.class);
+
+        assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(userRepository.findByUsername(username).orElseThrow().getPassword()).startsWith("$2a$05$");
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.budgettracker;
+
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.dto.response.MonthlySummary;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.repository.TransactionRollupRepository;
+import com.example.budgettracker.service.AnalyticsService;
+import com.example.budgettracker.service.BudgetService;
+import com.example.budgettracker.service.TransactionService;
+import com.example.budgettracker.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Integration tests for monthly analytics with a month range.
+ * Checks the results and, with EXPLAIN, that Postgres serves the query from
+ * {@code idx_rollups_budget_type_month} in group order, without a sort or a table scan.
+ */
+@SpringBootTest
+@ActiveProfiles("local") // Use the local test profile with a separate database
+public class MonthlyAnalyticsIntegrationTest {
+
+    private static final int OTHER_BUDGETS = 300;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String username;
+    private Long budgetId;
+
+    /**
+     * Registers a unique user with one budget and transactions from November 2023 to April 2024.
+     */
+    @BeforeEach
+    public void setup() {
+        username = "monthuser" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(new RegistrationRequest(username, username + "@example.com", "password123"));
+        budgetId = budgetService.createBudget(username, "Household", 100_000).getId();
+
+        LocalDate date = LocalDate.of(2023, 11, 15);
+        for (int i = 0; i < 6; i++) {
+            transactionService.addTransaction(budgetId, expense(1_000L * (i + 1), "Food", date.plusMonths(i)), username);
+            transactionService.addTransaction(budgetId, expense(150, "Fees", date.plusMonths(i)), username);
+        }
+    }
+
+    /**
+     * Only months inside the inclusive range are returned, in order, across a year boundary.
+     */
+    @Test
+    public void sumByMonth_withRange_returnsOnlyThoseMonths() {
+        List<MonthlySummary> months = analyticsService.sumByMonth(budgetId, Transaction.Type.EXPENSE,
+                YearMonth.of(2023, 12), YearMonth.of(2024, 2), username);
+
+        assertThat(months)
+                .extracting(MonthlySummary::year, MonthlySummary::month, MonthlySummary::total)
+                .containsExactly(
+                        tuple(2023, 12, new BigDecimal("21.50")),
+                        tuple(2024, 1, new BigDecimal("31.50")),
+                        tuple(2024, 2, new BigDecimal("41.50")));
+    }
+
+    /**
+     * Open-ended ranges are bounded on one side only; no range returns every month.
+     */
+    @Test
+    public void sumByMonth_openRanges() {
+        assertThat(analyticsService.sumByMonth(budgetId, Transaction.Type.EXPENSE, YearMonth.of(2024, 3), null, username))
+                .extracting(MonthlySummary::month)
+                .containsExactly(3, 4);
+        assertThat(analyticsService.sumByMonth(budgetId, Transaction.Type.EXPENSE, null, YearMonth.of(2023, 11), username))
+                .extracting(MonthlySummary::month)
+                .containsExactly(11);
+        assertThat(analyticsService.sumByMonth(budgetId, Transaction.Type.EXPENSE, username)).hasSize(6);
+        assertThat(analyticsService.sumByMonth(budgetId, Transaction.Type.INCOME, username)).isEmpty();
+    }
+
+    /**
+     * With many budgets in the table, the plan is an index-only scan on the month index feeding a
+     * streaming group aggregate: no sort and no sequential scan.
+     */
+    @Test
+    public void sumByMonth_planUsesMonthIndexWithoutSort() {
+        seedOtherBudgets();
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("budgetId", budgetId)
+                .addValue("type", Transaction.Type.EXPENSE.name())
+                .addValue("fromYear", 2023).addValue("fromMonth", 12)
+                .addValue("toYear", 2024).addValue("toMonth", 2);
+        String plan = String.join("\n", new NamedParameterJdbcTemplate(jdbcTemplate)
+                .queryForList("EXPLAIN " + TransactionRollupRepository.SUM_BY_MONTH_SQL, params, String.class));
+
+        assertThat(plan)
+                .contains("Index Only Scan using idx_rollups_budget_type_month")
+                .contains("GroupAggregate")
+                .doesNotContain("Sort")
+                .doesNotContain("Seq Scan");
+    }
+
+    /**
+     * Fills the rollup table with three years of buckets for other budgets of the same user,
+     * so the planner sees a realistic table rather than a handful of rows.
+     */
+    private void seedOtherBudgets() {
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, username);
+        jdbcTemplate.update("""
+                INSERT INTO budgets (name, amount_cents, user_id)
+                SELECT 'Seed ' || g, 0, ? FROM generate_series(1, ?) g""", userId, OTHER_BUDGETS);
+        jdbcTemplate.update("""
+                INSERT INTO transaction_rollups (budget_id, period_year, period_month, type, category_id, total_cents, tx_count)
+                SELECT b.id, y, m, t, c, 1000, 1
+                FROM budgets b,
+                     generate_series(2021, 2023) y,
+                     generate_series(1, 12) m,
+                     unnest(ARRAY['INCOME', 'EXPENSE']) t,
+                     generate_series(1, 4) c
+                WHERE b.user_id = ? AND b.id <> ?""", userId, budgetId);
+        vacuumUntilAllVisible("transaction_rollups");
+    }
+
+    private static Transaction expense(long amountCents, String category, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setAmountCents(amountCents);
+        transaction.setType(Transaction.Type.EXPENSE);
+        transaction.setCategory(category);
+        transaction.setDate(date);
+        return transaction;
+    }
+
+    /**
+     * Vacuums until every page is marked all-visible, so index-only scans need no heap fetches.
+     * A single VACUUM can leave pages unmarked while another session holds an older snapshot.
+     */
+    private void vacuumUntilAllVisible(String table) {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            jdbcTemplate.execute("VACUUM ANALYZE " + table);
+            Boolean allVisible = jdbcTemplate.queryForObject(
+                    "SELECT relallvisible >= relpages FROM pg_class WHERE relname = ?", Boolean.class, table);
+            if (Boolean.TRUE.equals(allVisible)) {
+                return;
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.budgettracker;
+
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.dto.request.TransactionFilter;
+import com.example.budgettracker.model.Budget;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.model.User;
+import com.example.budgettracker.service.AnalyticsService;
+import com.example.budgettracker.service.BudgetService;
+import com.example.budgettracker.service.TransactionService;
+import com.example.budgettracker.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for owner-scoped access checks in the services.
+ * Verifies that other users are denied and that an ownership check costs a single
+ * statement (counted with Hibernate statistics) instead of loading the budget and its owner.
+ */
+@SpringBootTest
+@ActiveProfiles("local") // Use the local test profile with a separate database
+public class OwnershipCheckIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String owner;
+    private String stranger;
+    private Long budgetId;
+    private Statistics statistics;
+
+    /**
+     * Registers an owner with one budget and an unrelated second user.
+     */
+    @BeforeEach
+    public void setup() {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        owner = "owner" + unique;
+        stranger = "stranger" + unique;
+        userService.registerUser(new RegistrationRequest(owner, owner + "@example.com", "password123"));
+        userService.registerUser(new RegistrationRequest(stranger, stranger + "@example.com", "password123"));
+        Budget budget = budgetService.createBudget(owner, "Groceries", 50_000);
+        budgetId = budget.getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * Adding a transaction costs the ownership check, the insert, the ledger update and the rollup update,
+     * plus creating the category the first time the owner uses it.
+     */
+    @Test
+    public void addTransaction_checksOwnershipInOneQuery() {
+        statistics.clear();
+        transactionService.addTransaction(budgetId, expense(), owner);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+
+        statistics.clear();
+        transactionService.addTransaction(budgetId, expense(), owner);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    /**
+     * Updating a transaction reads the owner's ID for the category lookup as a projection,
+     * without loading the owner or its roles.
+     */
+    @Test
+    public void updateTransaction_doesNotLoadOwner() {
+        Long transactionId = transactionService.addTransaction(budgetId, expense(), owner).getId();
+
+        statistics.clear();
+        transactionService.updateTransaction(transactionId, expense(), owner);
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    /**
+     * Reading transactions or analytics costs one query for the check.
+     * Transactions and budgets are read as DTO projections, without loading any entity.
+     */
+    @Test
+    public void reads_checkOwnershipInOneQuery() {
+        transactionService.addTransaction(budgetId, expense(), owner);
+
+        statistics.clear();
+        transactionService.getTransactionPage(budgetId, TransactionFilter.NONE, null,
+                TransactionService.DEFAULT_PAGE_SIZE, owner);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        statistics.clear();
+        assertThat(budgetService.getBudgetsForUser(owner)).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        statistics.clear();
+        analyticsService.sumByCategory(budgetId, Transaction.Type.EXPENSE, owner);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        statistics.clear();
+        analyticsService.pivot(budgetId, owner);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    /**
+     * Another user can neither see, change nor delete the owner's budget or transactions.
+     */
+    @Test
+    public void otherUser_isDenied() {
+        Long transactionId = transactionService.addTransaction(budgetId, expense(), owner).getId();
+
+        assertThat(budgetService.getBudgetByIdAndUser(budgetId, stranger)).isEmpty();
+        assertThatThrownBy(() -> transactionService.getTransactionPage(budgetId, TransactionFilter.NONE, null,
+                TransactionService.DEFAULT_PAGE_SIZE, stranger))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> transactionService.addTransaction(budgetId, expense(), stranger))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> transactionService.updateTransaction(transactionId, expense(), stranger))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> transactionService.deleteTransaction(transactionId, stranger))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> analyticsService.sumByMonth(budgetId, Transaction.Type.EXPENSE, stranger))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> analyticsService.pivot(budgetId, stranger))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // The owner can still delete it: owner-scoped lookup, ledger update,
+        // rollup update, removal of the emptied rollup bucket and delete
+        statistics.clear();
+        transactionService.deleteTransaction(transactionId, owner);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+        assertThat(transactionService.getTransactionPage(budgetId, TransactionFilter.NONE, null,
+                TransactionService.DEFAULT_PAGE_SIZE, owner).items()).isEmpty();
+    }
+
+    private static Transaction expense() {
+        Transaction transaction = new Transaction();
+        transaction.setAmountCents(1_250);
+        transaction.setType(Transaction.Type.EXPENSE);
+        transaction.setCategory("Food");
+        transaction.setDate(LocalDate.now());
+        return transaction;
+    }
+}
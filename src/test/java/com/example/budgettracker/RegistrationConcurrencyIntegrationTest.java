@@ -0,0 +1,98 @@
+package com.example.budgettracker;
+
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for concurrent registration.
+ * Fires many simultaneous registrations that collide on username or email and checks
+ * that exactly one succeeds, the others get a 400 with the right message, and none fail with 5xx.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("local") // Use test-specific profile and database
+public class RegistrationConcurrencyIntegrationTest {
+
+    private static final int ATTEMPTS = 24;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Concurrent registrations with the same username: one 201, the rest "Username is already taken."
+     */
+    @Test
+    public void concurrentRegistration_sameUsername_onlyOneSucceeds() throws Exception {
+        String username = "raceuser" + UUID.randomUUID().toString().substring(0, 8);
+
+        List<ResponseEntity<String>> responses = registerConcurrently(
+                i -> new RegistrationRequest(username, username + i + "@example.com", "password123"));
+
+        assertOneCreatedRestRejectedWith(responses, "Username is already taken.");
+        assertThat(userRepository.findByUsername(username)).isPresent();
+    }
+
+    /**
+     * Concurrent registrations with the same email: one 201, the rest "Email is already registered."
+     */
+    @Test
+    public void concurrentRegistration_sameEmail_onlyOneSucceeds() throws Exception {
+        String prefix = "racemail" + UUID.randomUUID().toString().substring(0, 8);
+        String email = prefix + "@example.com";
+
+        List<ResponseEntity<String>> responses = registerConcurrently(
+                i -> new RegistrationRequest(prefix + "_" + i, email, "password123"));
+
+        assertOneCreatedRestRejectedWith(responses, "Email is already registered.");
+        assertThat(userRepository.existsByEmail(email)).isTrue();
+    }
+
+    private List<ResponseEntity<String>> registerConcurrently(IntFunction<RegistrationRequest> requestFor)
+            throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(ATTEMPTS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<ResponseEntity<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < ATTEMPTS; i++) {
+                RegistrationRequest request = requestFor.apply(i);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return restTemplate.postForEntity("/api/register", request, String.class);
+                }));
+            }
+            start.countDown();
+
+            List<ResponseEntity<String>> responses = new ArrayList<>();
+            for (Future<ResponseEntity<String>> future : futures) {
+                responses.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return responses;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void assertOneCreatedRestRejectedWith(List<ResponseEntity<String>> responses, String message) {
+        assertThat(responses).noneMatch(r -> r.getStatusCode().is5xxServerError());
+        assertThat(responses).filteredOn(r -> r.getStatusCode().value() == 201).hasSize(1);
+        assertThat(responses).filteredOn(r -> r.getStatusCode().value() == 400)
+                .hasSize(ATTEMPTS - 1)
+                .allMatch(r -> r.getBody().contains(message));
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.budgettracker;
+
+import com.example.budgettracker.dto.request.Granularity;
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.dto.response.TimeSeriesResponse;
+import com.example.budgettracker.model.Money;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.service.AnalyticsService;
+import com.example.budgettracker.service.BudgetService;
+import com.example.budgettracker.service.TransactionService;
+import com.example.budgettracker.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the gap-filled time series ({@code AnalyticsService.timeSeries}).
+ * Verifies bucket alignment for each granularity, that empty buckets are present with 0,
+ * and that the range is applied to the day.
+ */
+@SpringBootTest
+@ActiveProfiles("local") // Use the local test profile with a separate database
+public class TimeSeriesIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    private String username;
+    private Long budgetId;
+
+    /**
+     * Registers a unique user with one budget and expenses on
+     * 2024-01-03, 2024-01-31, 2024-03-15 (x2) and 2024-07-01, plus one income.
+     */
+    @BeforeEach
+    public void setup() {
+        username = "seriesuser" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(new RegistrationRequest(username, username + "@example.com", "password123"));
+        budgetId = budgetService.createBudget(username, "Household", 100_000).getId();
+
+        add(Transaction.Type.EXPENSE, 1_000, LocalDate.of(2024, 1, 3));
+        add(Transaction.Type.EXPENSE, 2_000, LocalDate.of(2024, 1, 31));
+        add(Transaction.Type.EXPENSE, 550, LocalDate.of(2024, 3, 15));
+        add(Transaction.Type.EXPENSE, 450, LocalDate.of(2024, 3, 15));
+        add(Transaction.Type.EXPENSE, 10_000, LocalDate.of(2024, 7, 1));
+        add(Transaction.Type.INCOME, 99_900, LocalDate.of(2024, 2, 10));
+    }
+
+    /**
+     * Monthly buckets cover every month of the range; months without expenses are 0.
+     */
+    @Test
+    public void month_fillsGaps() {
+        TimeSeriesResponse series = series(Granularity.MONTH, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 30));
+
+        assertThat(series.buckets()).containsExactly(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1),
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 1));
+        assertThat(cents(series)).containsExactly(3_000, 0, 1_000, 0);
+    }
+
+    /**
+     * Daily buckets: the range bounds are inclusive and applied to the day.
+     */
+    @Test
+    public void day_appliesRangeToTheDay() {
+        TimeSeriesResponse series = series(Granularity.DAY, LocalDate.of(2024, 1, 30), LocalDate.of(2024, 2, 2));
+
+        assertThat(series.buckets()).containsExactly(
+                LocalDate.of(2024, 1, 30), LocalDate.of(2024, 1, 31),
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 2));
+        assertThat(cents(series)).containsExactly(0, 2_000, 0, 0);
+    }
+
+    /**
+     * Weekly buckets start on Monday, even when the range starts mid-week.
+     */
+    @Test
+    public void week_startsOnMonday() {
+        // 2024-01-03 is a Wednesday; its week starts on Monday 2024-01-01
+        TimeSeriesResponse series = series(Granularity.WEEK, LocalDate.of(2024, 1, 3), LocalDate.of(2024, 1, 20));
+
+        assertThat(series.buckets()).containsExactly(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 15));
+        assertThat(cents(series)).containsExactly(1_000, 0, 0);
+    }
+
+    /**
+     * Quarterly and yearly buckets.
+     */
+    @Test
+    public void quarterAndYear() {
+        TimeSeriesResponse quarters = series(Granularity.QUARTER, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        assertThat(quarters.buckets()).containsExactly(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 1),
+                LocalDate.of(2024, 7, 1), LocalDate.of(2024, 10, 1));
+        assertThat(cents(quarters)).containsExactly(4_000, 0, 10_000, 0);
+
+        TimeSeriesResponse years = series(Granularity.YEAR, LocalDate.of(2023, 6, 1), LocalDate.of(2025, 6, 1));
+        assertThat(years.buckets()).containsExactly(
+                LocalDate.of(2023, 1, 1), LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1));
+        assertThat(cents(years)).containsExactly(0, 14_000, 0);
+    }
+
+    /**
+     * The number of buckets matches what the controller uses to bound a request.
+     */
+    @Test
+    public void bucketCount_matchesGranularity() {
+        LocalDate from = LocalDate.of(2023, 11, 29);
+        LocalDate to = LocalDate.of(2024, 7, 2);
+        for (Granularity granularity : Granularity.values()) {
+            assertThat(series(granularity, from, to).buckets())
+                    .as(granularity.name())
+                    .hasSize((int) granularity.bucketsBetween(from, to));
+        }
+    }
+
+    /**
+     * Another user cannot read the series.
+     */
+    @Test
+    public void otherUser_isDenied() {
+        assertThatThrownBy(() -> analyticsService.timeSeries(budgetId, Transaction.Type.EXPENSE, Granularity.MONTH,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), "someoneelse"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private TimeSeriesResponse series(Granularity granularity, LocalDate from, LocalDate to) {
+        return analyticsService.timeSeries(budgetId, Transaction.Type.EXPENSE, granularity, from, to, username);
+    }
+
+    private static long[] cents(TimeSeriesResponse series) {
+        return Arrays.stream(series.totals()).mapToLong(Money::toCents).toArray();
+    }
+
+    private void add(Transaction.Type type, long amountCents, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setAmountCents(amountCents);
+        transaction.setType(type);
+        transaction.setDate(date);
+        transactionService.addTransaction(budgetId, transaction, username);
+    }
+}
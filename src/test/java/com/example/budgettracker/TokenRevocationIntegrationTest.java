@@ -0,0 +1,87 @@
+package com.example.budgettracker;
+
+import com.example.budgettracker.dto.request.LoginRequest;
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.security.TokenRevocationList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for token revocation.
+ * Validates that /api/logout revokes the current token, that the revocation survives
+ * a rebuild of the in-memory denylist, and that a fresh login still works.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("local") // Use test-specific profile and database
+public class TokenRevocationIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    private String username;
+    private final String password = "password123";
+
+    /**
+     * Registers a unique user for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        username = "revokeuser" + UUID.randomUUID().toString().substring(0, 8);
+        restTemplate.postForEntity("/api/register",
+                new RegistrationRequest(username, username + "@example.com", password), String.class);
+    }
+
+    /**
+     * A token is rejected after logout, including after the denylist is rebuilt from the database.
+     */
+    @Test
+    public void logout_revokesCurrentToken() {
+        String token = login();
+        assertThat(getBudgets(token).getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        ResponseEntity<String> logout = restTemplate.exchange(
+                "/api/logout", HttpMethod.POST, new HttpEntity<>(bearer(token)), String.class);
+        assertThat(logout.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+
+        assertThat(getBudgets(token).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        tokenRevocationList.refresh();
+        assertThat(getBudgets(token).getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+
+        // A new login issues a new token id, which is not revoked
+        assertThat(getBudgets(login()).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private String login() {
+        ResponseEntity<TokenResponse> response = restTemplate.postForEntity(
+                "/api/login", new LoginRequest(username, password), TokenResponse.class);
+        return response.getBody().token();
+    }
+
+    private ResponseEntity<String> getBudgets(String token) {
+        return restTemplate.exchange("/api/budgets", HttpMethod.GET, new HttpEntity<>(bearer(token)), String.class);
+    }
+
+    private static HttpHeaders bearer(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return headers;
+    }
+
+    /**
+     * Maps the login response.
+     */
+    private record TokenResponse(String token) {}
+}
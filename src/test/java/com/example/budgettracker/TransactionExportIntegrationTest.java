@@ -0,0 +1,128 @@
+package com.example.budgettracker;
+
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.service.BudgetService;
+import com.example.budgettracker.service.TransactionExportService;
+import com.example.budgettracker.service.UserService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the streaming transaction export ({@link TransactionExportService}).
+ * Verifies that every transaction is written once in (date, id) order, and that the
+ * persistence context never holds more than one batch of entities while writing.
+ */
+@SpringBootTest
+@ActiveProfiles("local") // Use the local test profile with a separate database
+public class TransactionExportIntegrationTest {
+
+    private static final int ROWS = 2_500;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String username;
+    private Long budgetId;
+
+    /**
+     * Registers a unique user with one budget of {@value #ROWS} transactions over 100 dates.
+     */
+    @BeforeEach
+    public void setup() {
+        username = "exportuser" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(new RegistrationRequest(username, username + "@example.com", "password123"));
+        budgetId = budgetService.createBudget(username, "Household", 100_000).getId();
+
+        jdbcTemplate.update("""
+                INSERT INTO transactions (amount_cents, type, description, date, budget_id)
+                SELECT g, 'EXPENSE', 'row ' || g, DATE '2024-01-01' + (g % 100), ?
+                FROM generate_series(1, ?) g""", budgetId, ROWS);
+    }
+
+    /**
+     * The export is one JSON array with every transaction in (date, id) order.
+     */
+    @Test
+    public void export_writesAllTransactionsInOrder() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = transactionExportService.exportTransactions(budgetId, out);
+
+        JsonNode array = objectMapper.readTree(out.toByteArray());
+        List<Long> ids = new ArrayList<>();
+        array.forEach(node -> ids.add(node.get("id").asLong()));
+        assertThat(count).isEqualTo(ROWS);
+        assertThat(ids).containsExactlyElementsOf(jdbcTemplate.queryForList(
+                "SELECT id FROM transactions WHERE budget_id = ? ORDER BY date, id", Long.class, budgetId));
+        assertThat(array.get(0).get("amount").decimalValue()).isNotNull();
+    }
+
+    /**
+     * While the rows are written, the persistence context holds at most one batch of entities.
+     */
+    @Test
+    public void export_detachesWrittenEntities() throws IOException {
+        int[] maxManaged = {0};
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] bytes, int offset, int length) {
+                // Called on the exporting thread, inside its transaction
+                int managed = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+                maxManaged[0] = Math.max(maxManaged[0], managed);
+                super.write(bytes, offset, length);
+            }
+        };
+
+        transactionExportService.exportTransactions(budgetId, out);
+
+        assertThat(maxManaged[0]).isBetween(1, 1_000);
+    }
+
+    /**
+     * An empty budget is an empty array; another user is denied access.
+     */
+    @Test
+    public void export_emptyBudgetAndOtherUser() throws IOException {
+        Long emptyBudgetId = budgetService.createBudget(username, "Empty", 100_000).getId();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(transactionExportService.exportTransactions(emptyBudgetId, out)).isZero();
+        assertThat(out.toString()).isEqualTo("[]");
+
+        transactionExportService.checkAccess(emptyBudgetId, username);
+        assertThatThrownBy(() -> transactionExportService.checkAccess(budgetId, "someoneelse"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
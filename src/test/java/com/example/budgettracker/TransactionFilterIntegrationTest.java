@@ -0,0 +1,372 @@
+package com.example.budgettracker;
+
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.dto.request.TransactionCursor;
+import com.example.budgettracker.dto.request.TransactionFilter;
+import com.example.budgettracker.dto.response.TransactionPage;
+import com.example.budgettracker.dto.response.TransactionResponse;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.service.BudgetService;
+import com.example.budgettracker.service.TransactionService;
+import com.example.budgettracker.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the filtered transaction list ({@code TransactionService.getTransactionPage}
+ * with a {@link TransactionFilter}).
+ * Verifies each filter and their combination, descending order across pages, and with
+ * EXPLAIN ANALYZE that each common filter shape is served by its index (migrations V3, V6 and V7).
+ * The plans are of the SQL Hibernate generates for the page queries, captured by a
+ * {@link StatementInspector}, including following pages in both directions.
+ */
+@SpringBootTest
+@ActiveProfiles("local") // Use the local test profile with a separate database
+public class TransactionFilterIntegrationTest {
+
+    private static final int BULK_ROWS = 20_000;
+    private static final int PAGE_SIZE = 50;
+
+    private static final TransactionFilter INCOME_NEWEST_FIRST =
+            new TransactionFilter(null, null, Transaction.Type.INCOME, null, null, null, Sort.Direction.DESC);
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlCapture sqlCapture;
+
+    private String username;
+    private Long budgetId;
+    private final List<Long> ids = new ArrayList<>();
+
+    /**
+     * Registers a unique user with one budget and six transactions; {@code ids.get(i)} is the
+     * ID of transaction {@code i}:
+     * <pre>
+     * 0  2024-01-10  EXPENSE  Food      12.50
+     * 1  2024-01-20  INCOME   Salary  3000.00
+     * 2  2024-02-05  EXPENSE  Rent     800.00
+     * 3  2024-02-05  EXPENSE  Food      45.00
+     * 4  2024-03-01  EXPENSE  (none)     5.00
+     * 5  2024-03-15  EXPENSE  Travel   250.00
+     * </pre>
+     */
+    @BeforeEach
+    public void setup() {
+        username = "filteruser" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(new RegistrationRequest(username, username + "@example.com", "password123"));
+        budgetId = budgetService.createBudget(username, "Household", 100_000).getId();
+
+        ids.clear();
+        add(LocalDate.of(2024, 1, 10), Transaction.Type.EXPENSE, "Food", 1_250);
+        add(LocalDate.of(2024, 1, 20), Transaction.Type.INCOME, "Salary", 300_000);
+        add(LocalDate.of(2024, 2, 5), Transaction.Type.EXPENSE, "Rent", 80_000);
+        add(LocalDate.of(2024, 2, 5), Transaction.Type.EXPENSE, "Food", 4_500);
+        add(LocalDate.of(2024, 3, 1), Transaction.Type.EXPENSE, null, 500);
+        add(LocalDate.of(2024, 3, 15), Transaction.Type.EXPENSE, "Travel", 25_000);
+    }
+
+    @Test
+    public void dateRange_isInclusive() {
+        assertThat(list(new TransactionFilter(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1),
+                null, null, null, null, null)))
+                .containsExactly(ids.get(2), ids.get(3), ids.get(4));
+    }
+
+    @Test
+    public void type() {
+        assertThat(list(new TransactionFilter(null, null, Transaction.Type.INCOME, null, null, null, null)))
+                .containsExactly(ids.get(1));
+    }
+
+    /**
+     * Any of the categories matches; names the user never used match nothing.
+     */
+    @Test
+    public void categories() {
+        assertThat(list(new TransactionFilter(null, null, null, Set.of("Food", " Travel ", "Unknown"),
+                null, null, null)))
+                .containsExactly(ids.get(0), ids.get(3), ids.get(5));
+        assertThat(list(new TransactionFilter(null, null, null, Set.of("Unknown"), null, null, null)))
+                .isEmpty();
+    }
+
+    @Test
+    public void amountRange_isInclusive() {
+        assertThat(list(new TransactionFilter(null, null, null, null, 1_250L, 25_000L, null)))
+                .containsExactly(ids.get(0), ids.get(3), ids.get(5));
+    }
+
+    /**
+     * Filters combine with AND; descending order breaks date ties by descending ID.
+     */
+    @Test
+    public void combined_descending() {
+        assertThat(list(new TransactionFilter(LocalDate.of(2024, 1, 1), null, Transaction.Type.EXPENSE, null,
+                4_000L, null, Sort.Direction.DESC)))
+                .containsExactly(ids.get(5), ids.get(3), ids.get(2));
+    }
+
+    /**
+     * Following the cursors in descending order with a filter returns every match once.
+     */
+    @Test
+    public void descendingPages_followTheFilter() {
+        TransactionFilter expenses = new TransactionFilter(null, null, Transaction.Type.EXPENSE, null, null, null,
+                Sort.Direction.DESC);
+
+        List<Long> seen = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        TransactionCursor cursor = null;
+        do {
+            TransactionPage page = transactionService.getTransactionPage(budgetId, expenses, cursor, 2, username);
+            page.items().forEach(item -> seen.add(item.getId()));
+            sizes.add(page.items().size());
+            cursor = page.nextCursor() == null ? null : TransactionCursor.decode(page.nextCursor());
+        } while (cursor != null);
+
+        assertThat(sizes).containsExactly(2, 2, 1);
+        assertThat(seen).containsExactly(ids.get(5), ids.get(4), ids.get(3), ids.get(2), ids.get(0));
+    }
+
+    /**
+     * A date range is a range scan of idx_transactions_budget_date_id, in order without a sort.
+     */
+    @Test
+    public void dateRange_usesBudgetDateIndex() {
+        Long bulkBudgetId = seedBulkBudget();
+        LocalDate from = LocalDate.of(2023, 3, 1);
+        LocalDate to = LocalDate.of(2023, 3, 31);
+
+        String plan = explainAnalyze(pageSql(bulkBudgetId,
+                new TransactionFilter(from, to, null, null, null, null, null), null),
+                bulkBudgetId, from, to, PAGE_SIZE + 1);
+
+        assertThat(plan)
+                .contains("Index Scan using idx_transactions_budget_date_id")
+                .doesNotContain("Sort")
+                .doesNotContain("Seq Scan");
+    }
+
+    /**
+     * A type filter, newest first, is a backward scan of idx_transactions_budget_type_date without a sort.
+     */
+    @Test
+    public void type_usesBudgetTypeDateIndex() {
+        Long bulkBudgetId = seedBulkBudget();
+
+        String plan = explainAnalyze(pageSql(bulkBudgetId, INCOME_NEWEST_FIRST, null),
+                bulkBudgetId, Transaction.Type.INCOME.name(), PAGE_SIZE + 1);
+
+        assertThat(plan)
+                .contains("Index Scan Backward using idx_transactions_budget_type_date")
+                .doesNotContain("Sort")
+                .doesNotContain("Seq Scan");
+    }
+
+    /**
+     * A filter on a few of 200 categories reads only their rows from idx_transactions_budget_category_date.
+     */
+    @Test
+    public void categories_useBudgetCategoryDateIndex() {
+        Long bulkBudgetId = seedBulkBudget();
+        List<Integer> categoryIds = jdbcTemplate.queryForList("""
+                SELECT c.id FROM categories c JOIN budgets b ON b.user_id = c.user_id
+                WHERE b.id = ? AND c.name IN ('bulk-1', 'bulk-2')""", Integer.class, bulkBudgetId);
+
+        // The order of the IDs in the IN list does not change the plan
+        String plan = explainAnalyze(pageSql(bulkBudgetId,
+                new TransactionFilter(null, null, null, Set.of("bulk-1", "bulk-2"), null, null, null), null),
+                bulkBudgetId, categoryIds.get(0), categoryIds.get(1), PAGE_SIZE + 1);
+
+        assertThat(plan)
+                .contains("idx_transactions_budget_category_date")
+                .doesNotContain("Seq Scan");
+    }
+
+    /**
+     * An amount range reads only the matching rows from idx_transactions_budget_amount.
+     */
+    @Test
+    public void amountRange_usesBudgetAmountIndex() {
+        Long bulkBudgetId = seedBulkBudget();
+
+        String plan = explainAnalyze(pageSql(bulkBudgetId,
+                new TransactionFilter(null, null, null, null, 5_000_000L, 5_002_000L, null), null),
+                bulkBudgetId, 5_000_000L, 5_002_000L, PAGE_SIZE + 1);
+
+        assertThat(plan)
+                .contains("idx_transactions_budget_amount")
+                .doesNotContain("Seq Scan");
+    }
+
+    /**
+     * A following page, oldest first, starts inside idx_transactions_budget_date_id at the cursor
+     * and stops after the page, without a sort.
+     */
+    @Test
+    public void ascendingCursorPage_usesBudgetDateIndex() {
+        Long bulkBudgetId = seedBulkBudget();
+        TransactionCursor cursor = nextCursor(bulkBudgetId, TransactionFilter.NONE);
+
+        String plan = explainAnalyze(pageSql(bulkBudgetId, TransactionFilter.NONE, cursor),
+                bulkBudgetId, cursor.date(), cursor.date(), cursor.id(), PAGE_SIZE + 1);
+
+        assertThat(plan)
+                .contains("Index Scan using idx_transactions_budget_date_id")
+                .doesNotContain("Sort")
+                .doesNotContain("Seq Scan");
+    }
+
+    /**
+     * A following page of a type filter, newest first, continues the backward scan of
+     * idx_transactions_budget_type_date from the cursor, without a sort.
+     */
+    @Test
+    public void descendingCursorPage_usesBudgetTypeDateIndex() {
+        Long bulkBudgetId = seedBulkBudget();
+        TransactionCursor cursor = nextCursor(bulkBudgetId, INCOME_NEWEST_FIRST);
+
+        String plan = explainAnalyze(pageSql(bulkBudgetId, INCOME_NEWEST_FIRST, cursor),
+                bulkBudgetId, Transaction.Type.INCOME.name(), cursor.date(), cursor.date(), cursor.id(), PAGE_SIZE + 1);
+
+        assertThat(plan)
+                .contains("Index Scan Backward using idx_transactions_budget_type_date")
+                .doesNotContain("Sort")
+                .doesNotContain("Seq Scan");
+    }
+
+    private List<Long> list(TransactionFilter filter) {
+        return transactionService.getTransactionPage(budgetId, filter, null, 100, username).items().stream()
+                .map(TransactionResponse::getId)
+                .toList();
+    }
+
+    private void add(LocalDate date, Transaction.Type type, String category, long amountCents) {
+        Transaction transaction = new Transaction();
+        transaction.setAmountCents(amountCents);
+        transaction.setType(type);
+        transaction.setCategory(category);
+        transaction.setDate(date);
+        ids.add(transactionService.addTransaction(budgetId, transaction, username).getId());
+    }
+
+    /**
+     * Adds a budget of {@value #BULK_ROWS} transactions over about four years, 2% of them income,
+     * spread over 200 categories ({@code bulk-0..199}) with amounts up to 100,000.00.
+     */
+    private Long seedBulkBudget() {
+        Long bulkBudgetId = budgetService.createBudget(username, "Bulk", 100_000).getId();
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, username);
+        jdbcTemplate.update("""
+                INSERT INTO categories (user_id, name)
+                SELECT ?, 'bulk-' || g FROM generate_series(0, 199) g""", userId);
+        jdbcTemplate.update("""
+                INSERT INTO transactions (amount_cents, type, date, category_id, budget_id)
+                SELECT (g * 7919) % 10000000,
+                       CASE WHEN g % 50 = 0 THEN 'INCOME' ELSE 'EXPENSE' END,
+                       DATE '2020-01-01' + (g % 1500),
+                       c.id,
+                       ?
+                FROM generate_series(1, ?) g
+                JOIN categories c ON c.user_id = ? AND c.name = 'bulk-' || (g % 200)""",
+                bulkBudgetId, BULK_ROWS, userId);
+        jdbcTemplate.execute("ANALYZE transactions");
+        return bulkBudgetId;
+    }
+
+    private TransactionCursor nextCursor(Long bulkBudgetId, TransactionFilter filter) {
+        TransactionPage first = transactionService.getTransactionPage(bulkBudgetId, filter, null, PAGE_SIZE, username);
+        return TransactionCursor.decode(first.nextCursor());
+    }
+
+    /**
+     * Loads a page through the service and returns the SQL Hibernate generated for the transaction
+     * query, with its parameter placeholders.
+     */
+    private String pageSql(Long bulkBudgetId, TransactionFilter filter, TransactionCursor after) {
+        List<String> statements = sqlCapture.capture(
+                () -> transactionService.getTransactionPage(bulkBudgetId, filter, after, PAGE_SIZE, username));
+        return statements.stream()
+                .filter(sql -> sql.contains(" from transactions "))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /**
+     * Runs EXPLAIN ANALYZE on a captured statement; the arguments are bound to its placeholders in order.
+     */
+    private String explainAnalyze(String sql, Object... args) {
+        assertThat(sql.chars().filter(c -> c == '?').count()).as(sql).isEqualTo(args.length);
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN (ANALYZE) " + sql, String.class, args));
+    }
+
+    /**
+     * Records the SQL Hibernate sends while {@link #capture} runs on the current thread.
+     */
+    static class SqlCapture implements StatementInspector {
+
+        private final ThreadLocal<List<String>> statements = new ThreadLocal<>();
+
+        List<String> capture(Runnable action) {
+            statements.set(new ArrayList<>());
+            try {
+                action.run();
+                return statements.get();
+            } finally {
+                statements.remove();
+            }
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> captured = statements.get();
+            if (captured != null) {
+                captured.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+
+        @Bean
+        SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer sqlCaptureCustomizer(SqlCapture sqlCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlCapture);
+        }
+    }
+}
@@ -12,6 +12,8 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.*;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -84,7 +86,7 @@ public class TransactionIntegrationTest {
 
         // Create a transaction request
         TransactionRequest transactionRequest = new TransactionRequest();
-        transactionRequest.setAmount(200.0);
+        transactionRequest.setAmount(new BigDecimal("200.00"));
         transactionRequest.setType(Type.EXPENSE);
         transactionRequest.setDescription("Groceries");
 
@@ -101,18 +103,19 @@ public class TransactionIntegrationTest {
         assertThat(addResponse.getBody()).isNotNull();
         assertThat(addResponse.getBody().getAmount()).isEqualTo(200.0);
 
-        // Send GET request to fetch all transactions for the budget
-        ResponseEntity<TransactionResponse[]> getResponse = restTemplate.exchange(
+        // Send GET request to fetch the first page of transactions for the budget
+        ResponseEntity<TransactionPageResponse> getResponse = restTemplate.exchange(
                 "/api/budgets/" + budgetId + "/transactions",
                 HttpMethod.GET,
                 new HttpEntity<>(headers),
-                TransactionResponse[].class
+                TransactionPageResponse.class
         );
 
-        // Verify the transaction appears in the list
+        // Verify the transaction appears in the only page
         assertThat(getResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
-        assertThat(getResponse.getBody()).isNotEmpty();
-        assertThat(getResponse.getBody()[0].getDescription()).isEqualTo("Groceries");
+        assertThat(getResponse.getBody().items()).isNotEmpty();
+        assertThat(getResponse.getBody().items().get(0).getDescription()).isEqualTo("Groceries");
+        assertThat(getResponse.getBody().nextCursor()).isNull();
     }
 
     // --- Helper classes for response deserialization ---
@@ -131,6 +134,11 @@ public class TransactionIntegrationTest {
         public void setId(Long id) { this.id = id; }
     }
 
+    /**
+     * Used to deserialize a page of transactions.
+     */
+    public static record TransactionPageResponse(List<TransactionResponse> items, String nextCursor) {}
+
     /**
      * Used to deserialize transaction responses.
      */
@@ -0,0 +1,184 @@
+package com.example.budgettracker;
+
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.dto.request.TransactionCursor;
+import com.example.budgettracker.dto.request.TransactionFilter;
+import com.example.budgettracker.dto.response.TransactionPage;
+import com.example.budgettracker.dto.response.TransactionResponse;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.service.BudgetService;
+import com.example.budgettracker.service.TransactionService;
+import com.example.budgettracker.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for keyset pagination of a budget's transactions
+ * ({@code TransactionService.getTransactionPage}).
+ * Verifies the (date, id) order across pages, including ties on the date, that writes between
+ * pages neither skip nor repeat rows, and with EXPLAIN ANALYZE that a deep page is an index
+ * range scan reading only the page.
+ */
+@SpringBootTest
+@ActiveProfiles("local") // Use the local test profile with a separate database
+public class TransactionPaginationIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String username;
+    private Long budgetId;
+
+    /**
+     * Registers a unique user with one budget and seven transactions over four dates,
+     * added out of date order.
+     */
+    @BeforeEach
+    public void setup() {
+        username = "pageuser" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(new RegistrationRequest(username, username + "@example.com", "password123"));
+        budgetId = budgetService.createBudget(username, "Household", 100_000).getId();
+
+        add(LocalDate.of(2024, 3, 1));
+        add(LocalDate.of(2024, 1, 15));
+        add(LocalDate.of(2024, 3, 1));
+        add(LocalDate.of(2024, 2, 1));
+        add(LocalDate.of(2024, 1, 15));
+        add(LocalDate.of(2024, 3, 1));
+        add(LocalDate.of(2024, 4, 30));
+    }
+
+    /**
+     * Following the cursors returns every transaction once, ordered by date and then ID;
+     * the last page has no cursor.
+     */
+    @Test
+    public void pages_returnAllTransactionsInOrder() {
+        List<TransactionPage> pages = allPages(3);
+
+        assertThat(pages).extracting(page -> page.items().size()).containsExactly(3, 3, 1);
+        assertThat(pages.get(2).nextCursor()).isNull();
+        assertThat(ids(pages)).containsExactlyElementsOf(jdbcTemplate.queryForList(
+                "SELECT id FROM transactions WHERE budget_id = ? ORDER BY date, id", Long.class, budgetId));
+    }
+
+    /**
+     * A page size equal to the number of transactions is a single page without a cursor.
+     */
+    @Test
+    public void exactPageSize_hasNoNextCursor() {
+        TransactionPage page = transactionService.getTransactionPage(budgetId, TransactionFilter.NONE, null, 7,
+                username);
+
+        assertThat(page.items()).hasSize(7);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    /**
+     * A transaction added before the cursor position is not returned by later pages, and none
+     * of the remaining ones is skipped or repeated.
+     */
+    @Test
+    public void writeBetweenPages_doesNotShiftLaterPages() {
+        TransactionPage first = transactionService.getTransactionPage(budgetId, TransactionFilter.NONE, null, 3,
+                username);
+        add(LocalDate.of(2023, 12, 31));
+
+        List<Long> seen = new ArrayList<>(first.items().stream().map(TransactionResponse::getId).toList());
+        TransactionCursor cursor = TransactionCursor.decode(first.nextCursor());
+        while (cursor != null) {
+            TransactionPage page = transactionService.getTransactionPage(budgetId, TransactionFilter.NONE, cursor, 3,
+                    username);
+            page.items().forEach(item -> seen.add(item.getId()));
+            cursor = page.nextCursor() == null ? null : TransactionCursor.decode(page.nextCursor());
+        }
+
+        assertThat(seen).doesNotHaveDuplicates().hasSize(7);
+    }
+
+    /**
+     * Another user cannot list the transactions.
+     */
+    @Test
+    public void otherUser_isDenied() {
+        assertThatThrownBy(() -> transactionService.getTransactionPage(budgetId, TransactionFilter.NONE, null, 10,
+                "someoneelse"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * With 20,000 transactions, a page near the end seeks into idx_transactions_budget_date_id
+     * and reads only the rows of the page: no sort and no rows skipped.
+     * The condition is the one {@code TransactionSearchRepositoryImpl} generates for a cursor.
+     */
+    @Test
+    public void deepPage_seeksIntoIndex() {
+        jdbcTemplate.update("""
+                INSERT INTO transactions (amount_cents, type, date, budget_id)
+                SELECT 100, 'EXPENSE', DATE '2020-01-01' + (g % 1500), ?
+                FROM generate_series(1, 20000) g""", budgetId);
+        jdbcTemplate.execute("ANALYZE transactions");
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("""
+                EXPLAIN (ANALYZE)
+                SELECT * FROM transactions t
+                WHERE t.budget_id = ? AND t.date >= DATE '2024-01-01'
+                  AND (t.date > DATE '2024-01-01' OR t.id > 0)
+                ORDER BY t.date, t.id
+                LIMIT 51""", String.class, budgetId));
+
+        assertThat(plan)
+                .contains("Index Scan using idx_transactions_budget_date_id")
+                .contains("rows=51 loops=1")
+                .doesNotContain("Sort")
+                .doesNotContain("Seq Scan");
+    }
+
+    private List<TransactionPage> allPages(int pageSize) {
+        List<TransactionPage> pages = new ArrayList<>();
+        TransactionCursor cursor = null;
+        do {
+            TransactionPage page = transactionService.getTransactionPage(budgetId, TransactionFilter.NONE, cursor,
+                    pageSize, username);
+            pages.add(page);
+            cursor = page.nextCursor() == null ? null : TransactionCursor.decode(page.nextCursor());
+        } while (cursor != null);
+        return pages;
+    }
+
+    private static List<Long> ids(List<TransactionPage> pages) {
+        return pages.stream()
+                .flatMap(page -> page.items().stream())
+                .map(TransactionResponse::getId)
+                .toList();
+    }
+
+    private void add(LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setAmountCents(1_000);
+        transaction.setType(Transaction.Type.EXPENSE);
+        transaction.setDate(date);
+        transactionService.addTransaction(budgetId, transaction, username);
+    }
+}
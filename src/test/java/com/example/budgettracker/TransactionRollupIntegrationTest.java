@@ -0,0 +1,265 @@
+package com.example.budgettracker;
+
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.dto.response.AnalyticsPivotResponse;
+import com.example.budgettracker.dto.response.CategorySummary;
+import com.example.budgettracker.dto.response.MonthlySummary;
+import com.example.budgettracker.model.Money;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.repository.BudgetLedgerRepository;
+import com.example.budgettracker.repository.BudgetRepository;
+import com.example.budgettracker.repository.TransactionRollupRepository;
+import com.example.budgettracker.service.AnalyticsService;
+import com.example.budgettracker.service.BudgetService;
+import com.example.budgettracker.service.TransactionRollupService;
+import com.example.budgettracker.service.TransactionService;
+import com.example.budgettracker.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for the monthly/category rollups ({@code transaction_rollups}).
+ * Verifies that the write paths keep the rollups equal to an aggregate over the raw
+ * transactions, including moves between buckets, and that a rebuild repairs them, skipping
+ * budgets deleted mid-run.
+ */
+@SpringBootTest
+@ActiveProfiles("local") // Use the local test profile with a separate database
+public class TransactionRollupIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    private TransactionRollupRepository transactionRollupRepository;
+
+    @Autowired
+    private BudgetLedgerRepository budgetLedgerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String username;
+    private Long budgetId;
+
+    /**
+     * Registers a unique user with one budget.
+     */
+    @BeforeEach
+    public void setup() {
+        username = "rollupuser" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(new RegistrationRequest(username, username + "@example.com", "password123"));
+        budgetId = budgetService.createBudget(username, "Household", 100_000).getId();
+    }
+
+    /**
+     * Adds, moves (date, type and category changes) and deletes keep the rollups exact,
+     * and buckets left empty are removed.
+     */
+    @Test
+    public void writes_keepRollupsEqualToRawAggregates() {
+        Transaction groceries = transactionService.addTransaction(budgetId,
+                transaction(Transaction.Type.EXPENSE, 4_000, "Food", LocalDate.of(2024, 1, 10)), username);
+        Transaction rent = transactionService.addTransaction(budgetId,
+                transaction(Transaction.Type.EXPENSE, 80_000, "Housing", LocalDate.of(2024, 1, 1)), username);
+        Transaction salary = transactionService.addTransaction(budgetId,
+                transaction(Transaction.Type.INCOME, 250_000, "Salary", LocalDate.of(2024, 1, 25)), username);
+        transactionService.addTransaction(budgetId,
+                transaction(Transaction.Type.EXPENSE, 1_250, null, LocalDate.of(2024, 2, 3)), username);
+        assertMatchesRaw();
+
+        // Amount change within the same bucket
+        transactionService.updateTransaction(groceries.getId(),
+                transaction(Transaction.Type.EXPENSE, 5_525, "Food", LocalDate.of(2024, 1, 12)), username);
+        assertMatchesRaw();
+
+        // Move to another month and category
+        transactionService.updateTransaction(rent.getId(),
+                transaction(Transaction.Type.EXPENSE, 80_000, "Rent", LocalDate.of(2024, 3, 1)), username);
+        assertMatchesRaw();
+
+        // Move to the other type
+        transactionService.updateTransaction(salary.getId(),
+                transaction(Transaction.Type.EXPENSE, 250_000, "Salary", LocalDate.of(2024, 1, 25)), username);
+        assertMatchesRaw();
+
+        transactionService.deleteTransaction(groceries.getId(), username);
+        assertMatchesRaw();
+
+        // Jan/Housing, Jan/Food and Jan/INCOME were emptied
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transaction_rollups WHERE budget_id = ?", Long.class, budgetId)).isEqualTo(3);
+        assertThat(analyticsService.sumByCategory(budgetId, Transaction.Type.EXPENSE, username))
+                .extracting(CategorySummary::category)
+                .containsExactlyInAnyOrder("Rent", "Salary", null);
+    }
+
+    /**
+     * A rebuild repopulates rollups that drifted from the transactions.
+     */
+    @Test
+    public void rebuild_repairsDrift() {
+        transactionService.addTransaction(budgetId,
+                transaction(Transaction.Type.EXPENSE, 4_000, "Food", LocalDate.of(2024, 1, 10)), username);
+        transactionService.addTransaction(budgetId,
+                transaction(Transaction.Type.INCOME, 10_000, "Gift", LocalDate.of(2024, 2, 10)), username);
+
+        // Simulate writes that bypassed the service
+        jdbcTemplate.update("UPDATE transaction_rollups SET total_cents = 99_900 WHERE budget_id = ?", budgetId);
+        jdbcTemplate.update("""
+                INSERT INTO transaction_rollups (budget_id, period_year, period_month, type, category_id, total_cents, tx_count)
+                VALUES (?, 2020, 1, 'EXPENSE', 0, 5, 1)""", budgetId);
+
+        assertThat(transactionRollupService.rebuild(budgetId)).isEqualTo(2);
+        assertMatchesRaw();
+    }
+
+    /**
+     * A budget deleted between the ID scan and its turn is skipped; later budgets are still rebuilt.
+     */
+    @Test
+    public void rebuildAll_skipsBudgetDeletedMidRun() {
+        Long deletedId = budgetService.createBudget(username, "Old", 100_000).getId();
+        transactionService.addTransaction(budgetId,
+                transaction(Transaction.Type.EXPENSE, 4_000, "Food", LocalDate.of(2024, 1, 10)), username);
+        jdbcTemplate.update("UPDATE transaction_rollups SET total_cents = 99_900 WHERE budget_id = ?", budgetId);
+
+        // The scan saw both budgets; the first is deleted before its turn
+        BudgetRepository scanned = mock(BudgetRepository.class);
+        when(scanned.findAllIds()).thenReturn(List.of(deletedId, budgetId));
+        TransactionRollupService service = new TransactionRollupService(transactionRollupRepository,
+                budgetLedgerRepository, scanned, transactionManager);
+        budgetService.deleteBudget(deletedId, username);
+
+        assertThat(service.rebuildAll()).isEqualTo(1);
+        assertMatchesRaw();
+        assertThat(budgetLedgerRepository.findById(deletedId)).isEmpty();
+    }
+
+    /**
+     * A rebuild started while a date-only update is uncommitted waits for it on the ledger row
+     * lock, then counts the moved transaction once, in its new bucket.
+     */
+    @Test
+    public void rebuild_waitsForConcurrentDateOnlyUpdate() throws Exception {
+        Transaction rent = transactionService.addTransaction(budgetId,
+                transaction(Transaction.Type.EXPENSE, 80_000, "Rent", LocalDate.of(2024, 1, 1)), username);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        CountDownLatch updated = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        try {
+            // Same amount, type and category: only the month changes
+            Future<?> update = pool.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                transactionService.updateTransaction(rent.getId(),
+                        transaction(Transaction.Type.EXPENSE, 80_000, "Rent", LocalDate.of(2024, 5, 1)), username);
+                updated.countDown();
+                try {
+                    commit.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertThat(updated.await(30, TimeUnit.SECONDS)).isTrue();
+
+            Future<Integer> rebuild = pool.submit(() -> transactionRollupService.rebuild(budgetId));
+            Thread.sleep(500);
+            assertThat(rebuild).isNotDone();
+
+            commit.countDown();
+            update.get(30, TimeUnit.SECONDS);
+            assertThat(rebuild.get(30, TimeUnit.SECONDS)).isEqualTo(1);
+        } finally {
+            commit.countDown();
+            pool.shutdownNow();
+        }
+
+        assertMatchesRaw();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT period_month FROM transaction_rollups WHERE budget_id = ?", Integer.class, budgetId))
+                .isEqualTo(5);
+    }
+
+    private void assertMatchesRaw() {
+        AnalyticsPivotResponse pivot = analyticsService.pivot(budgetId, username);
+        for (Transaction.Type type : Transaction.Type.values()) {
+            List<CategorySummary> byCategory = analyticsService.sumByCategory(budgetId, type, username);
+            assertThat(byCategory)
+                    .extracting(CategorySummary::category, CategorySummary::total)
+                    .containsExactlyInAnyOrderElementsOf(jdbcTemplate.query("""
+                                    SELECT c.name, SUM(t.amount_cents)
+                                    FROM transactions t
+                                    LEFT JOIN categories c ON c.id = t.category_id
+                                    WHERE t.budget_id = ? AND t.type = ?
+                                    GROUP BY c.name""",
+                            (rs, i) -> tuple(rs.getString(1), Money.fromCents(rs.getLong(2))),
+                            budgetId, type.name()));
+
+            List<MonthlySummary> byMonth = analyticsService.sumByMonth(budgetId, type, username);
+            assertThat(byMonth)
+                    .extracting(MonthlySummary::year, MonthlySummary::month, MonthlySummary::total)
+                    .containsExactlyElementsOf(jdbcTemplate.query("""
+                                    SELECT EXTRACT(YEAR FROM t.date)::int, EXTRACT(MONTH FROM t.date)::int, SUM(t.amount_cents)
+                                    FROM transactions t
+                                    WHERE t.budget_id = ? AND t.type = ?
+                                    GROUP BY 1, 2
+                                    ORDER BY 1, 2""",
+                            (rs, i) -> tuple(rs.getInt(1), rs.getInt(2), Money.fromCents(rs.getLong(3))),
+                            budgetId, type.name()));
+
+            // The pivot agrees with the per-type queries
+            AnalyticsPivotResponse.TypeAnalytics section =
+                    type == Transaction.Type.INCOME ? pivot.income() : pivot.expense();
+            assertThat(section.byCategory()).containsExactlyInAnyOrderElementsOf(byCategory);
+            assertThat(section.byMonth()).containsExactlyElementsOf(byMonth);
+            assertThat(section.total()).isEqualByComparingTo(
+                    byCategory.stream().map(CategorySummary::total).reduce(BigDecimal.ZERO, BigDecimal::add));
+        }
+    }
+
+    private static Transaction transaction(Transaction.Type type, long amountCents, String category, LocalDate date) {
+        Transaction transaction = new Transaction();
+        transaction.setAmountCents(amountCents);
+        transaction.setType(type);
+        transaction.setCategory(category);
+        transaction.setDate(date);
+        return transaction;
+    }
+}
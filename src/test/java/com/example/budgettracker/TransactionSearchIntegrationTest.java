@@ -0,0 +1,191 @@
+package com.example.budgettracker;
+
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.dto.response.TransactionResponse;
+import com.example.budgettracker.dto.response.TransactionSearchPage;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.repository.TransactionRepository;
+import com.example.budgettracker.service.BudgetService;
+import com.example.budgettracker.service.TransactionService;
+import com.example.budgettracker.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the description search ({@code TransactionService.searchTransactions}).
+ * Verifies case-insensitive substring and fuzzy matching, the ranking, offset pagination, and
+ * with EXPLAIN ANALYZE that the search reads the trigram index in similarity order (migration V8).
+ */
+@SpringBootTest
+@ActiveProfiles("local") // Use the local test profile with a separate database
+public class TransactionSearchIntegrationTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String username;
+    private Long budgetId;
+    private final List<Long> ids = new ArrayList<>();
+
+    /**
+     * Registers a unique user with one budget and six transactions; {@code ids.get(i)} is the
+     * ID of transaction {@code i}.
+     */
+    @BeforeEach
+    public void setup() {
+        username = "searchuser" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(new RegistrationRequest(username, username + "@example.com", "password123"));
+        budgetId = budgetService.createBudget(username, "Household", 100_000).getId();
+
+        ids.clear();
+        add(LocalDate.of(2024, 1, 10), "Uber ride home");
+        add(LocalDate.of(2024, 2, 10), "UBER EATS");
+        add(LocalDate.of(2024, 1, 5), "Amazon order");
+        add(LocalDate.of(2024, 3, 1), "amazon prime");
+        add(LocalDate.of(2024, 3, 2), "Coffee 100% arabica");
+        add(LocalDate.of(2024, 3, 3), null);
+    }
+
+    /**
+     * Matching ignores case and finds the text inside longer descriptions; ties are newest first.
+     */
+    @Test
+    public void substring_ignoresCase() {
+        assertThat(search("uber")).containsExactly(ids.get(1), ids.get(0));
+        assertThat(search("  ZON ORD ")).containsExactly(ids.get(2));
+    }
+
+    /**
+     * A misspelled word still finds the descriptions containing the word.
+     */
+    @Test
+    public void fuzzy_findsMisspelledWords() {
+        assertThat(search("amazn")).containsExactlyInAnyOrder(ids.get(2), ids.get(3));
+        assertThat(search("starbucks")).isEmpty();
+    }
+
+    /**
+     * Descriptions containing the text rank before ones that are only similar.
+     */
+    @Test
+    public void substringMatches_rankFirst() {
+        add(LocalDate.of(2024, 4, 1), "Amazonas trip");
+
+        assertThat(search("amazon order")).first().isEqualTo(ids.get(2));
+    }
+
+    /**
+     * LIKE wildcards in the text are matched literally.
+     */
+    @Test
+    public void wildcards_areLiteral() {
+        assertThat(search("100%")).containsExactly(ids.get(4));
+        assertThat(search("a_a")).isEmpty();
+    }
+
+    /**
+     * Following nextOffset returns every match once; the last page has no offset.
+     */
+    @Test
+    public void pages_followNextOffset() {
+        TransactionSearchPage first = transactionService.searchTransactions(budgetId, "uber", 0, 1, username);
+        TransactionSearchPage second = transactionService.searchTransactions(budgetId, "uber", first.nextOffset(), 1,
+                username);
+
+        assertThat(first.items()).extracting(TransactionResponse::getId).containsExactly(ids.get(1));
+        assertThat(first.nextOffset()).isEqualTo(1);
+        assertThat(second.items()).extracting(TransactionResponse::getId).containsExactly(ids.get(0));
+        assertThat(second.nextOffset()).isNull();
+    }
+
+    /**
+     * Another user cannot search the budget, and other budgets' transactions are not returned.
+     */
+    @Test
+    public void search_isScopedToTheBudget() {
+        Long otherBudgetId = budgetService.createBudget(username, "Other", 100_000).getId();
+
+        assertThat(transactionService.searchTransactions(otherBudgetId, "uber", 0, 10, username).items()).isEmpty();
+        assertThatThrownBy(() -> transactionService.searchTransactions(budgetId, "uber", 0, 10, "someoneelse"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * With 50,000 transactions in the budget, an eighth of them matching, both kinds of match are
+     * nearest-neighbour scans of idx_transactions_budget_description_trgm in similarity order:
+     * no bitmap scan, and the only sort ranks at most the capped candidates, not every match.
+     * The statement is the repository's {@link TransactionRepository#SEARCH_SQL}.
+     */
+    @Test
+    public void search_usesTrigramIndexInSimilarityOrder() {
+        jdbcTemplate.update("""
+                INSERT INTO transactions (amount_cents, type, description, date, budget_id)
+                SELECT 100, 'EXPENSE',
+                       CASE WHEN g % 8 = 0 THEN 'Uber trip ' || g ELSE 'Card payment ' || md5(g::text) END,
+                       DATE '2020-01-01' + (g % 1500), ?
+                FROM generate_series(1, 50000) g""", budgetId);
+        jdbcTemplate.execute("ANALYZE transactions");
+
+        String plan = String.join("\n", new NamedParameterJdbcTemplate(jdbcTemplate).queryForList(
+                "EXPLAIN (ANALYZE) " + TransactionRepository.SEARCH_SQL,
+                Map.of("budgetId", budgetId, "query", "uber", "pattern", "%uber%",
+                        "candidates", TransactionService.MAX_SEARCH_RESULTS, "offset", 0, "limit", 51),
+                String.class));
+
+        assertThat(plan)
+                .contains("Index Scan using idx_transactions_budget_description_trgm")
+                .contains("Order By: (")
+                .doesNotContain("Bitmap")
+                .doesNotContain("Seq Scan");
+        Matcher sort = Pattern.compile("Sort\\s+\\(cost=[^)]*\\) \\(actual time=\\S+ rows=(\\d+)").matcher(plan);
+        while (sort.find()) {
+            assertThat(Integer.parseInt(sort.group(1))).isLessThanOrEqualTo(2 * TransactionService.MAX_SEARCH_RESULTS);
+        }
+
+        assertThat(search("uber")).hasSize(100);
+        TransactionSearchPage last = transactionService.searchTransactions(budgetId, "uber",
+                TransactionService.MAX_SEARCH_RESULTS - 10, 50, username);
+        assertThat(last.items()).hasSize(10);
+        assertThat(last.nextOffset()).isNull();
+    }
+
+    private List<Long> search(String query) {
+        return transactionService.searchTransactions(budgetId, query, 0, 100, username).items().stream()
+                .map(TransactionResponse::getId)
+                .toList();
+    }
+
+    private void add(LocalDate date, String description) {
+        Transaction transaction = new Transaction();
+        transaction.setAmountCents(1_000);
+        transaction.setType(Transaction.Type.EXPENSE);
+        transaction.setDescription(description);
+        transaction.setDate(date);
+        ids.add(transactionService.addTransaction(budgetId, transaction, username).getId());
+    }
+}
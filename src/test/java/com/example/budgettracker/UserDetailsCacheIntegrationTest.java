@@ -0,0 +1,135 @@
+package com.example.budgettracker;
+
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.service.CustomUserDetailsService;
+import com.example.budgettracker.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the user-details cache in front of {@link CustomUserDetailsService}.
+ * Verifies hits are served from the cache, that role changes and deletions evict the entry once
+ * they commit, that cached details hold no password, and that hit/miss counts are published as
+ * the {@code cache.gets} metric.
+ */
+@SpringBootTest
+@ActiveProfiles("local") // Use the local test profile with a separate database
+public class UserDetailsCacheIntegrationTest {
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String username;
+
+    /**
+     * Registers a unique user for each test.
+     */
+    @BeforeEach
+    public void setup() {
+        username = "cacheuser" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(new RegistrationRequest(username, username + "@example.com", "password123"));
+    }
+
+    /**
+     * Repeated lookups hit the cache, and a role change is visible on the next lookup.
+     */
+    @Test
+    public void roleChange_evictsCachedUser() {
+        double hitsBefore = cacheGets("hit");
+
+        UserDetails first = customUserDetailsService.loadAuthenticatedUser(username);
+        UserDetails second = customUserDetailsService.loadAuthenticatedUser(username);
+
+        assertThat(second).isSameAs(first);
+        assertThat(cacheGets("hit")).isEqualTo(hitsBefore + 1);
+
+        userService.updateRoles(username, Set.of("USER", "ADMIN"));
+
+        UserDetails afterUpdate = customUserDetailsService.loadAuthenticatedUser(username);
+        assertThat(afterUpdate).isNotSameAs(first);
+        assertThat(afterUpdate.getAuthorities())
+                .extracting(Object::toString)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    /**
+     * A deleted user is no longer served from the cache.
+     */
+    @Test
+    public void deletion_evictsCachedUser() {
+        customUserDetailsService.loadAuthenticatedUser(username);
+
+        userService.deleteUser(username);
+
+        assertThatThrownBy(() -> customUserDetailsService.loadAuthenticatedUser(username))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    /**
+     * Details loaded by another request while a role change is still uncommitted carry the old
+     * roles; the eviction after the commit drops them.
+     */
+    @Test
+    public void roleChange_evictsAfterCommit() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userService.updateRoles(username, Set.of("USER", "ADMIN"));
+
+            UserDetails concurrent = CompletableFuture
+                    .supplyAsync(() -> customUserDetailsService.loadAuthenticatedUser(username))
+                    .join();
+            assertThat(concurrent.getAuthorities())
+                    .extracting(Object::toString)
+                    .containsExactly("ROLE_USER");
+        });
+
+        assertThat(customUserDetailsService.loadAuthenticatedUser(username).getAuthorities())
+                .extracting(Object::toString)
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    /**
+     * The cache holds no password hash; login reads it from the database, uncached.
+     */
+    @Test
+    public void cachedDetails_holdNoPassword() {
+        UserDetails cached = customUserDetailsService.loadAuthenticatedUser(username);
+        assertThat(cached.getPassword()).isNull();
+        assertThat(cached.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+
+        UserDetails login = customUserDetailsService.loadUserByUsername(username);
+        assertThat(login).isNotSameAs(cached);
+        assertThat(login.getPassword()).isNotNull();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "userDetails")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.budgettracker.benchmark;
+
+import com.example.budgettracker.BudgetTrackerApplication;
+import com.example.budgettracker.dto.projection.BudgetTotals;
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.dto.response.BudgetSummaryResponse;
+import com.example.budgettracker.model.Budget;
+import com.example.budgettracker.model.Money;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.repository.BudgetRepository;
+import com.example.budgettracker.service.BudgetLedgerService;
+import com.example.budgettracker.service.BudgetService;
+import com.example.budgettracker.service.BudgetSummaryService;
+import com.example.budgettracker.service.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code GET /api/budgets/{id}/summary} at the service level against PostgreSQL,
+ * for a budget holding 10k, 100k and 1M transactions.
+ *
+ * <ul>
+ *   <li>{@code legacyLoadAllTransactions} reproduces the previous service: load every
+ *       transaction entity, sum income and expense in Java, then load the budget again.</li>
+ *   <li>{@code aggregateQuery} is one conditional-sum query over the transactions that also
+ *       checks ownership ({@code BudgetRepository.findTotalsByIdAndOwnerUsername}).</li>
+ *   <li>{@code ledgerRead} is the current service: the running totals are read from the
+ *       budget's ledger row, independent of the number of transactions.</li>
+ * </ul>
+ *
+ * Boots the application without a web server against the test database
+ * ({@code src/test/resources/application.properties}, which is cleaned and migrated on startup),
+ * and seeds rows with {@code generate_series}, then reconciles the ledger. Point it at another disposable database with
+ * {@code -Dspring.datasource.url=...} in {@code jvmArgsAppend}.
+ *
+ * Run with {@code mvn -Pbenchmark -DskipTests test -Dbenchmark=BudgetSummaryBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class BudgetSummaryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private BudgetSummaryService budgetSummaryService;
+    private EntityManager entityManager;
+    private BudgetRepository budgetRepository;
+    private String username;
+    private Long budgetId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+        context = new SpringApplicationBuilder(BudgetTrackerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--jwt.secret=" + Base64.getEncoder().encodeToString(secret),
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.example.budgettracker=WARN",
+                        "--logging.level.org.springframework.web=WARN");
+
+        budgetSummaryService = context.getBean(BudgetSummaryService.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        budgetRepository = context.getBean(BudgetRepository.class);
+
+        username = "bench" + UUID.randomUUID().toString().substring(0, 8);
+        context.getBean(UserService.class)
+                .registerUser(new RegistrationRequest(username, username + "@example.com", "password123"));
+        budgetId = context.getBean(BudgetService.class).createBudget(username, "Benchmark", 100_000).getId();
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("""
+                INSERT INTO transactions (amount_cents, type, description, date, budget_id)
+                SELECT (random() * 10000)::bigint,
+                       CASE WHEN g % 3 = 0 THEN 'INCOME' ELSE 'EXPENSE' END,
+                       'benchmark row ' || g,
+                       current_date - (g % 730),
+                       ?
+                FROM generate_series(1, ?) AS g
+                """, budgetId, rows);
+        jdbc.execute("ANALYZE transactions");
+        context.getBean(BudgetLedgerService.class).reconcile(budgetId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BudgetSummaryResponse legacyLoadAllTransactions() {
+        List<Transaction> transactions = entityManager
+                .createQuery("SELECT t FROM Transaction t WHERE t.budget.id = :budgetId", Transaction.class)
+                .setParameter("budgetId", budgetId)
+                .getResultList();
+        long totalIncome = transactions.stream()
+                .filter(t -> t.getType() == Transaction.Type.INCOME)
+                .mapToLong(Transaction::getAmountCents)
+                .sum();
+        long totalExpense = transactions.stream()
+                .filter(t -> t.getType() == Transaction.Type.EXPENSE)
+                .mapToLong(Transaction::getAmountCents)
+                .sum();
+        long budgetAmount = budgetRepository.findById(budgetId)
+                .map(Budget::getAmountCents)
+                .orElse(0L);
+        return new BudgetSummaryResponse(budgetId, Money.fromCents(totalIncome), Money.fromCents(totalExpense),
+                Money.fromCents(budgetAmount + totalIncome - totalExpense));
+    }
+
+    @Benchmark
+    public BudgetTotals aggregateQuery() {
+        return budgetRepository.findTotalsByIdAndOwnerUsername(budgetId, username).orElseThrow();
+    }
+
+    @Benchmark
+    public BudgetSummaryResponse ledgerRead() {
+        return budgetSummaryService.getBudgetSummary(budgetId, username);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BudgetSummaryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
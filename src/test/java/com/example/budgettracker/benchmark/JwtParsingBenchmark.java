@@ -0,0 +1,85 @@
+package com.example.budgettracker.benchmark;
+
+import com.example.budgettracker.security.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request cost of authenticating a bearer token in {@code JwtAuthFilter}.
+ *
+ * <ul>
+ *   <li>{@code legacyThreeParses} reproduces the previous filter: username, validate and roles,
+ *       each decoding the secret, deriving the HMAC key and verifying the signature again.</li>
+ *   <li>{@code singleVerifiedParse} is the current filter: one verification with the parser
+ *       and key built once at startup.</li>
+ * </ul>
+ *
+ * Run with {@code mvn -Pbenchmark -DskipTests test -Dbenchmark=JwtParsingBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtParsingBenchmark {
+
+    private String secret;
+    private String token;
+    private JwtUtil jwtUtil;
+
+    @Setup
+    public void setup() {
+        byte[] keyBytes = new byte[64];
+        new SecureRandom().nextBytes(keyBytes);
+        secret = Base64.getEncoder().encodeToString(keyBytes);
+
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", secret);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 86_400_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+
+        token = jwtUtil.generateToken("benchmark-user", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Benchmark
+    public void legacyThreeParses(Blackhole bh) {
+        bh.consume(Jwts.parser().verifyWith(legacySigningKey()).build()
+                .parseSignedClaims(token).getPayload().getSubject());
+        bh.consume(Jwts.parser().verifyWith(legacySigningKey()).build()
+                .parseSignedClaims(token));
+        bh.consume(Jwts.parser().verifyWith(legacySigningKey()).build()
+                .parseSignedClaims(token).getPayload().get("roles", List.class));
+    }
+
+    @Benchmark
+    public void singleVerifiedParse(Blackhole bh) {
+        bh.consume(jwtUtil.parseToken(token));
+    }
+
+    /**
+     * Key derivation as it was done on every call before the key was cached.
+     */
+    private SecretKey legacySigningKey() {
+        return Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtParsingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.budgettracker.benchmark;
+
+import com.example.budgettracker.BudgetTrackerApplication;
+import com.example.budgettracker.dto.request.RegistrationRequest;
+import com.example.budgettracker.dto.request.TransactionCursor;
+import com.example.budgettracker.dto.request.TransactionFilter;
+import com.example.budgettracker.dto.response.BudgetResponse;
+import com.example.budgettracker.dto.response.TransactionPage;
+import com.example.budgettracker.dto.response.TransactionResponse;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.repository.BudgetRepository;
+import com.example.budgettracker.service.BudgetService;
+import com.example.budgettracker.service.TransactionService;
+import com.example.budgettracker.service.UserService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the read paths of {@code GET /api/budgets/{id}/transactions} (one keyset page of
+ * {@value #PAGE_SIZE}) and {@code GET /api/budgets} at the service level against PostgreSQL,
+ * for a budget of 1k and 100k transactions and a user with 200 budgets.
+ *
+ * <ul>
+ *   <li>{@code entityFirstPage} / {@code entityDeepPage} / {@code entityBudgets} reproduce the
+ *       previous services: load the entities, then copy them into the response DTOs as the
+ *       controllers did.</li>
+ *   <li>{@code projectionFirstPage} / {@code projectionDeepPage} / {@code projectionBudgets} are the
+ *       current services: the response columns are selected straight into the DTOs in a read-only
+ *       transaction.</li>
+ * </ul>
+ *
+ * The deep page is the last one of the budget, read from a cursor. All transaction variants
+ * include the ownership check. Besides latency, {@link #main} reports
+ * the allocation per operation ({@code gc.alloc.rate.norm}) with JMH's GC profiler; with the Maven
+ * profile, add it on the command line of {@code org.openjdk.jmh.Main} ({@code -prof gc}).
+ *
+ * Boots the application without a web server against the test database
+ * ({@code src/test/resources/application.properties}, which is cleaned and migrated on startup),
+ * and seeds rows with {@code generate_series}. Point it at another disposable database with
+ * {@code -Dspring.datasource.url=...} in {@code jvmArgsAppend}.
+ *
+ * Run with {@code mvn -Pbenchmark -DskipTests test -Dbenchmark=ReadProjectionBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ReadProjectionBenchmark {
+
+    private static final int BUDGETS = 200;
+    private static final int PAGE_SIZE = TransactionService.DEFAULT_PAGE_SIZE;
+
+    /** The entity queries of the transaction list before the DTO projection, oldest first. */
+    private static final String ENTITY_FIRST_PAGE = """
+            SELECT t FROM Transaction t
+            WHERE t.budget.id = :budgetId
+            ORDER BY t.date, t.id""";
+    private static final String ENTITY_NEXT_PAGE = """
+            SELECT t FROM Transaction t
+            WHERE t.budget.id = :budgetId AND t.date >= :date AND (t.date > :date OR t.id > :id)
+            ORDER BY t.date, t.id""";
+
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private BudgetService budgetService;
+    private BudgetRepository budgetRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+    private String username;
+    private Long budgetId;
+    private TransactionCursor deepCursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+        context = new SpringApplicationBuilder(BudgetTrackerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--jwt.secret=" + Base64.getEncoder().encodeToString(secret),
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.com.example.budgettracker=WARN",
+                        "--logging.level.org.springframework.web=WARN");
+
+        transactionService = context.getBean(TransactionService.class);
+        budgetService = context.getBean(BudgetService.class);
+        budgetRepository = context.getBean(BudgetRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        username = "bench" + UUID.randomUUID().toString().substring(0, 8);
+        context.getBean(UserService.class)
+                .registerUser(new RegistrationRequest(username, username + "@example.com", "password123"));
+        budgetId = budgetService.createBudget(username, "Benchmark", 100_000).getId();
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        jdbc.update("""
+                INSERT INTO budgets (name, amount_cents, user_id)
+                SELECT 'Budget ' || g, g * 100, u.id
+                FROM users u CROSS JOIN generate_series(2, ?) AS g
+                WHERE u.username = ?
+                """, BUDGETS, username);
+        jdbc.update("""
+                INSERT INTO transactions (amount_cents, type, description, date, budget_id)
+                SELECT (random() * 10000)::bigint,
+                       CASE WHEN g % 3 = 0 THEN 'INCOME' ELSE 'EXPENSE' END,
+                       'benchmark row ' || g,
+                       current_date - (g % 730),
+                       ?
+                FROM generate_series(1, ?) AS g
+                """, budgetId, rows);
+        jdbc.execute("ANALYZE budgets");
+        jdbc.execute("ANALYZE transactions");
+
+        // The cursor of the last page
+        deepCursor = jdbc.queryForObject("""
+                SELECT date, id FROM transactions WHERE budget_id = ?
+                ORDER BY date, id OFFSET ? LIMIT 1
+                """, (rs, i) -> new TransactionCursor(rs.getDate(1).toLocalDate(), rs.getLong(2),
+                        TransactionFilter.NONE),
+                budgetId, rows - PAGE_SIZE - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionPage entityFirstPage() {
+        return entityPage(null);
+    }
+
+    @Benchmark
+    public TransactionPage projectionFirstPage() {
+        return transactionService.getTransactionPage(budgetId, TransactionFilter.NONE, null, PAGE_SIZE, username);
+    }
+
+    @Benchmark
+    public TransactionPage entityDeepPage() {
+        return entityPage(deepCursor);
+    }
+
+    @Benchmark
+    public TransactionPage projectionDeepPage() {
+        return transactionService.getTransactionPage(budgetId, TransactionFilter.NONE, deepCursor, PAGE_SIZE, username);
+    }
+
+    @Benchmark
+    public List<BudgetResponse> entityBudgets() {
+        return budgetRepository.findByOwnerUsername(username).stream()
+                .map(BudgetResponse::from)
+                .toList();
+    }
+
+    @Benchmark
+    public List<BudgetResponse> projectionBudgets() {
+        return budgetService.getBudgetsForUser(username);
+    }
+
+    private TransactionPage entityPage(TransactionCursor after) {
+        return readOnlyTransaction.execute(status -> {
+            if (!budgetRepository.existsByIdAndOwnerUsername(budgetId, username)) {
+                throw new IllegalArgumentException("Budget not found or access denied");
+            }
+            TypedQuery<Transaction> query = entityManager
+                    .createQuery(after == null ? ENTITY_FIRST_PAGE : ENTITY_NEXT_PAGE, Transaction.class)
+                    .setParameter("budgetId", budgetId);
+            if (after != null) {
+                query.setParameter("date", after.date()).setParameter("id", after.id());
+            }
+            List<TransactionResponse> transactions = query.setMaxResults(PAGE_SIZE + 1)
+                    .getResultList().stream()
+                    .map(TransactionResponse::new)
+                    .toList();
+            boolean hasNext = transactions.size() > PAGE_SIZE;
+            List<TransactionResponse> page = hasNext ? transactions.subList(0, PAGE_SIZE) : transactions;
+            TransactionResponse last = page.get(page.size() - 1);
+            String nextCursor = hasNext
+                    ? new TransactionCursor(last.getDate(), last.getId(), TransactionFilter.NONE).encode()
+                    : null;
+            return new TransactionPage(page, nextCursor);
+        });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReadProjectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.budgettracker.config;
+
+import com.example.budgettracker.service.CategoryDictionary;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.TestExecutionListener;
+
+/**
+ * Starts every test method with an empty {@link CategoryDictionary} in its application context
+ * (registered in {@code META-INF/spring.factories}).
+ * <p>
+ * Tests that truncate the tables with {@code RESTART IDENTITY} make user and category IDs
+ * reused. Test classes with different configurations get their own contexts, and the cached
+ * earlier ones keep running against the same database, so their dictionaries would otherwise
+ * map a new user's names to categories that no longer exist.
+ */
+public class CategoryDictionaryResetListener implements TestExecutionListener {
+
+    @Override
+    public void beforeTestMethod(TestContext testContext) {
+        testContext.getApplicationContext().getBeanProvider(CategoryDictionary.class)
+                .ifAvailable(CategoryDictionary::evictAll);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.budgettracker.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Gives every test run a freshly migrated schema: when {@code spring.flyway.clean-disabled=false}
+ * (test properties only), the database is cleaned before the migrations are applied.
+ * <p>
+ * Only the first application context of the JVM cleans. Test classes with different
+ * configurations get their own contexts, and the cached earlier ones keep running against the
+ * same database; wiping it under them would leave their in-memory caches (e.g. category IDs)
+ * pointing at rows that no longer exist.
+ */
+@Configuration
+public class CleanMigrateFlywayConfig {
+
+    private static final AtomicBoolean CLEANED = new AtomicBoolean();
+
+    @Bean
+    public FlywayMigrationStrategy cleanMigrateStrategy() {
+        return flyway -> {
+            if (!flyway.getConfiguration().isCleanDisabled() && CLEANED.compareAndSet(false, true)) {
+                flyway.clean();
+            }
+            flyway.migrate();
+        };
+    }
+}
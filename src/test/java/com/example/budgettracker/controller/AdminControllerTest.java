@@ -1,19 +1,30 @@
 package com.example.budgettracker.controller;
 
 import com.example.budgettracker.security.JwtAuthFilter;
+import com.example.budgettracker.security.RateLimitFilter;
 import com.example.budgettracker.security.JwtUtil;
 import com.example.budgettracker.service.CustomUserDetailsService;
+import com.example.budgettracker.service.TransactionRollupService;
+import com.example.budgettracker.service.UserService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.Set;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
@@ -39,9 +50,20 @@ public class AdminControllerTest {
     @MockitoBean
     private JwtAuthFilter jwtAuthFilter;
 
+
+    @MockitoBean
+
+    private RateLimitFilter rateLimitFilter;
+
     @MockitoBean
     private PasswordEncoder passwordEncoder;
 
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private TransactionRollupService transactionRollupService;
+
     /**
      * Test that an authenticated user with the ADMIN role can access the protected admin endpoint.
      */
@@ -62,4 +84,65 @@ public class AdminControllerTest {
         mockMvc.perform(get("/api/admin/only"))
                 .andExpect(status().isForbidden());
     }
+
+    /**
+     * Test that an admin can replace a user's roles.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void adminCanUpdateUserRoles() throws Exception {
+        mockMvc.perform(put("/api/admin/users/john/roles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"roles\":[\"USER\",\"ADMIN\"]}"))
+                .andExpect(status().isNoContent());
+
+        verify(userService).updateRoles("john", Set.of("USER", "ADMIN"));
+    }
+
+    /**
+     * Test that an empty role set is rejected by validation.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void updateUserRoles_emptyRoles_returns400() throws Exception {
+        mockMvc.perform(put("/api/admin/users/john/roles")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"roles\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test that an admin can delete a user.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void adminCanDeleteUser() throws Exception {
+        mockMvc.perform(delete("/api/admin/users/john"))
+                .andExpect(status().isNoContent());
+
+        verify(userService).deleteUser("john");
+    }
+
+    /**
+     * Test that an admin can trigger a rebuild of the analytics rollups.
+     */
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void adminCanRebuildRollups() throws Exception {
+        when(transactionRollupService.rebuildAll()).thenReturn(12);
+
+        mockMvc.perform(post("/api/admin/rollups/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("12"));
+    }
+
+    /**
+     * Test that a regular user cannot trigger a rollup rebuild.
+     */
+    @Test
+    @WithMockUser(username = "user", roles = {"USER"})
+    void userCannotRebuildRollups() throws Exception {
+        mockMvc.perform(post("/api/admin/rollups/rebuild"))
+                .andExpect(status().isForbidden());
+    }
 }
@@ -1,10 +1,14 @@
 package com.example.budgettracker.controller;
 
 import com.example.budgettracker.config.SecurityConfig;
+import com.example.budgettracker.dto.request.Granularity;
+import com.example.budgettracker.dto.response.AnalyticsPivotResponse;
 import com.example.budgettracker.dto.response.CategorySummary;
 import com.example.budgettracker.dto.response.MonthlySummary;
+import com.example.budgettracker.dto.response.TimeSeriesResponse;
 import com.example.budgettracker.model.Transaction;
 import com.example.budgettracker.security.JwtAuthFilter;
+import com.example.budgettracker.security.RateLimitFilter;
 import com.example.budgettracker.security.JwtUtil;
 import com.example.budgettracker.service.AnalyticsService;
 import com.example.budgettracker.service.CustomUserDetailsService;
@@ -20,9 +24,13 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -49,6 +57,11 @@ public class AnalyticsControllerTest {
     @MockitoBean
     private JwtAuthFilter jwtAuthFilter;
 
+
+    @MockitoBean
+
+    private RateLimitFilter rateLimitFilter;
+
     @MockitoBean
     private CustomUserDetailsService customUserDetailsService;
 
@@ -62,8 +75,8 @@ public class AnalyticsControllerTest {
     void getCategoryAnalytics_success() throws Exception {
         // Mock result
         List<CategorySummary> mockSummaries = List.of(
-                new CategorySummary("Groceries", 250.0),
-                new CategorySummary("Utilities", 100.0)
+                new CategorySummary("Groceries", new BigDecimal("250.00")),
+                new CategorySummary("Utilities", new BigDecimal("100.00"))
         );
 
         // Mock service behavior
@@ -91,12 +104,12 @@ public class AnalyticsControllerTest {
     void getMonthlyAnalytics_success() throws Exception {
         // Mock result
         List<MonthlySummary> mockSummaries = List.of(
-                new MonthlySummary(2025, 5, 1500.0),
-                new MonthlySummary(2025, 6, 1200.0)
+                new MonthlySummary(2025, 5, new BigDecimal("1500.00")),
+                new MonthlySummary(2025, 6, new BigDecimal("1200.00"))
         );
 
         // Mock service behavior
-        when(analyticsService.sumByMonth(anyLong(), any(Transaction.Type.class), anyString()))
+        when(analyticsService.sumByMonth(anyLong(), any(Transaction.Type.class), isNull(), isNull(), anyString()))
                 .thenReturn(mockSummaries);
 
         // Perform GET request and validate JSON response
@@ -115,4 +128,130 @@ public class AnalyticsControllerTest {
         // Optional: Print raw response for debugging purposes
         System.out.println("Response: " + result.getResponse().getContentAsString());
     }
+
+    /**
+     * Test that the optional from/to month range is passed through to the service.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getMonthlyAnalytics_withRange() throws Exception {
+        when(analyticsService.sumByMonth(1L, Transaction.Type.EXPENSE,
+                YearMonth.of(2025, 2), YearMonth.of(2025, 3), "testuser"))
+                .thenReturn(List.of(new MonthlySummary(2025, 3, new BigDecimal("80.00"))));
+
+        mockMvc.perform(get("/api/budgets/1/analytics/month")
+                        .param("type", "EXPENSE")
+                        .param("from", "2025-02")
+                        .param("to", "2025-03")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].month").value(3))
+                .andExpect(jsonPath("$[0].total").value(80.0));
+    }
+
+    /**
+     * Test that a month range ending before it starts is rejected.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getMonthlyAnalytics_toBeforeFrom_returns400() throws Exception {
+        mockMvc.perform(get("/api/budgets/1/analytics/month")
+                        .param("type", "EXPENSE")
+                        .param("from", "2025-03")
+                        .param("to", "2025-02"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("to must not be before from"));
+
+        verifyNoInteractions(analyticsService);
+    }
+
+    /**
+     * Test the GET /api/budgets/{id}/analytics/pivot endpoint.
+     * Verifies that both type sections are serialized with their breakdowns and totals.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getPivotAnalytics_success() throws Exception {
+        AnalyticsPivotResponse pivot = new AnalyticsPivotResponse(1L,
+                new AnalyticsPivotResponse.TypeAnalytics(
+                        List.of(new CategorySummary("Salary", new BigDecimal("1500.00"))),
+                        List.of(new MonthlySummary(2025, 5, new BigDecimal("1500.00"))),
+                        new BigDecimal("1500.00")),
+                new AnalyticsPivotResponse.TypeAnalytics(
+                        List.of(new CategorySummary("Groceries", new BigDecimal("250.00")),
+                                new CategorySummary(null, new BigDecimal("50.00"))),
+                        List.of(new MonthlySummary(2025, 5, new BigDecimal("300.00"))),
+                        new BigDecimal("300.00")));
+        when(analyticsService.pivot(1L, "testuser")).thenReturn(pivot);
+
+        mockMvc.perform(get("/api/budgets/1/analytics/pivot")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.budgetId").value(1))
+                .andExpect(jsonPath("$.income.byCategory[0].category").value("Salary"))
+                .andExpect(jsonPath("$.income.total").value(1500.0))
+                .andExpect(jsonPath("$.expense.byCategory.length()").value(2))
+                .andExpect(jsonPath("$.expense.byMonth[0].month").value(5))
+                .andExpect(jsonPath("$.expense.total").value(300.0));
+    }
+
+    /**
+     * Test the GET /api/budgets/{id}/analytics/series endpoint.
+     * Verifies that bucket starts and totals are serialized as parallel arrays.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getTimeSeries_success() throws Exception {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        when(analyticsService.timeSeries(1L, Transaction.Type.EXPENSE, Granularity.MONTH, from, to, "testuser"))
+                .thenReturn(new TimeSeriesResponse(1L, Transaction.Type.EXPENSE, Granularity.MONTH,
+                        List.of(from, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1)),
+                        new BigDecimal[] {new BigDecimal("120.50"), new BigDecimal("0.00"), new BigDecimal("80.00")}));
+
+        mockMvc.perform(get("/api/budgets/1/analytics/series")
+                        .param("type", "EXPENSE")
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-03-31")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.granularity").value("MONTH"))
+                .andExpect(jsonPath("$.buckets[0]").value("2025-01-01"))
+                .andExpect(jsonPath("$.buckets[2]").value("2025-03-01"))
+                .andExpect(jsonPath("$.totals[0]").value(120.5))
+                .andExpect(jsonPath("$.totals[1]").value(0.0));
+    }
+
+    /**
+     * Test that a range ending before it starts is rejected.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getTimeSeries_toBeforeFrom_returns400() throws Exception {
+        mockMvc.perform(get("/api/budgets/1/analytics/series")
+                        .param("type", "EXPENSE")
+                        .param("from", "2025-03-01")
+                        .param("to", "2025-01-01"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(analyticsService);
+    }
+
+    /**
+     * Test that a range with too many buckets for the granularity is rejected.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getTimeSeries_tooManyBuckets_returns400() throws Exception {
+        mockMvc.perform(get("/api/budgets/1/analytics/series")
+                        .param("type", "EXPENSE")
+                        .param("granularity", "DAY")
+                        .param("from", "1990-01-01")
+                        .param("to", "2025-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+
+        verifyNoInteractions(analyticsService);
+    }
 }
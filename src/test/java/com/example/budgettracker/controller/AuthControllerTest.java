@@ -0,0 +1,41 @@
+package com.example.budgettracker.controller;
+
+import com.example.budgettracker.dto.request.LoginRequest;
+import com.example.budgettracker.security.JwtUtil;
+import com.example.budgettracker.security.TokenRevocationList;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link AuthController}.
+ *
+ * Verifies that logins are rejected with 503 when the login executor is saturated,
+ * without ever touching the authentication manager.
+ */
+class AuthControllerTest {
+
+    /**
+     * Test: a login rejected by the executor returns 503 with Retry-After.
+     */
+    @Test
+    void login_executorFull_returns503() {
+        AuthenticationManager authenticationManager = mock(AuthenticationManager.class);
+        AuthController controller = new AuthController(
+                authenticationManager,
+                mock(JwtUtil.class),
+                mock(TokenRevocationList.class),
+                task -> { throw new RejectedExecutionException("full"); });
+
+        ResponseEntity<?> response = controller.login(new LoginRequest("alice", "password123")).join();
+
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        verifyNoInteractions(authenticationManager);
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.budgettracker.controller;
 
 import com.example.budgettracker.config.SecurityConfig;
+import com.example.budgettracker.dto.response.BudgetResponse;
 import com.example.budgettracker.model.Budget;
 import com.example.budgettracker.security.JwtAuthFilter;
+import com.example.budgettracker.security.RateLimitFilter;
 import com.example.budgettracker.security.JwtUtil;
 import com.example.budgettracker.service.BudgetService;
 import com.example.budgettracker.service.CustomUserDetailsService;
@@ -48,6 +50,9 @@ public class BudgetControllerTest {
     @MockitoBean
     private JwtAuthFilter jwtAuthFilter;
 
+    @MockitoBean
+    private RateLimitFilter rateLimitFilter;
+
     @MockitoBean
     private CustomUserDetailsService customUserDetailsService;
 
@@ -58,11 +63,11 @@ public class BudgetControllerTest {
     @Test
     @WithMockUser(username = "testuser", roles = {"USER"})
     void createBudget_success() throws Exception {
-        Budget mockBudget = new Budget("Test Budget", 1000.0, null);
+        Budget mockBudget = new Budget("Test Budget", 100_000, null);
         mockBudget.setId(1L); // Simulate persisted budget
 
         // Mock service behavior
-        when(budgetService.createBudget(anyString(), eq("Test Budget"), eq(1000.0)))
+        when(budgetService.createBudget(anyString(), eq("Test Budget"), eq(100_000L)))
                 .thenReturn(mockBudget);
 
         // Perform POST request
@@ -80,11 +85,8 @@ public class BudgetControllerTest {
     @Test
     @WithMockUser(username = "testuser", roles = {"USER"})
     void getBudgets_success() throws Exception {
-        Budget mockBudget = new Budget("Test Budget", 1000.0, null);
-        mockBudget.setId(1L);
-
         when(budgetService.getBudgetsForUser(anyString()))
-                .thenReturn(List.of(mockBudget));
+                .thenReturn(List.of(new BudgetResponse(1L, "Test Budget", 100_000)));
 
         mockMvc.perform(get("/api/budgets"))
                 .andExpect(status().isOk())
@@ -100,10 +102,10 @@ public class BudgetControllerTest {
     @Test
     @WithMockUser(username = "testuser", roles = {"USER"})
     void updateBudget_success() throws Exception {
-        Budget updatedBudget = new Budget("Updated Budget", 2000.0, null);
+        Budget updatedBudget = new Budget("Updated Budget", 200_000, null);
         updatedBudget.setId(1L);
 
-        when(budgetService.updateBudget(anyLong(), anyString(), anyString(), anyDouble()))
+        when(budgetService.updateBudget(anyLong(), anyString(), anyString(), eq(200_000L)))
                 .thenReturn(updatedBudget);
 
         mockMvc.perform(put("/api/budgets/1")
@@ -3,6 +3,7 @@ package com.example.budgettracker.controller;
 import com.example.budgettracker.config.SecurityConfig;
 import com.example.budgettracker.dto.response.BudgetSummaryResponse;
 import com.example.budgettracker.security.JwtAuthFilter;
+import com.example.budgettracker.security.RateLimitFilter;
 import com.example.budgettracker.security.JwtUtil;
 import com.example.budgettracker.service.BudgetSummaryService;
 import com.example.budgettracker.service.CustomUserDetailsService;
@@ -15,6 +16,8 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -44,6 +47,9 @@ public class BudgetSummaryControllerTest {
     @MockitoBean
     private JwtAuthFilter jwtAuthFilter; // Mocked JWT filter bean (disabled in test)
 
+    @MockitoBean
+    private RateLimitFilter rateLimitFilter; // Mocked rate limiter (disabled in test)
+
     @MockitoBean
     private CustomUserDetailsService customUserDetailsService; // Required mock to satisfy Spring Security context
 
@@ -58,7 +64,8 @@ public class BudgetSummaryControllerTest {
     @WithMockUser(username = "testuser", roles = {"USER"})
     void getBudgetSummary_success() throws Exception {
         // Arrange: mock the expected summary response from the service
-        BudgetSummaryResponse mockSummary = new BudgetSummaryResponse(1L, 1200.0, 800.0, 400.0);
+        BudgetSummaryResponse mockSummary = new BudgetSummaryResponse(1L,
+                new BigDecimal("1200.00"), new BigDecimal("800.00"), new BigDecimal("400.00"));
         when(budgetSummaryService.getBudgetSummary(anyLong(), anyString()))
                 .thenReturn(mockSummary);
 
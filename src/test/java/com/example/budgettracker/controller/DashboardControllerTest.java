@@ -0,0 +1,114 @@
+package com.example.budgettracker.controller;
+
+import com.example.budgettracker.config.SecurityConfig;
+import com.example.budgettracker.dto.response.DashboardBudgetSummary;
+import com.example.budgettracker.security.JwtAuthFilter;
+import com.example.budgettracker.security.RateLimitFilter;
+import com.example.budgettracker.security.JwtUtil;
+import com.example.budgettracker.service.BudgetSummaryService;
+import com.example.budgettracker.service.CustomUserDetailsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit test for {@link DashboardController}.
+ *
+ * Verifies that the dashboard lists the summaries returned by the service and
+ * passes the optional ids filter through, rejecting too many IDs.
+ */
+@WebMvcTest(DashboardController.class)    // Load only the controller and MVC layer
+@Import(SecurityConfig.class)              // Import security configuration for route protection simulation
+@AutoConfigureMockMvc(addFilters = false)  // Disable filters (e.g., JWT filter) to isolate controller logic
+public class DashboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private BudgetSummaryService budgetSummaryService;
+
+    @MockitoBean
+    private JwtUtil jwtUtil;
+
+    @MockitoBean
+    private JwtAuthFilter jwtAuthFilter;
+
+    @MockitoBean
+    private RateLimitFilter rateLimitFilter;
+
+    @MockitoBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    /**
+     * Test for GET /api/dashboard without a filter.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getDashboard_allBudgets() throws Exception {
+        when(budgetSummaryService.getDashboard(eq("testuser"), isNull()))
+                .thenReturn(List.of(
+                        new DashboardBudgetSummary(1L, "Household",
+                                new BigDecimal("1200.00"), new BigDecimal("800.00"), new BigDecimal("1400.00")),
+                        new DashboardBudgetSummary(2L, "Travel",
+                                new BigDecimal("0.00"), new BigDecimal("150.00"), new BigDecimal("350.00"))));
+
+        mockMvc.perform(get("/api/dashboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].budgetId").value(1))
+                .andExpect(jsonPath("$[0].name").value("Household"))
+                .andExpect(jsonPath("$[0].balance").value(1400.0))
+                .andExpect(jsonPath("$[1].totalExpense").value(150.0));
+    }
+
+    /**
+     * Test for GET /api/dashboard?ids=... passing the requested budget IDs to the service.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getDashboard_withIds() throws Exception {
+        when(budgetSummaryService.getDashboard("testuser", List.of(2L, 5L)))
+                .thenReturn(List.of(new DashboardBudgetSummary(2L, "Travel",
+                                new BigDecimal("0.00"), new BigDecimal("150.00"), new BigDecimal("350.00"))));
+
+        mockMvc.perform(get("/api/dashboard").param("ids", "2,5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].budgetId").value(2));
+    }
+
+    /**
+     * More budget IDs than the dashboard accepts are rejected before reaching the service.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getDashboard_tooManyIds_isBadRequest() throws Exception {
+        String ids = LongStream.rangeClosed(1, BudgetSummaryService.MAX_DASHBOARD_BUDGETS + 1)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/api/dashboard").param("ids", ids))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+
+        verifyNoInteractions(budgetSummaryService);
+    }
+}
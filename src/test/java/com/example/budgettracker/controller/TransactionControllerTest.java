@@ -1,27 +1,41 @@
 package com.example.budgettracker.controller;
 
 import com.example.budgettracker.config.SecurityConfig;
+import com.example.budgettracker.dto.request.TransactionCursor;
+import com.example.budgettracker.dto.request.TransactionFilter;
+import com.example.budgettracker.dto.response.TransactionPage;
+import com.example.budgettracker.dto.response.TransactionResponse;
+import com.example.budgettracker.dto.response.TransactionSearchPage;
 import com.example.budgettracker.model.Transaction;
 import com.example.budgettracker.model.Transaction.Type;
 import com.example.budgettracker.security.JwtAuthFilter;
+import com.example.budgettracker.security.RateLimitFilter;
 import com.example.budgettracker.security.JwtUtil;
 import com.example.budgettracker.service.CustomUserDetailsService;
+import com.example.budgettracker.service.TransactionExportService;
 import com.example.budgettracker.service.TransactionService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -43,12 +57,18 @@ public class TransactionControllerTest {
     @MockitoBean
     private TransactionService transactionService;
 
+    @MockitoBean
+    private TransactionExportService transactionExportService;
+
     @MockitoBean
     private JwtUtil jwtUtil;
 
     @MockitoBean
     private JwtAuthFilter jwtAuthFilter;
 
+    @MockitoBean
+    private RateLimitFilter rateLimitFilter;
+
     @MockitoBean
     private CustomUserDetailsService customUserDetailsService;
 
@@ -59,7 +79,7 @@ public class TransactionControllerTest {
     @Test
     @WithMockUser(username = "testuser", roles = {"USER"})
     void addTransaction_success() throws Exception {
-        Transaction mockTransaction = new Transaction(100.0, Type.INCOME, "Salary", LocalDate.now(), "Food", null);
+        Transaction mockTransaction = new Transaction(10_000, Type.INCOME, "Salary", LocalDate.now(), "Food", null);
         mockTransaction.setId(1L);
 
         when(transactionService.addTransaction(anyLong(), any(Transaction.class), anyString()))
@@ -83,25 +103,247 @@ public class TransactionControllerTest {
                 .andExpect(jsonPath("$.description").value("Salary"));
     }
 
+    /**
+     * Decimal amounts are converted to exact cents before reaching the service.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void addTransaction_convertsAmountToCents() throws Exception {
+        Transaction mockTransaction = new Transaction(12_345, Type.EXPENSE, "Groceries", LocalDate.now(), "Food", null);
+        mockTransaction.setId(1L);
+
+        when(transactionService.addTransaction(anyLong(), argThat(t -> t.getAmountCents() == 12_345), anyString()))
+                .thenReturn(mockTransaction);
+
+        mockMvc.perform(post("/api/budgets/1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 123.45, \"type\": \"EXPENSE\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.amount").value(123.45));
+    }
+
+    /**
+     * Amounts with more than two decimal places are rejected instead of being rounded.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void addTransaction_subCentAmount_isBadRequest() throws Exception {
+        mockMvc.perform(post("/api/budgets/1/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 1.005, \"type\": \"EXPENSE\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * Tests GET /api/budgets/{budgetId}/transactions.
-     * Verifies that a list of transactions is returned successfully.
+     * Verifies that a page of transactions is returned with its next cursor.
      */
     @Test
     @WithMockUser(username = "testuser", roles = {"USER"})
     void getTransactions_success() throws Exception {
-        Transaction mockTransaction = new Transaction(100.0, Type.INCOME, "Salary", LocalDate.now(), "Food", null);
+        Transaction mockTransaction = new Transaction(10_000, Type.INCOME, "Salary", LocalDate.now(), "Food", null);
         mockTransaction.setId(1L);
+        String nextCursor = new TransactionCursor(mockTransaction.getDate(), 1L, TransactionFilter.NONE).encode();
 
-        when(transactionService.getTransactions(anyLong(), anyString()))
-                .thenReturn(List.of(mockTransaction));
+        when(transactionService.getTransactionPage(eq(1L), eq(TransactionFilter.NONE), isNull(),
+                eq(TransactionService.DEFAULT_PAGE_SIZE), anyString()))
+                .thenReturn(new TransactionPage(List.of(new TransactionResponse(mockTransaction)), nextCursor));
 
         mockMvc.perform(get("/api/budgets/1/transactions"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].amount").value(100.0))
-                .andExpect(jsonPath("$[0].type").value("INCOME"))
-                .andExpect(jsonPath("$[0].description").value("Salary"));
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].amount").value(100.0))
+                .andExpect(jsonPath("$.items[0].type").value("INCOME"))
+                .andExpect(jsonPath("$.items[0].description").value("Salary"))
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor));
+    }
+
+    /**
+     * The cursor is decoded and passed to the service together with the requested page size.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getTransactions_withCursor() throws Exception {
+        TransactionCursor cursor = new TransactionCursor(LocalDate.of(2024, 3, 1), 42L, TransactionFilter.NONE);
+
+        when(transactionService.getTransactionPage(1L, TransactionFilter.NONE, cursor, 10, "testuser"))
+                .thenReturn(new TransactionPage(List.of(), null));
+
+        mockMvc.perform(get("/api/budgets/1/transactions")
+                        .param("cursor", cursor.encode())
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    /**
+     * A cursor sent back with another sort or other filters than the page it came from is rejected.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getTransactions_cursorOfAnotherListing_isBadRequest() throws Exception {
+        TransactionFilter newestFirst = new TransactionFilter(null, null, null, null, null, null, Sort.Direction.DESC);
+        String descending = new TransactionCursor(LocalDate.of(2024, 3, 1), 42L, newestFirst).encode();
+        TransactionFilter food = new TransactionFilter(null, null, null, Set.of("Food"), null, null, null);
+        String foodOnly = new TransactionCursor(LocalDate.of(2024, 3, 1), 42L, food).encode();
+
+        mockMvc.perform(get("/api/budgets/1/transactions").param("cursor", descending))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+        mockMvc.perform(get("/api/budgets/1/transactions").param("cursor", foodOnly).param("category", "Rent"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/budgets/1/transactions").param("cursor", foodOnly).param("sort", "DESC")
+                        .param("category", "Food"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transactionService);
+    }
+
+    /**
+     * A malformed cursor or a page size out of range is rejected before reaching the service.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getTransactions_invalidCursorOrLimit_isBadRequest() throws Exception {
+        mockMvc.perform(get("/api/budgets/1/transactions").param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/budgets/1/transactions").param("cursor", "AAAA"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/budgets/1/transactions").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/budgets/1/transactions")
+                        .param("limit", String.valueOf(TransactionService.MAX_PAGE_SIZE + 1)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+
+        verifyNoInteractions(transactionService);
+    }
+
+    /**
+     * The filter parameters are passed to the service as one filter, with amounts in cents.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getTransactions_withFilter() throws Exception {
+        TransactionFilter filter = new TransactionFilter(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31),
+                Type.EXPENSE, Set.of("Food", "Rent"), 1_050L, 50_000L, Sort.Direction.DESC);
+
+        when(transactionService.getTransactionPage(1L, filter, null, TransactionService.DEFAULT_PAGE_SIZE,
+                "testuser"))
+                .thenReturn(new TransactionPage(List.of(), null));
+
+        mockMvc.perform(get("/api/budgets/1/transactions")
+                        .param("from", "2024-01-01")
+                        .param("to", "2024-01-31")
+                        .param("type", "EXPENSE")
+                        .param("category", "Food", "Rent")
+                        .param("minAmount", "10.50")
+                        .param("maxAmount", "500")
+                        .param("sort", "DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty());
+    }
+
+    /**
+     * Inverted ranges and sub-cent amounts are rejected before reaching the service.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void getTransactions_invalidFilter_isBadRequest() throws Exception {
+        mockMvc.perform(get("/api/budgets/1/transactions")
+                        .param("from", "2024-02-01")
+                        .param("to", "2024-01-31"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+        mockMvc.perform(get("/api/budgets/1/transactions")
+                        .param("minAmount", "100")
+                        .param("maxAmount", "99.99"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/budgets/1/transactions").param("minAmount", "0.001"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transactionService);
+    }
+
+    /**
+     * Tests GET /api/budgets/{budgetId}/transactions/search.
+     * Verifies that the ranked matches are returned with the offset of the next page.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void searchTransactions_success() throws Exception {
+        Transaction mockTransaction = new Transaction(2_350, Type.EXPENSE, "Uber ride", LocalDate.now(), null, null);
+        mockTransaction.setId(7L);
+
+        when(transactionService.searchTransactions(1L, "uber", 20, 10, "testuser"))
+                .thenReturn(new TransactionSearchPage(List.of(new TransactionResponse(mockTransaction)), 30));
+
+        mockMvc.perform(get("/api/budgets/1/transactions/search")
+                        .param("q", "uber")
+                        .param("offset", "20")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(7))
+                .andExpect(jsonPath("$.items[0].description").value("Uber ride"))
+                .andExpect(jsonPath("$.nextOffset").value(30));
+    }
+
+    /**
+     * Search text that is too short (after trimming), a negative offset or a page size out of
+     * range is rejected before reaching the service.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void searchTransactions_invalidInput_isBadRequest() throws Exception {
+        mockMvc.perform(get("/api/budgets/1/transactions/search").param("q", " ub "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists());
+        mockMvc.perform(get("/api/budgets/1/transactions/search")
+                        .param("q", "x".repeat(TransactionService.MAX_SEARCH_LENGTH + 1)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/budgets/1/transactions/search").param("q", "uber").param("offset", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/budgets/1/transactions/search").param("q", "uber").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(transactionService);
+    }
+
+    /**
+     * Tests GET /api/budgets/{budgetId}/transactions/export.
+     * Verifies that the service writes the body directly to the response as a JSON attachment.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void exportTransactions_streamsServiceOutput() throws Exception {
+        when(transactionExportService.exportTransactions(eq(1L), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    invocation.getArgument(1, OutputStream.class).write("[{\"id\":1}]".getBytes());
+                    return 1L;
+                });
+
+        mockMvc.perform(get("/api/budgets/1/transactions/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions-1.json\""))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    /**
+     * Tests GET /api/budgets/{budgetId}/transactions/export for a budget the user may not read.
+     * Verifies that the error is not sent as an attachment and nothing is exported.
+     */
+    @Test
+    @WithMockUser(username = "testuser", roles = {"USER"})
+    void exportTransactions_deniedBudget_isNotAnAttachment() throws Exception {
+        doThrow(new IllegalArgumentException("Budget not found or access denied"))
+                .when(transactionExportService).checkAccess(1L, "testuser");
+
+        mockMvc.perform(get("/api/budgets/1/transactions/export"))
+                .andExpect(header().doesNotExist("Content-Disposition"));
+
+        verify(transactionExportService, never()).exportTransactions(anyLong(), any(OutputStream.class));
     }
 
     /**
@@ -111,7 +353,7 @@ public class TransactionControllerTest {
     @Test
     @WithMockUser(username = "testuser", roles = {"USER"})
     void updateTransaction_success() throws Exception {
-        Transaction updatedTransaction = new Transaction(150.0, Type.INCOME, "Bonus", LocalDate.now(), "Food", null);
+        Transaction updatedTransaction = new Transaction(15_000, Type.INCOME, "Bonus", LocalDate.now(), "Food", null);
         updatedTransaction.setId(1L);
 
         when(transactionService.updateTransaction(anyLong(), any(Transaction.class), anyString()))
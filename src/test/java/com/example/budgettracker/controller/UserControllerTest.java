@@ -5,6 +5,7 @@ import com.example.budgettracker.dto.request.RegistrationRequest;
 import com.example.budgettracker.exception.DuplicateResourceException;
 import com.example.budgettracker.exception.GlobalExceptionHandler;
 import com.example.budgettracker.security.JwtAuthFilter;
+import com.example.budgettracker.security.RateLimitFilter;
 import com.example.budgettracker.security.JwtUtil;
 import com.example.budgettracker.service.CustomUserDetailsService;
 import com.example.budgettracker.service.UserService;
@@ -58,6 +59,9 @@ public class UserControllerTest {
     @MockitoBean
     private JwtAuthFilter jwtAuthFilter;
 
+    @MockitoBean
+    private RateLimitFilter rateLimitFilter;
+
     @MockitoBean
     private PasswordEncoder passwordEncoder;
 
@@ -0,0 +1,51 @@
+package com.example.budgettracker.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link CalibratedPasswordEncoder}.
+ *
+ * These tests verify that:
+ * - Hashes of any cost still verify
+ * - Hashes with a lower cost are flagged for upgrade, higher ones are kept
+ * - Calibration stays within the configured bounds
+ */
+class CalibratedPasswordEncoderTest {
+
+    /**
+     * Test: a hash made with a lower cost matches and is reported for rehashing.
+     */
+    @Test
+    void lowerCost_matchesAndNeedsUpgrade() {
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(5);
+        String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(encoder.matches("secret", oldHash));
+        assertTrue(encoder.upgradeEncoding(oldHash));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+    }
+
+    /**
+     * Test: a hash made with a higher cost matches and is kept.
+     */
+    @Test
+    void higherCost_matchesWithoutUpgrade() {
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(4);
+        String strongerHash = new BCryptPasswordEncoder(5).encode("secret");
+
+        assertTrue(encoder.matches("secret", strongerHash));
+        assertFalse(encoder.upgradeEncoding(strongerHash));
+    }
+
+    /**
+     * Test: the calibrated cost is clamped to the configured range.
+     */
+    @Test
+    void calibrate_staysWithinBounds() {
+        assertEquals(4, CalibratedPasswordEncoder.calibrate(0, 4, 6).getStrength());
+        assertEquals(6, CalibratedPasswordEncoder.calibrate(60_000, 4, 6).getStrength());
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.budgettracker.security;
+
+import com.example.budgettracker.model.CustomUserDetails;
+import com.example.budgettracker.model.JwtUserDetails;
+import com.example.budgettracker.model.User;
+import com.example.budgettracker.service.CustomUserDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link JwtAuthFilter}.
+ *
+ * These tests verify how the principal is built in both modes:
+ * - Database mode (user loaded through CustomUserDetailsService)
+ * - Stateless principal mode (principal built from token claims)
+ * and that revoked tokens are rejected.
+ */
+class JwtAuthFilterTest {
+
+    private VerifiedTokenCache verifiedTokenCache;
+    private TokenRevocationList tokenRevocationList;
+    private CustomUserDetailsService customUserDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        verifiedTokenCache = mock(VerifiedTokenCache.class);
+        tokenRevocationList = mock(TokenRevocationList.class);
+        customUserDetailsService = mock(CustomUserDetailsService.class);
+        when(verifiedTokenCache.verify("token")).thenReturn(new VerifiedToken(
+                "jti-1", 7L, "alice", List.of("ROLE_USER"), Instant.now().plusSeconds(60)));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Test: by default the user is loaded from the database.
+     */
+    @Test
+    void databaseMode_loadsUserDetails() throws Exception {
+        User user = new User("alice", "alice@example.com", "hash", Set.of("USER"));
+        when(customUserDetailsService.loadAuthenticatedUser("alice")).thenReturn(new CustomUserDetails(user).withoutPassword());
+
+        new JwtAuthFilter(verifiedTokenCache, tokenRevocationList, customUserDetailsService, false)
+                .doFilter(bearerRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertInstanceOf(CustomUserDetails.class, auth.getPrincipal());
+        verify(customUserDetailsService).loadAuthenticatedUser("alice");
+    }
+
+    /**
+     * Test: in stateless mode the principal comes from the claims with no user lookup.
+     */
+    @Test
+    void statelessMode_buildsPrincipalFromClaims() throws Exception {
+        new JwtAuthFilter(verifiedTokenCache, tokenRevocationList, customUserDetailsService, true)
+                .doFilter(bearerRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        JwtUserDetails principal = assertInstanceOf(JwtUserDetails.class, auth.getPrincipal());
+        assertEquals(7L, principal.getId());
+        assertEquals("alice", principal.getUsername());
+        assertEquals("ROLE_USER", auth.getAuthorities().iterator().next().getAuthority());
+        verifyNoInteractions(customUserDetailsService);
+    }
+
+    /**
+     * Test: a revoked token is rejected with 401 and no authentication is set.
+     */
+    @Test
+    void revokedToken_isRejected() throws Exception {
+        when(tokenRevocationList.isRevoked(any())).thenReturn(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        new JwtAuthFilter(verifiedTokenCache, tokenRevocationList, customUserDetailsService, true)
+                .doFilter(bearerRequest(), response, chain);
+
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static MockHttpServletRequest bearerRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/budgets");
+        request.addHeader("Authorization", "Bearer token");
+        return request;
+    }
+}
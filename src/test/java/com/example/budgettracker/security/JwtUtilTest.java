@@ -0,0 +1,75 @@
+package com.example.budgettracker.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link JwtUtil}.
+ *
+ * These tests verify that a token can be verified with a single parse
+ * and that tampered tokens are rejected.
+ */
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+
+    /**
+     * Builds a JwtUtil with a random-looking secret, as Spring would after property injection.
+     */
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        String secret = Base64.getEncoder().encodeToString(
+                "unit-test-secret-unit-test-secret-0123456789".getBytes());
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", secret);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 60_000L);
+        jwtUtil.init();
+    }
+
+    /**
+     * Test: parseToken returns username, roles and expiry from one verification.
+     */
+    @Test
+    void parseToken_returnsVerifiedClaims() {
+        String token = jwtUtil.generateToken("alice", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        VerifiedToken verified = jwtUtil.parseToken(token);
+
+        assertEquals("alice", verified.username());
+        assertEquals(List.of("ROLE_USER"), verified.roles());
+        assertTrue(verified.expiresAt().isAfter(Instant.now()));
+    }
+
+    /**
+     * Test: the user id is carried in the "uid" claim when provided.
+     */
+    @Test
+    void parseToken_returnsUserIdWhenIssuedWithOne() {
+        String token = jwtUtil.generateToken(42L, "alice", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        assertEquals(42L, jwtUtil.parseToken(token).userId());
+        assertNull(jwtUtil.parseToken(jwtUtil.generateToken("bob", List.of())).userId());
+    }
+
+    /**
+     * Test: a token with a modified signature is rejected.
+     */
+    @Test
+    void parseToken_tamperedSignature_throws() {
+        String token = jwtUtil.generateToken("alice", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(tampered));
+        assertFalse(jwtUtil.validateToken(tampered));
+    }
+}
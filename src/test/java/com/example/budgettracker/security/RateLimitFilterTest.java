@@ -0,0 +1,215 @@
+package com.example.budgettracker.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RateLimitFilter}.
+ *
+ * These tests verify that:
+ * - Requests over the per-username or per-IP limit get 429 and are counted
+ * - The body is still readable by the controller after inspection, also by a non-blocking reader
+ * - Requests over the per-IP limit are rejected without reading the body
+ * - Bodies over the inspection cap get 413, declared or chunked; shorter chunked bodies are still limited per username
+ * - Other endpoints are not limited
+ */
+class RateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(new ObjectMapper(), meterRegistry, true, 1000, Duration.ofMinutes(10),
+                "3/1m", "2/1m", "1/1m", "");
+    }
+
+    /**
+     * Test: a username over its limit is rejected even from a fresh IP.
+     */
+    @Test
+    void login_overUserLimit_returns429() throws Exception {
+        assertEquals(200, login("alice", "10.0.0.1").getStatus());
+        assertEquals(200, login("alice", "10.0.0.2").getStatus());
+
+        MockHttpServletResponse rejected = login("alice", "10.0.0.3");
+
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("ratelimit.rejected")
+                .tag("endpoint", "login").tag("key", "user").counter().count());
+    }
+
+    /**
+     * Test: an IP over its limit is rejected regardless of the username.
+     */
+    @Test
+    void login_overIpLimit_returns429() throws Exception {
+        login("a", "10.0.0.9");
+        login("b", "10.0.0.9");
+        login("c", "10.0.0.9");
+
+        assertEquals(429, login("d", "10.0.0.9").getStatus());
+        assertEquals(1.0, meterRegistry.get("ratelimit.rejected")
+                .tag("endpoint", "login").tag("key", "ip").counter().count());
+    }
+
+    /**
+     * Test: the request body is replayed to the rest of the chain.
+     */
+    @Test
+    void body_isReplayedDownstream() throws Exception {
+        MockHttpServletRequest request = loginRequest("alice", "10.0.0.1");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        String body = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(body.contains("\"alice\""));
+    }
+
+    /**
+     * Test: a non-blocking reader downstream is told the replayed body is available and complete.
+     */
+    @Test
+    void body_isReplayedToReadListener() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(loginRequest("alice", "10.0.0.1"), new MockHttpServletResponse(), chain);
+        ServletInputStream in = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicBoolean allDataRead = new AtomicBoolean();
+
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[8];
+                while (in.isReady() && !in.isFinished()) {
+                    read.write(buffer, 0, in.read(buffer));
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+        });
+
+        assertTrue(allDataRead.get());
+        assertTrue(read.toString(StandardCharsets.UTF_8).contains("\"alice\""));
+    }
+
+    /**
+     * Test: a request over the per-IP limit is rejected before its body is read.
+     */
+    @Test
+    void login_overIpLimit_doesNotReadBody() throws Exception {
+        login("a", "10.0.0.9");
+        login("b", "10.0.0.9");
+        login("c", "10.0.0.9");
+        MockHttpServletRequest request = loginRequest("d", "10.0.0.9");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(429, response.getStatus());
+        assertFalse(request.getInputStream().isFinished());
+    }
+
+    /**
+     * Test: a body padded past the inspection cap is rejected instead of skipping the username limit.
+     */
+    @Test
+    void oversizedBody_returns413() throws Exception {
+        MockHttpServletRequest request = loginRequest("alice", "10.0.0.1");
+        request.setContent((new String(request.getContentAsByteArray(), StandardCharsets.UTF_8)
+                + " ".repeat(RateLimitFilter.MAX_INSPECTED_BODY_BYTES)).getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(413, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    /**
+     * Test: a chunked body (no Content-Length) is read up to the cap: a short one still counts
+     * against the username, a longer one is rejected.
+     */
+    @Test
+    void chunkedBody_isLimitedPerUserOrRejected() throws Exception {
+        login("alice", "10.0.0.1");
+        login("alice", "10.0.0.2");
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(chunked(loginRequest("alice", "10.0.0.3")), rejected, new MockFilterChain());
+        MockHttpServletRequest oversized = chunked(loginRequest("bob", "10.0.0.4"));
+        oversized.setContent(new byte[RateLimitFilter.MAX_INSPECTED_BODY_BYTES + 1]);
+        MockHttpServletResponse tooLarge = new MockHttpServletResponse();
+        filter.doFilter(oversized, tooLarge, new MockFilterChain());
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals(413, tooLarge.getStatus());
+    }
+
+    /**
+     * Test: endpoints other than login and register are never limited.
+     */
+    @Test
+    void otherEndpoints_areNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/budgets");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    private MockHttpServletResponse login(String username, String ip) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(loginRequest(username, ip), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest chunked(MockHttpServletRequest request) {
+        MockHttpServletRequest chunked = new MockHttpServletRequest(request.getMethod(), request.getRequestURI()) {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        chunked.setRemoteAddr(request.getRemoteAddr());
+        chunked.setContentType(request.getContentType());
+        chunked.setContent(request.getContentAsByteArray());
+        return chunked;
+    }
+
+    private static MockHttpServletRequest loginRequest(String username, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(("{\"username\":\"" + username + "\",\"password\":\"x\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
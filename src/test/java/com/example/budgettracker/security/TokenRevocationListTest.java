@@ -0,0 +1,111 @@
+package com.example.budgettracker.security;
+
+import com.example.budgettracker.model.RevokedToken;
+import com.example.budgettracker.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link TokenRevocationList} and its {@link BloomFilter}.
+ *
+ * These tests verify that:
+ * - Revoked tokens are detected and persisted
+ * - A rebuild picks up revocations from the database and prunes expired ones
+ * - The Bloom filter has no false negatives and a bounded false-positive rate
+ */
+class TokenRevocationListTest {
+
+    private RevokedTokenRepository repository;
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RevokedTokenRepository.class);
+        revocationList = new TokenRevocationList(repository, 1000, 0.01);
+    }
+
+    /**
+     * Test: a revoked token is persisted and rejected; other tokens are not.
+     */
+    @Test
+    void revoke_marksTokenRevoked() {
+        VerifiedToken token = token("jti-1", 60);
+
+        revocationList.revoke(token);
+
+        assertTrue(revocationList.isRevoked(token));
+        assertFalse(revocationList.isRevoked(token("jti-2", 60)));
+        verify(repository).save(any(RevokedToken.class));
+    }
+
+    /**
+     * Test: refresh loads revocations made elsewhere and deletes expired rows.
+     */
+    @Test
+    void refresh_loadsPersistedRevocations() {
+        when(repository.findByExpiresAtAfter(any()))
+                .thenReturn(List.of(new RevokedToken("remote", Instant.now().plusSeconds(60))));
+
+        revocationList.refresh();
+
+        assertTrue(revocationList.isRevoked(token("remote", 60)));
+        verify(repository).deleteExpired(any());
+    }
+
+    /**
+     * Test: entries past their expiry are dropped from memory on refresh.
+     */
+    @Test
+    void refresh_prunesExpiredEntries() {
+        VerifiedToken expired = token("old", -1);
+        revocationList.revoke(expired);
+
+        revocationList.refresh();
+
+        assertFalse(revocationList.isRevoked(expired));
+    }
+
+    /**
+     * Test: tokens without a jti are never reported as revoked and cannot be revoked.
+     */
+    @Test
+    void tokenWithoutId_isNeverRevoked() {
+        VerifiedToken legacy = token(null, 60);
+
+        assertFalse(revocationList.isRevoked(legacy));
+        assertThrows(IllegalArgumentException.class, () -> revocationList.revoke(legacy));
+    }
+
+    /**
+     * Test: the Bloom filter never misses an added value and stays near its target error rate.
+     */
+    @Test
+    void bloomFilter_noFalseNegatives() {
+        BloomFilter bloom = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloom.put("added-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(bloom.mightContain("added-" + i));
+        }
+        long falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (bloom.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    private static VerifiedToken token(String jti, long secondsLeft) {
+        return new VerifiedToken(jti, 1L, "alice", List.of("ROLE_USER"), Instant.now().plusSeconds(secondsLeft));
+    }
+}
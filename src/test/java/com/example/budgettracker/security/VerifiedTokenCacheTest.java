@@ -0,0 +1,94 @@
+package com.example.budgettracker.security;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link VerifiedTokenCache}.
+ *
+ * These tests verify that:
+ * - Repeated tokens are verified only once
+ * - Entries never outlive the token's expiry
+ * - Invalid tokens are never cached
+ */
+class VerifiedTokenCacheTest {
+
+    private JwtUtil jwtUtil;
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = mock(JwtUtil.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(jwtUtil, meterRegistry, true, 100);
+    }
+
+    /**
+     * Test: the second lookup of the same token is served from the cache.
+     */
+    @Test
+    void verify_repeatedToken_verifiesOnce() {
+        when(jwtUtil.parseToken("token")).thenReturn(tokenExpiringIn(60));
+
+        VerifiedToken first = cache.verify("token");
+        VerifiedToken second = cache.verify("token");
+
+        assertSame(first, second);
+        verify(jwtUtil, times(1)).parseToken("token");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwtTokens").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    /**
+     * Test: an entry whose token has expired is not served.
+     */
+    @Test
+    void verify_expiredEntry_isVerifiedAgain() {
+        when(jwtUtil.parseToken("token")).thenReturn(tokenExpiringIn(-1));
+
+        cache.verify("token");
+        cache.verify("token");
+
+        verify(jwtUtil, times(2)).parseToken("token");
+    }
+
+    /**
+     * Test: a token that fails verification is rejected every time.
+     */
+    @Test
+    void verify_invalidToken_isNotCached() {
+        when(jwtUtil.parseToken("bad")).thenThrow(new JwtException("bad signature"));
+
+        assertThrows(JwtException.class, () -> cache.verify("bad"));
+        assertThrows(JwtException.class, () -> cache.verify("bad"));
+
+        verify(jwtUtil, times(2)).parseToken("bad");
+    }
+
+    /**
+     * Test: when disabled every request is verified.
+     */
+    @Test
+    void verify_disabled_alwaysVerifies() {
+        VerifiedTokenCache disabled = new VerifiedTokenCache(jwtUtil, new SimpleMeterRegistry(), false, 100);
+        when(jwtUtil.parseToken("token")).thenReturn(tokenExpiringIn(60));
+
+        disabled.verify("token");
+        disabled.verify("token");
+
+        verify(jwtUtil, times(2)).parseToken("token");
+    }
+
+    private static VerifiedToken tokenExpiringIn(long seconds) {
+        return new VerifiedToken("jti-1", 1L, "alice", List.of("ROLE_USER"), Instant.now().plusSeconds(seconds));
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.request.Granularity;
+import com.example.budgettracker.dto.response.CategorySummary;
+import com.example.budgettracker.dto.response.MonthlySummary;
+import com.example.budgettracker.dto.response.TimeSeriesResponse;
+import com.example.budgettracker.model.Money;
+import com.example.budgettracker.model.Transaction;
+import com.example.budgettracker.repository.CategoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link BudgetColumns}.
+ *
+ * These tests verify:
+ * - Category, month and time-series aggregation over the columns
+ * - Idempotent upserts and removals keyed by transaction ID, and the ID-to-row index
+ * - The allocation-free month index against {@link LocalDate}
+ */
+class BudgetColumnsTest {
+
+    private static final int FOOD = 7;
+    private static final int RENT = 8;
+    private static final int SALARY = 9;
+
+    private CategoryDictionary categories;
+    private BudgetColumns columns;
+
+    /**
+     * Three expenses over two months and categories (one uncategorized) and one income.
+     * The category names are resolved by a dictionary over a mocked repository.
+     */
+    @BeforeEach
+    void setUp() {
+        CategoryRepository categoryRepository = mock(CategoryRepository.class);
+        when(categoryRepository.findOrCreateId(1L, "Food")).thenReturn(FOOD);
+        when(categoryRepository.findOrCreateId(1L, "Rent")).thenReturn(RENT);
+        when(categoryRepository.findOrCreateId(1L, "Salary")).thenReturn(SALARY);
+        categories = new CategoryDictionary(categoryRepository, new SimpleMeterRegistry(), 100);
+        categories.idOf(1L, "Food");
+        categories.idOf(1L, "Rent");
+        categories.idOf(1L, "Salary");
+
+        columns = new BudgetColumns(2);
+        columns.append(1, Transaction.Type.EXPENSE, LocalDate.of(2024, 1, 3), FOOD, 1_000);
+        columns.append(2, Transaction.Type.EXPENSE, LocalDate.of(2024, 1, 31), null, 250);
+        columns.append(3, Transaction.Type.EXPENSE, LocalDate.of(2024, 3, 15), FOOD, 500);
+        columns.append(4, Transaction.Type.INCOME, LocalDate.of(2024, 2, 1), SALARY, 90_000);
+    }
+
+    @Test
+    void sumByCategory_uncategorizedFirst() {
+        assertThat(columns.sumByCategory(Transaction.Type.EXPENSE, categories)).containsExactly(
+                new CategorySummary(null, Money.fromCents(250)),
+                new CategorySummary("Food", Money.fromCents(1_500)));
+        assertThat(columns.sumByCategory(Transaction.Type.INCOME, categories)).containsExactly(
+                new CategorySummary("Salary", Money.fromCents(90_000)));
+    }
+
+    @Test
+    void sumByMonth_skipsEmptyMonthsAndAppliesRange() {
+        assertThat(columns.sumByMonth(Transaction.Type.EXPENSE, YearMonth.of(2023, 1), YearMonth.of(2025, 1)))
+                .containsExactly(
+                        new MonthlySummary(2024, 1, Money.fromCents(1_250)),
+                        new MonthlySummary(2024, 3, Money.fromCents(500)));
+        assertThat(columns.sumByMonth(Transaction.Type.EXPENSE, YearMonth.of(2024, 2), YearMonth.of(2024, 2)))
+                .isEmpty();
+    }
+
+    @Test
+    void timeSeries_fillsGaps() {
+        TimeSeriesResponse series = columns.timeSeries(1L, Transaction.Type.EXPENSE, Granularity.MONTH,
+                LocalDate.of(2024, 1, 10), LocalDate.of(2024, 4, 30));
+
+        assertThat(series.buckets()).containsExactly(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1),
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 1));
+        // The expense of 2024-01-03 is before the range
+        assertThat(series.totals()).containsExactly(
+                Money.fromCents(250), Money.fromCents(0), Money.fromCents(500), Money.fromCents(0));
+    }
+
+    /**
+     * Replaying a write has no further effect, and removing moves the last row into the gap.
+     */
+    @Test
+    void upsertAndRemove_areIdempotent() {
+        TransactionRollupService.Entry entry =
+                new TransactionRollupService.Entry(Transaction.Type.EXPENSE, LocalDate.of(2024, 1, 5), RENT, 70_000);
+        columns.upsert(5, entry);
+        columns.upsert(5, entry);
+        columns.upsert(1, new TransactionRollupService.Entry(
+                Transaction.Type.EXPENSE, LocalDate.of(2024, 1, 3), FOOD, 1_200));
+        columns.remove(2);
+        columns.remove(2);
+        columns.remove(42);
+
+        assertThat(columns.size()).isEqualTo(4);
+        assertThat(columns.sumByCategory(Transaction.Type.EXPENSE, categories)).containsExactly(
+                new CategorySummary("Food", Money.fromCents(1_700)),
+                new CategorySummary("Rent", Money.fromCents(70_000)));
+    }
+
+    /**
+     * Random upserts and removals (each removal moving the last row) keep every ID mapped to
+     * its own row, across growth of the columns and the ID index.
+     */
+    @Test
+    void randomWrites_matchReference() {
+        BudgetColumns random = new BudgetColumns(1);
+        Map<Long, Long> reference = new HashMap<>();
+        Random rnd = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            long id = rnd.nextInt(3_000) * 7_919L; // sparse IDs sharing low bits
+            if (rnd.nextInt(3) == 0) {
+                random.remove(id);
+                reference.remove(id);
+            } else {
+                long amount = rnd.nextInt(10_000);
+                random.upsert(id, new TransactionRollupService.Entry(
+                        Transaction.Type.EXPENSE, LocalDate.of(2024, 1, 1), null, amount));
+                reference.put(id, amount);
+            }
+        }
+
+        long total = reference.values().stream().mapToLong(Long::longValue).sum();
+        assertThat(random.size()).isEqualTo(reference.size());
+        assertThat(random.sumByCategory(Transaction.Type.EXPENSE, categories))
+                .containsExactly(new CategorySummary(null, Money.fromCents(total)));
+    }
+
+    /**
+     * Removing half of the entries of a well-filled table leaves the others reachable (removal
+     * shifts back later entries of a probe run instead of leaving holes).
+     */
+    @Test
+    void rowIndex_removeKeepsProbeRunsReachable() {
+        BudgetColumns.RowIndex index = new BudgetColumns.RowIndex(8);
+        for (int id = 0; id < 1_000; id++) {
+            index.put(id * 16L, id);
+        }
+        for (int id = 0; id < 1_000; id += 2) {
+            assertThat(index.remove(id * 16L)).isEqualTo(id);
+        }
+
+        for (int id = 0; id < 1_000; id++) {
+            assertThat(index.get(id * 16L)).isEqualTo(id % 2 == 0 ? -1 : id);
+        }
+        assertThat(index.remove(-5)).isEqualTo(-1);
+    }
+
+    @Test
+    void monthIndex_matchesLocalDate() {
+        for (LocalDate date = LocalDate.of(1899, 12, 1); date.isBefore(LocalDate.of(2101, 3, 1)); date = date.plusDays(1)) {
+            assertThat(BudgetColumns.monthIndex((int) date.toEpochDay()))
+                    .as(date.toString())
+                    .isEqualTo(date.getYear() * 12 + date.getMonthValue() - 1);
+        }
+    }
+}
@@ -3,12 +3,21 @@ package com.example.budgettracker.service;
 import com.example.budgettracker.dto.request.RegistrationRequest;
 import com.example.budgettracker.exception.DuplicateResourceException;
 import com.example.budgettracker.model.User;
+import com.example.budgettracker.repository.BudgetRepository;
+import com.example.budgettracker.repository.TransactionRepository;
 import com.example.budgettracker.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.hibernate.exception.ConstraintViolationException;
 import org.mockito.ArgumentCaptor;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -23,7 +32,10 @@ import static org.mockito.Mockito.*;
 class UserServiceTest {
 
     private UserRepository userRepository;
+    private BudgetRepository budgetRepository;
+    private TransactionRepository transactionRepository;
     private PasswordEncoder passwordEncoder;
+    private CategoryDictionary categoryDictionary;
     private UserService userService;
 
     /**
@@ -32,23 +44,24 @@ class UserServiceTest {
     @BeforeEach
     void setUp() {
         userRepository = mock(UserRepository.class);
+        budgetRepository = mock(BudgetRepository.class);
+        transactionRepository = mock(TransactionRepository.class);
         passwordEncoder = mock(PasswordEncoder.class);
-        userService = new UserService(userRepository, passwordEncoder);
+        categoryDictionary = mock(CategoryDictionary.class);
+        userService = new UserService(userRepository, budgetRepository, transactionRepository, passwordEncoder,
+                categoryDictionary, new NoOpCacheManager());
     }
 
     /**
      * Test: Successful registration.
      *
      * Verifies that a user is saved correctly with encoded password
-     * when no duplicate username/email exists.
+     * in a single insert, without separate existence checks.
      */
     @Test
     void registerUser_success() {
         RegistrationRequest request = new RegistrationRequest("user1", "user1@email.com", "password123");
 
-        // Mock repository responses
-        when(userRepository.existsByUsername("user1")).thenReturn(false);
-        when(userRepository.existsByEmail("user1@email.com")).thenReturn(false);
         when(passwordEncoder.encode("password123")).thenReturn("hashedPassword");
 
         // Call the method under test
@@ -56,25 +69,29 @@ class UserServiceTest {
 
         // Capture the user saved to the repository
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
+        verify(userRepository).saveAndFlush(userCaptor.capture());
         User savedUser = userCaptor.getValue();
 
         // Validate saved fields
         assertEquals("user1", savedUser.getUsername());
         assertEquals("user1@email.com", savedUser.getEmail());
         assertEquals("hashedPassword", savedUser.getPassword());
+
+        // No round trips besides the insert
+        verify(userRepository, never()).existsByUsername(any());
+        verify(userRepository, never()).existsByEmail(any());
     }
 
     /**
      * Test: Registration fails due to duplicate username.
      *
-     * Verifies that an exception is thrown and no user is saved.
+     * Verifies that a violation of the username constraint is reported as a duplicate username.
      */
     @Test
     void registerUser_duplicateUsername_throwsException() {
         RegistrationRequest request = new RegistrationRequest("user1", "user1@email.com", "password123");
 
-        when(userRepository.existsByUsername("user1")).thenReturn(true);
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(violationOf(User.USERNAME_CONSTRAINT));
 
         DuplicateResourceException ex = assertThrows(
                 DuplicateResourceException.class,
@@ -82,20 +99,35 @@ class UserServiceTest {
         );
 
         assertEquals("Username is already taken.", ex.getMessage());
-
-        // Ensure save is never called
-        verify(userRepository, never()).save(any(User.class));
     }
 
     /**
      * Test: Registration fails due to duplicate email.
      *
-     * Verifies that an exception is thrown and no user is saved.
+     * Verifies that a violation of the email constraint is reported as a duplicate email.
      */
     @Test
     void registerUser_duplicateEmail_throwsException() {
         RegistrationRequest request = new RegistrationRequest("user1", "user1@email.com", "password123");
 
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(violationOf(User.EMAIL_CONSTRAINT));
+
+        DuplicateResourceException ex = assertThrows(
+                DuplicateResourceException.class,
+                () -> userService.registerUser(request)
+        );
+
+        assertEquals("Email is already registered.", ex.getMessage());
+    }
+
+    /**
+     * Test: An unnamed constraint violation falls back to checking which value exists.
+     */
+    @Test
+    void registerUser_unknownConstraint_fallsBackToLookup() {
+        RegistrationRequest request = new RegistrationRequest("user1", "user1@email.com", "password123");
+
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(violationOf("users_email_key"));
         when(userRepository.existsByUsername("user1")).thenReturn(false);
         when(userRepository.existsByEmail("user1@email.com")).thenReturn(true);
 
@@ -105,9 +137,6 @@ class UserServiceTest {
         );
 
         assertEquals("Email is already registered.", ex.getMessage());
-
-        // Ensure save is never called
-        verify(userRepository, never()).save(any(User.class));
     }
 
     /**
@@ -120,16 +149,52 @@ class UserServiceTest {
     void registerUser_passwordIsEncoded() {
         RegistrationRequest request = new RegistrationRequest("user2", "user2@email.com", "mypassword");
 
-        when(userRepository.existsByUsername("user2")).thenReturn(false);
-        when(userRepository.existsByEmail("user2@email.com")).thenReturn(false);
         when(passwordEncoder.encode("mypassword")).thenReturn("encodedPassword");
 
         userService.registerUser(request);
 
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
+        verify(userRepository).saveAndFlush(userCaptor.capture());
         User savedUser = userCaptor.getValue();
 
         assertEquals("encodedPassword", savedUser.getPassword());
     }
+
+    /**
+     * Test: Updating roles replaces the user's role set.
+     */
+    @Test
+    void updateRoles_replacesRoles() {
+        User user = new User("user3", "user3@email.com", "hash", Set.of("USER"));
+        when(userRepository.findByUsername("user3")).thenReturn(Optional.of(user));
+
+        userService.updateRoles("user3", Set.of("USER", "ADMIN"));
+
+        assertEquals(Set.of("USER", "ADMIN"), user.getRoles());
+        verify(userRepository).save(user);
+    }
+
+    /**
+     * Test: Deleting a user removes their transactions and budgets first,
+     * and evicts their cached categories.
+     */
+    @Test
+    void deleteUser_removesOwnedDataThenUser() {
+        User user = new User("user4", "user4@email.com", "hash", Set.of("USER"));
+        user.setId(4L);
+        when(userRepository.findByUsername("user4")).thenReturn(Optional.of(user));
+
+        userService.deleteUser("user4");
+
+        var inOrder = inOrder(transactionRepository, budgetRepository, userRepository);
+        inOrder.verify(transactionRepository).deleteByOwnerId(4L);
+        inOrder.verify(budgetRepository).deleteByOwnerId(4L);
+        inOrder.verify(userRepository).delete(user);
+        verify(categoryDictionary).evictUser(4L);
+    }
+
+    private static DataIntegrityViolationException violationOf(String constraintName) {
+        return new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key"), constraintName));
+    }
 }